@@ -0,0 +1,169 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator comparing the platform and virtual thread
+ * execution modes of a running instance. Each of {@code concurrency} clients
+ * sends its next request as soon as the previous one completes, for
+ * {@code seconds} per scenario:
+ * <ul>
+ *   <li>listPosts: {@code GET /api/posts?page=0&size=10}</li>
+ *   <li>createComment: {@code POST /api/comments} on a post created for the run</li>
+ * </ul>
+ * The clients themselves run on virtual threads, so the generator is not the
+ * limit. Run with Java 21 as a single-file program, see run.sh:
+ *
+ * <pre>java ThreadModelBench.java http://localhost:8080 platform 1000 30</pre>
+ *
+ * Prints one line per scenario: mode, scenario, concurrency, requests per
+ * second, latency percentiles in milliseconds and the number of errors.
+ */
+public class ThreadModelBench {
+
+    private static final Pattern TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"?([^\",}]+)\"?");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+
+    private ThreadModelBench(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: ThreadModelBench <baseUrl> <mode label> <concurrency> <seconds>");
+            System.exit(2);
+        }
+        ThreadModelBench bench = new ThreadModelBench(args[0]);
+        String mode = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+
+        String username = "bench" + UUID.randomUUID().toString().substring(0, 8);
+        bench.send("POST", "/api/users/register", null, """
+                {"username":"%s","email":"%s@bench.local","password":"bench-password"}""".formatted(username, username));
+        String login = bench.send("POST", "/api/auth/login", null, """
+                {"username":"%s","password":"bench-password"}""".formatted(username));
+        String token = find(TOKEN, login);
+        String authorId = find(ID, login);
+        String post = bench.send("POST", "/api/posts", token, """
+                {"title":"Benchmark post","content":"Target of the createComment scenario","authorId":%s}"""
+                .formatted(authorId));
+        String postId = find(ID, post);
+
+        HttpRequest listPosts = HttpRequest.newBuilder(URI.create(args[0] + "/api/posts?page=0&size=10")).GET().build();
+        HttpRequest createComment = HttpRequest.newBuilder(URI.create(args[0] + "/api/comments"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"postId":"%s","authorId":%s,"content":"Benchmark comment"}""".formatted(postId, authorId)))
+                .build();
+
+        System.out.println("mode,scenario,concurrency,rps,p50_ms,p99_ms,max_ms,errors");
+        bench.run(mode, "listPosts", listPosts, concurrency, duration);
+        bench.run(mode, "createComment", createComment, concurrency, duration);
+    }
+
+    private void run(String mode, String scenario, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        // Short warm-up so that JIT compilation and connection setup do not count
+        drive(request, concurrency, Duration.ofSeconds(5));
+        Result result = drive(request, concurrency, duration);
+        long[] latencies = result.latencies();
+        Arrays.sort(latencies);
+        System.out.printf("%s,%s,%d,%.1f,%.2f,%.2f,%.2f,%d%n", mode, scenario, concurrency,
+                latencies.length / (double) duration.toSeconds(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6, result.errors());
+    }
+
+    private Result drive(HttpRequest request, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (java.io.IOException ex) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+        }
+        long[] all = new long[0];
+        for (Future<long[]> future : clients) {
+            long[] samples = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + samples.length);
+            System.arraycopy(samples, 0, all, offset, samples.length);
+        }
+        return new Result(all, errors.get());
+    }
+
+    private String send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(method + " " + path + " failed with " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static String find(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+}
@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Compare platform and virtual thread request handling on listPosts and
+# createComment. Needs the PostgreSQL and MongoDB instances configured in
+# application.yml, Java 21 and a packaged application (mvn -DskipTests package).
+#
+#   bench/run.sh [concurrency] [seconds]
+#
+# Results are written to bench/results-<timestamp>.csv.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY="${1:-1000}"
+SECONDS_PER_SCENARIO="${2:-30}"
+PORT="${PORT:-8080}"
+JAR="$(ls target/*.jar | grep -v '\.original$' | head -n 1)"
+OUT="bench/results-$(date +%Y%m%d-%H%M%S).csv"
+
+run_mode() {
+  local mode="$1" virtual="$2"
+  java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+    --spring.jpa.show-sql=false > "bench/app-$mode.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    kill -0 "$pid" 2>/dev/null || { echo "application failed to start, see bench/app-$mode.log" >&2; exit 1; }
+    sleep 1
+  done
+  java bench/ThreadModelBench.java "http://localhost:$PORT" "$mode" "$CONCURRENCY" "$SECONDS_PER_SCENARIO" \
+    | tee -a "$OUT.tmp"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+# Keep a single header line
+awk 'NR == 1 || !/^mode,/' "$OUT.tmp" > "$OUT" && rm "$OUT.tmp"
+echo "Results written to $OUT"
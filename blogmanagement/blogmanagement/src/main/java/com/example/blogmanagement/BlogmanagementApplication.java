@@ -12,9 +12,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * RESTful API for registration, post management and comment management.
  */
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableMongoAuditing
+@EnableScheduling
+@EnableAsync
 public class BlogmanagementApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,203 @@
+package com.example.blogmanagement.batch;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.exception.ResourceNotFoundException;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.repository.PostRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Group commit for new comments. Callers enqueue a comment and wait on a
+ * future; a single writer thread takes whatever has queued up (waiting at
+ * most {@code max-delay} for more once the first comment arrives), checks the
+ * posts and authors of the whole batch with one query each, inserts the batch
+ * with one bulk write, and bumps the comment counter once per post. Under a
+ * burst, the cost of each round trip is shared by up to {@code max-batch-size}
+ * comments; when idle, a comment waits at most {@code max-delay} before its
+ * write starts.
+ *
+ * Enabled with {@code blog.comments.group-commit.enabled=true}. When the queue
+ * is full or the writer is stopping, {@link #submit} declines and the caller
+ * writes the comment itself.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comments.group-commit.enabled", havingValue = "true")
+@Slf4j
+public class CommentBatchWriter {
+
+    private final CommentStorage commentStorage;
+    private final PostRepository postRepository;
+    private final AuthorDirectory authorDirectory;
+    private final TieredCache<Post> postCache;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final BlockingQueue<Pending> queue;
+    private final DistributionSummary batchSizes;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public CommentBatchWriter(CommentStorage commentStorage,
+                              PostRepository postRepository,
+                              AuthorDirectory authorDirectory,
+                              TieredCache<Post> postCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${blog.comments.group-commit.max-batch-size:500}") int maxBatchSize,
+                              @Value("${blog.comments.group-commit.max-delay:PT0.002S}") Duration maxDelay,
+                              @Value("${blog.comments.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.commentStorage = commentStorage;
+        this.postRepository = postRepository;
+        this.authorDirectory = authorDirectory;
+        this.postCache = postCache;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("blog.comments.group_commit.batch_size")
+                .description("Comments written per group commit")
+                .register(meterRegistry);
+        this.writer = new Thread(this::run, "comment-group-commit");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * Queue a new comment for the next group commit. The comment must be
+     * complete, including its identifier and timestamps.
+     *
+     * @return a future completed with the comment once it is stored, or
+     *         completed exceptionally with {@link ResourceNotFoundException}
+     *         if its post or author does not exist; null if the comment was
+     *         not queued
+     */
+    public CompletableFuture<Comment> submit(Comment comment) {
+        if (!running) {
+            return null;
+        }
+        Pending pending = new Pending(comment, new CompletableFuture<>());
+        return queue.offer(pending) ? pending.future() : null;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                // Only interrupted on shutdown; the loop drains what is left
+                running = false;
+                batch.forEach(pending -> pending.future().completeExceptionally(
+                        new IllegalStateException("Comment writer stopped")));
+            } catch (RuntimeException ex) {
+                log.error("Group commit of {} comments failed", batch.size(), ex);
+                batch.forEach(pending -> pending.future().completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        Set<String> postIds = batch.stream().map(pending -> pending.comment().getPostId()).collect(Collectors.toSet());
+        Set<String> livePosts = postRepository.findByIds(postIds, List.of("id")).stream()
+                .map(Post::getId)
+                .collect(Collectors.toSet());
+        Map<Long, String> authors = authorDirectory.resolveUsernames(
+                batch.stream().map(pending -> pending.comment().getAuthorId()).toList());
+
+        List<Pending> valid = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            if (!livePosts.contains(pending.comment().getPostId())) {
+                pending.future().completeExceptionally(new ResourceNotFoundException("Post not found"));
+            } else if (!authors.containsKey(pending.comment().getAuthorId())) {
+                pending.future().completeExceptionally(new ResourceNotFoundException("Author not found"));
+            } else {
+                valid.add(pending);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, String> failed = commentStorage.insertAll(valid.stream().map(Pending::comment).toList());
+        Map<String, Long> added = new HashMap<>();
+        for (int i = 0; i < valid.size(); i++) {
+            String error = failed.get(i);
+            if (error != null) {
+                valid.get(i).future().completeExceptionally(new IllegalStateException(error));
+            } else {
+                added.merge(valid.get(i).comment().getPostId(), 1L, Long::sum);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        added.forEach((postId, count) -> {
+            // The comments are stored; a counter left behind is repaired by the CommentCountReconciler
+            try {
+                postRepository.recordCommentChange(postId, count, now);
+                postCache.invalidate(postId);
+            } catch (RuntimeException ex) {
+                log.warn("Could not update the comment count of post {} after adding {} comments", postId, count, ex);
+            }
+        });
+        // Callers are released only after the counters, so a read that follows sees them
+        for (Pending pending : valid) {
+            pending.future().complete(pending.comment());
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(Duration.ofSeconds(10).toMillis());
+        // Comments queued while the writer was exiting
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.future().completeExceptionally(
+                new IllegalStateException("Comment writer stopped")));
+    }
+
+    private record Pending(Comment comment, CompletableFuture<Comment> future) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.blogmanagement.cache;
+
+import com.example.blogmanagement.entity.User;
+import com.example.blogmanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resolves author identifiers stored on MongoDB documents to the usernames
+ * held in PostgreSQL. Lookups for a whole page of documents are collected and
+ * resolved with a single batched query, and resolved usernames are kept in a
+ * bounded cache so that repeat lookups do not reach the database at all.
+ */
+@Component
+public class AuthorDirectory {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, String> usernames;
+
+    public AuthorDirectory(UserRepository userRepository,
+                           @Value("${blog.author-cache.max-size:10000}") long maxSize,
+                           @Value("${blog.author-cache.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.usernames = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Resolve the username of a single author.
+     *
+     * @param authorId identifier of the author
+     * @return the username, or null if the author no longer exists
+     */
+    public String getUsername(Long authorId) {
+        if (authorId == null) {
+            return null;
+        }
+        return resolveUsernames(Set.of(authorId)).get(authorId);
+    }
+
+    /**
+     * Resolve the usernames of all given authors. Identifiers that are not
+     * cached are fetched together with one {@code findAllById} call.
+     *
+     * @param authorIds identifiers of the authors, duplicates are allowed
+     * @return map of author ID to username; unknown authors are absent
+     */
+    public Map<Long, String> resolveUsernames(Collection<Long> authorIds) {
+        Map<Long, String> resolved = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long authorId : authorIds) {
+            if (authorId == null || resolved.containsKey(authorId)) {
+                continue;
+            }
+            String username = usernames.getIfPresent(authorId);
+            if (username != null) {
+                resolved.put(authorId, username);
+            } else {
+                missing.add(authorId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findAllById(missing)) {
+                usernames.put(user.getId(), user.getUsername());
+                resolved.put(user.getId(), user.getUsername());
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Drop a cached username, e.g. after the user has been deleted.
+     *
+     * @param authorId identifier of the author to forget
+     */
+    public void evict(Long authorId) {
+        usernames.invalidate(Objects.requireNonNull(authorId));
+    }
+}
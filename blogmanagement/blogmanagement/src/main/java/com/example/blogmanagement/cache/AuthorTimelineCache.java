@@ -0,0 +1,115 @@
+package com.example.blogmanagement.cache;
+
+import com.example.blogmanagement.document.Post;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Caches the newest posts of each author, which make up the first page of
+ * the author's profile. Entries are weighed by the approximate size of the
+ * posts they hold, so the cache is bounded in memory rather than in authors.
+ *
+ * Entries are invalidated when the author creates, updates or deletes a
+ * post. Comment counts are not tracked and may lag for up to the TTL.
+ */
+@Component
+public class AuthorTimelineCache {
+
+    private final int cachedPosts;
+    private final AsyncCache<Long, List<Post>> newestPosts;
+
+    public AuthorTimelineCache(MeterRegistry meterRegistry,
+                               @Value("${blog.author-timeline.cached-posts:20}") int cachedPosts,
+                               @Value("${blog.author-timeline.max-size:32MB}") DataSize maxSize,
+                               @Value("${blog.author-timeline.ttl:PT30S}") Duration ttl) {
+        this.cachedPosts = cachedPosts;
+        this.newestPosts = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long authorId, List<Post> posts) -> weigh(posts))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, newestPosts, "authorTimeline");
+    }
+
+    /**
+     * Number of posts held per author. One more is loaded so that it is known
+     * whether a further page follows.
+     */
+    public int cachedPosts() {
+        return cachedPosts;
+    }
+
+    /**
+     * Return the newest posts of an author, loading them on a miss.
+     * Concurrent misses for the same author trigger a single load.
+     *
+     * The load runs on the calling thread, outside of the map's bin lock that
+     * a synchronous Caffeine load would hold (and that would pin a virtual
+     * thread for the whole query); other callers wait on its future.
+     *
+     * @param authorId identifier of the author
+     * @param loader loads up to {@code limit} whole posts, newest first
+     * @return up to {@link #cachedPosts()} + 1 posts, newest first
+     */
+    public List<Post> getNewest(Long authorId, Function<Integer, List<Post>> loader) {
+        CompletableFuture<List<Post>> load = new CompletableFuture<>();
+        CompletableFuture<List<Post>> cached = newestPosts.asMap().putIfAbsent(authorId, load);
+        if (cached != null) {
+            return await(cached);
+        }
+        try {
+            load.complete(List.copyOf(loader.apply(cachedPosts + 1)));
+        } catch (RuntimeException ex) {
+            // Failed loads are removed from the cache
+            load.completeExceptionally(ex);
+            throw ex;
+        }
+        return load.join();
+    }
+
+    public void invalidate(Long authorId) {
+        if (authorId != null) {
+            // Also drops a load in progress, which may have read the old posts
+            newestPosts.synchronous().invalidate(authorId);
+        }
+    }
+
+    private static List<Post> await(CompletableFuture<List<Post>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Approximate heap footprint of the posts: two bytes per character plus a
+     * fixed overhead for the object and its other fields.
+     */
+    private static int weigh(List<Post> posts) {
+        long bytes = 0;
+        for (Post post : posts) {
+            bytes += 256L + 2L * (length(post.getTitle()) + length(post.getContent()) + length(post.getExcerpt()));
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
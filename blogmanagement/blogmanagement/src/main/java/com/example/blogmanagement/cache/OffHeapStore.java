@@ -0,0 +1,205 @@
+package com.example.blogmanagement.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Byte-budgeted LRU store of serialized values held in direct (off-heap)
+ * memory. The payload bytes live outside the Java heap, so a large second
+ * tier adds almost nothing to the work the garbage collector has to do.
+ *
+ * The budget is carved into fixed-size blocks inside a few large direct
+ * buffers (slabs). A value occupies as many blocks as it needs, which need not
+ * be contiguous, and its blocks go back to a free list when it is removed or
+ * evicted. Slabs are allocated on demand until the budget is reached and are
+ * then reused for the lifetime of the store, so puts and evictions never
+ * allocate or release direct memory and never wait for the collector to free
+ * it.
+ *
+ * Direct memory is limited by {@code -XX:MaxDirectMemorySize}, which must be
+ * at least the configured budget.
+ */
+class OffHeapStore {
+
+    static final int BLOCK_SIZE = 512;
+    private static final int BLOCKS_PER_SLAB = 2048;
+
+    private final int maxBlocks;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock; iteration order is least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private int allocatedBlocks;
+    private int[] freeBlocks = new int[0];
+    private int freeCount;
+    private long usedBytes;
+    private long evictions;
+
+    OffHeapStore(long maxBytes) {
+        this.maxBlocks = (int) Math.min(maxBytes / BLOCK_SIZE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Store a value, evicting least recently used entries to stay within budget.
+     * Values larger than the whole budget are not stored.
+     */
+    void put(String key, byte[] value) {
+        int needed = blocksFor(value.length);
+        lock.lock();
+        try {
+            release(entries.remove(key));
+            if (needed > maxBlocks) {
+                return;
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (freeCount + maxBlocks - allocatedBlocks < needed) {
+                release(eldest.next());
+                eldest.remove();
+                evictions++;
+            }
+            int[] blocks = allocate(needed);
+            for (int i = 0; i < blocks.length; i++) {
+                int offset = i * BLOCK_SIZE;
+                slab(blocks[i]).put(position(blocks[i]), value, offset, Math.min(BLOCK_SIZE, value.length - offset));
+            }
+            entries.put(key, new Entry(blocks, value.length));
+            usedBytes += value.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return a value, e.g. to promote it into the heap tier.
+     *
+     * @return the serialized value, or null if absent
+     */
+    byte[] take(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            byte[] value = new byte[entry.length()];
+            int[] blocks = entry.blocks();
+            for (int i = 0; i < blocks.length; i++) {
+                int offset = i * BLOCK_SIZE;
+                slab(blocks[i]).get(position(blocks[i]), value, offset, Math.min(BLOCK_SIZE, value.length - offset));
+            }
+            release(entry);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(String key) {
+        lock.lock();
+        try {
+            release(entries.remove(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long usedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long evictions() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Direct memory reserved so far, in bytes.
+     */
+    long reservedBytes() {
+        lock.lock();
+        try {
+            return (long) allocatedBlocks * BLOCK_SIZE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int blocksFor(int length) {
+        return (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Take blocks from the free list, adding a slab first if it runs short.
+     * The caller has made sure the budget allows it.
+     */
+    private int[] allocate(int count) {
+        while (freeCount < count) {
+            addSlab();
+        }
+        freeCount -= count;
+        return Arrays.copyOfRange(freeBlocks, freeCount, freeCount + count);
+    }
+
+    private void addSlab() {
+        int blocks = Math.min(BLOCKS_PER_SLAB, maxBlocks - allocatedBlocks);
+        slabs.add(ByteBuffer.allocateDirect(blocks * BLOCK_SIZE));
+        // Every block can be free at once, so the free list covers all of them
+        int total = allocatedBlocks + blocks;
+        if (freeBlocks.length < total) {
+            freeBlocks = Arrays.copyOf(freeBlocks, Math.max(total, Math.min(maxBlocks, freeBlocks.length * 2)));
+        }
+        // Pushed in reverse so that the lowest blocks are handed out first
+        for (int block = allocatedBlocks + blocks - 1; block >= allocatedBlocks; block--) {
+            freeBlocks[freeCount++] = block;
+        }
+        allocatedBlocks += blocks;
+    }
+
+    private void release(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (int block : entry.blocks()) {
+            freeBlocks[freeCount++] = block;
+        }
+        usedBytes -= entry.length();
+    }
+
+    private ByteBuffer slab(int block) {
+        return slabs.get(block / BLOCKS_PER_SLAB);
+    }
+
+    private static int position(int block) {
+        return (block % BLOCKS_PER_SLAB) * BLOCK_SIZE;
+    }
+
+    /**
+     * Blocks holding a value, in order, and the value's length in bytes.
+     */
+    private record Entry(int[] blocks, int length) {
+    }
+}
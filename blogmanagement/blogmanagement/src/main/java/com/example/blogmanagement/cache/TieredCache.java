@@ -0,0 +1,194 @@
+package com.example.blogmanagement.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Two-tier read-through cache for documents looked up by ID.
+ *
+ * The first tier is a small on-heap Caffeine cache whose W-TinyLFU admission
+ * policy keeps the most frequently read entries. Entries it evicts are
+ * serialized with Jackson and demoted to a larger off-heap tier, from where a
+ * later hit promotes them back. Metrics are published under
+ * {@code cache.*} (heap tier) and {@code cache.offheap.*} (second tier).
+ *
+ * @param <V> type of the cached values
+ */
+@Slf4j
+public class TieredCache<V> {
+
+    private final Class<V> type;
+    private final ObjectMapper objectMapper;
+    private final OffHeapStore offHeap;
+    private final Cache<String, V> heap;
+    private final ConcurrentHashMap<String, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    private final Counter offHeapHits;
+    private final Counter misses;
+
+    public TieredCache(String name, Class<V> type, long heapMaxEntries, long offHeapMaxBytes,
+                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.type = type;
+        this.objectMapper = objectMapper;
+        this.offHeap = new OffHeapStore(offHeapMaxBytes);
+        this.heap = Caffeine.newBuilder()
+                .maximumSize(heapMaxEntries)
+                // Runs atomically with the eviction, so it cannot race with invalidate()
+                .evictionListener((String key, V value, RemovalCause cause) -> {
+                    if (key != null && value != null && cause.wasEvicted()) {
+                        demote(key, value);
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, heap, name);
+        this.offHeapHits = Counter.builder("cache.offheap.hits")
+                .tag("cache", name)
+                .description("Lookups served from the off-heap tier")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.offheap.misses")
+                .tag("cache", name)
+                .description("Lookups that missed both tiers and went to the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.offheap.evictions", offHeap, OffHeapStore::evictions)
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.offheap.size", offHeap, OffHeapStore::size)
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.offheap.bytes", offHeap, OffHeapStore::usedBytes)
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("cache.offheap.reserved", offHeap, OffHeapStore::reservedBytes)
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached value for a key, loading it on a miss in both tiers.
+     * Concurrent misses for the same key trigger a single load.
+     *
+     * The load runs outside of any monitor: Caffeine's own loading would run
+     * it inside a ConcurrentHashMap bin lock, which pins a virtual thread to
+     * its carrier for the whole database round trip. Callers waiting for a
+     * load in progress park on its future instead.
+     *
+     * @param key the key to look up
+     * @param loader loads the value from the database; may return null
+     * @return the value, or null if the loader found nothing (which is not cached)
+     */
+    public V get(String key, Function<String, V> loader) {
+        V value = heap.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        // A load that finished between the heap lookup and putIfAbsent has
+        // cached its value before leaving the map
+        value = heap.getIfPresent(key);
+        if (value != null) {
+            loads.remove(key, load);
+            load.complete(value);
+            return value;
+        }
+        try {
+            value = promote(key);
+            if (value != null) {
+                offHeapHits.increment();
+            } else {
+                misses.increment();
+                value = loader.apply(key);
+            }
+        } catch (RuntimeException ex) {
+            loads.remove(key, load);
+            load.completeExceptionally(ex);
+            throw ex;
+        }
+        V loaded = value;
+        // Only cached if no invalidate() ran since the load started, as the
+        // value may predate the write that triggered it
+        loads.compute(key, (k, current) -> {
+            if (current == load && loaded != null) {
+                heap.put(k, loaded);
+            }
+            return current == load ? null : current;
+        });
+        load.complete(loaded);
+        return loaded;
+    }
+
+    /**
+     * Return the value if it is held in the heap tier, without loading it.
+     *
+     * @param key the key to look up
+     * @return the cached value, or null
+     */
+    public V getIfPresent(String key) {
+        return heap.getIfPresent(key);
+    }
+
+    /**
+     * Remove a key from both tiers. Must be called after the underlying
+     * document has been written so that the next read loads the new version.
+     *
+     * @param key the key to invalidate
+     */
+    public void invalidate(String key) {
+        loads.remove(key);
+        heap.invalidate(key);
+        offHeap.remove(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void demote(String key, V value) {
+        try {
+            offHeap.put(key, objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize cache entry {}, dropping it", key, ex);
+        }
+    }
+
+    private V promote(String key) {
+        byte[] bytes = offHeap.take(key);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException ex) {
+            log.warn("Could not deserialize cache entry {}, reloading it", key, ex);
+            return null;
+        }
+    }
+}
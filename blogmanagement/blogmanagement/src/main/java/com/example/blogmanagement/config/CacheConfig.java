@@ -0,0 +1,35 @@
+package com.example.blogmanagement.config;
+
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the read-through caches in front of MongoDB for single
+ * post and comment lookups.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public TieredCache<Post> postCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                       @Value("${blog.cache.posts.heap-max-entries:10000}") long heapMaxEntries,
+                                       @Value("${blog.cache.posts.off-heap-max-size:256MB}") DataSize offHeapMaxSize) {
+        return new TieredCache<>("posts", Post.class, heapMaxEntries, offHeapMaxSize.toBytes(),
+                objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public TieredCache<Comment> commentCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                             @Value("${blog.cache.comments.heap-max-entries:10000}") long heapMaxEntries,
+                                             @Value("${blog.cache.comments.off-heap-max-size:64MB}") DataSize offHeapMaxSize) {
+        return new TieredCache<>("comments", Comment.class, heapMaxEntries, offHeapMaxSize.toBytes(),
+                objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.blogmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration of the reactive read endpoints under {@code /api/rx}. Their
+ * MongoDB reads run on the reactive driver and hold no thread while waiting;
+ * the only blocking calls left, the JPA author lookups, run on a dedicated
+ * bounded scheduler so they can neither stall the driver's event loop nor grow
+ * past the JDBC connection pool.
+ */
+@Configuration
+public class ReactiveConfig {
+
+    /**
+     * Scheduler for blocking JPA calls made from reactive pipelines. Sized
+     * like the connection pool by default; calls beyond the queue capacity
+     * are rejected instead of piling up.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jpaScheduler(@Value("${blog.reactive.jpa-threads:10}") int threads,
+                                  @Value("${blog.reactive.jpa-queue-capacity:10000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "jpa");
+    }
+}
@@ -1,7 +1,14 @@
 package com.example.blogmanagement.config;
 
+import com.example.blogmanagement.ratelimit.RateLimitFilter;
+import com.example.blogmanagement.ratelimit.RateLimitProperties;
+import com.example.blogmanagement.security.BoundedPasswordEncoder;
+import com.example.blogmanagement.security.CustomUserDetailsService;
 import com.example.blogmanagement.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,30 +20,34 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 /**
  * Security configuration for the application. Configures JWT-based
- * authentication, password encoding, and role-based access control.
+ * authentication, password encoding, rate limiting, and role-based access
+ * control.
  */
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final UserDetailsService userDetailsService;
+    private final RateLimitFilter rateLimitFilter;
+    private final CustomUserDetailsService userDetailsService;
 
     /**
      * Configure the security filter chain.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session
@@ -44,34 +55,44 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
+                        .requestMatchers("/api/auth/logout", "/api/auth/revoke-all").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/users/register").permitAll()
                         
                         // Swagger/OpenAPI endpoints
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+
+                        // Actuator: health checks are public, everything else is for admins
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         
                         // Public read access to posts and comments
                         .requestMatchers(HttpMethod.GET, "/api/posts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/comments/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/users/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/rx/**").permitAll()
                         
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
-                .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .authenticationProvider(authenticationProvider)
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Limits authenticated users by identity rather than address
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
     /**
-     * Configure the authentication provider.
+     * Configure the authentication provider. Password hashes with an outdated
+     * cost are rehashed after a successful login.
      */
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -84,10 +105,25 @@ public class SecurityConfig {
     }
 
     /**
-     * Configure password encoder using BCrypt.
+     * Configure password encoder using BCrypt on a bounded pool of threads.
+     * Unless a cost is configured, it is calibrated at startup to take about
+     * {@code target-time} per hash on this host.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${blog.password-hashing.cost:0}") int cost,
+            @Value("${blog.password-hashing.target-time:PT0.1S}") Duration targetTime,
+            @Value("${blog.password-hashing.min-cost:10}") int minCost,
+            @Value("${blog.password-hashing.max-cost:16}") int maxCost,
+            @Value("${blog.password-hashing.threads:0}") int threads,
+            @Value("${blog.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${blog.password-hashing.max-wait:PT2S}") Duration maxWait) {
+        return new BoundedPasswordEncoder(
+                cost > 0 ? cost : BoundedPasswordEncoder.calibrate(targetTime, minCost, maxCost),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                maxWait,
+                meterRegistry);
     }
 }
@@ -0,0 +1,77 @@
+package com.example.blogmanagement.controller;
+
+import com.example.blogmanagement.dto.ImportReportDto;
+import com.example.blogmanagement.dto.PostDeletionDto;
+import com.example.blogmanagement.service.AuthService;
+import com.example.blogmanagement.service.ExportService;
+import com.example.blogmanagement.service.ImportService;
+import com.example.blogmanagement.service.PostService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * REST controller for administrative operations. All endpoints require the
+ * ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Admin", description = "Administrative operations")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final PostService postService;
+    private final ImportService importService;
+    private final ExportService exportService;
+    private final AuthService authService;
+
+    @Operation(summary = "List pending post deletions",
+            description = "Deleted posts whose comments are still being removed in the background, oldest first.")
+    @GetMapping("/deletions")
+    public ResponseEntity<List<PostDeletionDto>> listPendingDeletions(
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(postService.listPendingDeletions(Math.max(1, Math.min(limit, 500))));
+    }
+
+    @Operation(summary = "Bulk import posts and comments",
+            description = "Stream newline-delimited JSON, optionally gzip compressed, with one post or comment per line. "
+                    + "Invalid lines are reported and skipped; all other lines are imported.")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportReportDto> importContent(HttpServletRequest request) throws IOException {
+        // Read the raw body so the upload is never buffered in memory
+        return ResponseEntity.ok(importService.importNdjson(request.getInputStream()));
+    }
+
+    @Operation(summary = "Export all posts",
+            description = "Stream every post as newline-delimited JSON, optionally with its comments nested.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportContent(
+            @RequestParam(name = "comments", defaultValue = "true") boolean includeComments) {
+        StreamingResponseBody body = out -> exportService.exportNdjson(out, includeComments);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"blog-export.ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(summary = "Revoke all sessions of a user",
+            description = "Revoke all JWT tokens and refresh tokens of the user; other instances follow within seconds.")
+    @PostMapping("/users/{userId}/revoke-sessions")
+    public ResponseEntity<Void> revokeSessions(@PathVariable Long userId) {
+        authService.revokeAllSessions(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
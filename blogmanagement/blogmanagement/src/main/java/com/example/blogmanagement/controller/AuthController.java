@@ -2,9 +2,11 @@ package com.example.blogmanagement.controller;
 
 import com.example.blogmanagement.dto.AuthResponse;
 import com.example.blogmanagement.dto.LoginRequest;
+import com.example.blogmanagement.dto.RefreshTokenRequest;
 import com.example.blogmanagement.entity.User;
-import com.example.blogmanagement.security.JwtTokenProvider;
+import com.example.blogmanagement.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,14 +15,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.stream.Collectors;
-
 /**
- * REST controller for authentication operations including login.
+ * REST controller for authentication operations including login, token
+ * refresh and logout.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -29,7 +29,7 @@ import java.util.stream.Collectors;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final AuthService authService;
 
     /**
      * Authenticate a user and return a JWT token.
@@ -37,7 +37,7 @@ public class AuthController {
      * @param loginRequest login credentials
      * @return authentication response with JWT token and user details
      */
-    @Operation(summary = "Login to get JWT token", description = "Authenticate with username and password to receive a JWT token")
+    @Operation(summary = "Login to get JWT token", description = "Authenticate with username and password to receive a JWT token and a refresh token")
     @SecurityRequirements() // No security required for login endpoint
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
@@ -51,24 +51,37 @@ public class AuthController {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Generate JWT token
-        String jwt = jwtTokenProvider.generateToken(authentication);
+        return ResponseEntity.ok(authService.issueTokens((User) authentication.getPrincipal()));
+    }
 
-        // Get user details
-        User user = (User) authentication.getPrincipal();
+    /**
+     * Exchange a refresh token for a new JWT token and refresh token.
+     *
+     * @param request the refresh token, which can be used only once
+     * @return authentication response with the new tokens and user details
+     */
+    @Operation(summary = "Refresh JWT token",
+            description = "Exchange a refresh token for a new JWT token and refresh token. Each refresh token can be used once; "
+                    + "using it again revokes all sessions of the user.")
+    @SecurityRequirements()
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
 
-        // Build response
-        AuthResponse response = AuthResponse.builder()
-                .accessToken(jwt)
-                .tokenType("Bearer")
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .roles(authentication.getAuthorities().stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .collect(Collectors.toSet()))
-                .build();
+    @Operation(summary = "Logout", description = "Revoke the JWT token of this request and, if given, its refresh token")
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshTokenRequest request) {
+        authService.logout(request == null ? null : request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Logout everywhere", description = "Revoke all JWT tokens and refresh tokens of the current user")
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/revoke-all")
+    public ResponseEntity<Void> revokeAll() {
+        authService.revokeAllSessions();
+        return ResponseEntity.noContent().build();
     }
 }
@@ -17,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for managing comments on blog posts. Supports standard CRUD
@@ -28,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 public class CommentController {
 
     private final CommentService commentService;
+    private final HttpCaching httpCaching;
 
     @Operation(summary = "Create a new comment", description = "Create a new comment on a blog post. Requires authentication.")
     @SecurityRequirement(name = "bearerAuth")
@@ -63,7 +65,10 @@ public class CommentController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "List comments for a specific post with pagination", description = "Get a paginated list of comments for a post. Public endpoint.")
+    @Operation(summary = "List comments for a specific post with pagination",
+            description = "Get a paginated list of comments for a post. Passing a cursor (empty for the first page) "
+                    + "switches to keyset pagination, which only counts totals on request. Supports If-None-Match "
+                    + "and If-Modified-Since. Public endpoint.")
     @SecurityRequirements() // No security required
     @GetMapping("/api/posts/{postId}/comments")
     public ResponseEntity<PagedResponse<CommentResponseDto>> listCommentsByPost(
@@ -71,8 +76,60 @@ public class CommentController {
             @Parameter(description = "Zero-based page index", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "0"))
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Number of records per page", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "10"))
-            @RequestParam(value = "size", defaultValue = "10") int size) {
-        PagedResponse<CommentResponseDto> response = commentService.listCommentsByPostId(postId, page, size);
-        return ResponseEntity.ok(response);
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "Cursor from the previous page's nextCursor; empty to start cursor pagination", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Count totals in cursor mode", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "false"))
+            @RequestParam(value = "includeTotals", defaultValue = "false") boolean includeTotals,
+            WebRequest webRequest) {
+        // Every comment change on the post bumps one timestamp, so a single
+        // weak validator covers all pages of the post's comments
+        if (httpCaching.checkNotModified(webRequest, commentService.getCommentsLastModified(postId), true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(httpCaching.cacheControl()).build();
+        }
+        PagedResponse<CommentResponseDto> response = cursor != null
+                ? commentService.listCommentsByPostIdAndCursor(postId, cursor, size, includeTotals)
+                : commentService.listCommentsByPostId(postId, page, size);
+        return ResponseEntity.ok().cacheControl(httpCaching.cacheControl()).body(response);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "List comment threads of a post",
+            description = "Get the top-level comments of a post in thread order, each with its reply count and its "
+                    + "first replies. Pass the returned nextCursor to fetch the next page. Supports If-None-Match "
+                    + "and If-Modified-Since. Public endpoint.")
+    @SecurityRequirements() // No security required
+    @GetMapping("/api/posts/{postId}/comments/threads")
+    public ResponseEntity<PagedResponse<CommentResponseDto>> listThreads(
+            @PathVariable("postId") String postId,
+            @Parameter(description = "Cursor from the previous page's nextCursor; empty for the first page", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Number of top-level comments per page", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "10"))
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "Number of replies to include per comment", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "3"))
+            @RequestParam(value = "replies", defaultValue = "3") int replies,
+            WebRequest webRequest) {
+        if (httpCaching.checkNotModified(webRequest, commentService.getCommentsLastModified(postId), true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(httpCaching.cacheControl()).build();
+        }
+        return ResponseEntity.ok().cacheControl(httpCaching.cacheControl())
+                .body(commentService.listThreads(postId, cursor, size, replies));
+    }
+
+    @Operation(summary = "List the replies to a comment",
+            description = "Get the replies to a comment at any depth, in thread order, with cursor pagination. "
+                    + "Public endpoint.")
+    @SecurityRequirements() // No security required
+    @GetMapping("/api/comments/{id}/replies")
+    public ResponseEntity<PagedResponse<CommentResponseDto>> listReplies(
+            @PathVariable("id") String id,
+            @Parameter(description = "Cursor from the previous page's nextCursor; empty for the first page", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Number of records per page", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "20"))
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @Parameter(description = "Maximum nesting below the comment; all levels if omitted", in = ParameterIn.QUERY)
+            @RequestParam(value = "depth", required = false) Integer depth,
+            @Parameter(description = "Count the total number of replies", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "false"))
+            @RequestParam(value = "includeTotals", defaultValue = "false") boolean includeTotals) {
+        return ResponseEntity.ok(commentService.listReplies(id, cursor, size, depth, includeTotals));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.blogmanagement.controller;
+
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostFieldSet;
+import com.example.blogmanagement.dto.PostResponseDto;
+import com.example.blogmanagement.service.PostService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller serving the home feed of the authenticated user: posts of
+ * the accounts the user follows.
+ */
+@RestController
+@RequestMapping("/api/feed")
+@Tag(name = "Feed", description = "Home feed of followed accounts")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final PostService postService;
+
+    @Operation(summary = "Get the home feed",
+            description = "Posts of the users you follow, newest first, with cursor pagination. Requires authentication.")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping
+    public ResponseEntity<PagedResponse<PostResponseDto>> getFeed(
+            @Parameter(description = "Cursor from the previous page's nextCursor; omit for the first page", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Number of records per page", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "10"))
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "Representation of each post: full or summary (excerpt instead of content)",
+                    in = ParameterIn.QUERY, schema = @Schema(defaultValue = "full", allowableValues = {"full", "summary"}))
+            @RequestParam(value = "view", required = false) String view,
+            @Parameter(description = "Comma separated list of fields to return; overrides view", in = ParameterIn.QUERY)
+            @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(postService.listFeed(cursor, size, PostFieldSet.of(view, fields)));
+    }
+}
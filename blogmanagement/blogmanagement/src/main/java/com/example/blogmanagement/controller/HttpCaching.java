@@ -0,0 +1,61 @@
+package com.example.blogmanagement.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Support for HTTP conditional requests on read endpoints. Validators are
+ * derived from the modification timestamps kept on the documents, so a
+ * request can be answered with 304 Not Modified before the resource itself
+ * is loaded or serialized.
+ */
+@Component
+public class HttpCaching {
+
+    private final CacheControl cacheControl;
+
+    public HttpCaching(@Value("${blog.http-cache.max-age:0s}") Duration maxAge,
+                       @Value("${blog.http-cache.shared-max-age:5s}") Duration sharedMaxAge) {
+        // Browsers revalidate on every use while shared caches such as a reverse
+        // proxy may serve the response for a short time without asking again.
+        this.cacheControl = CacheControl.maxAge(maxAge)
+                .sMaxAge(sharedMaxAge)
+                .cachePublic()
+                .mustRevalidate();
+    }
+
+    /**
+     * Check the request's {@code If-None-Match} and {@code If-Modified-Since}
+     * headers against the given version. The {@code ETag} and
+     * {@code Last-Modified} response headers are set either way.
+     *
+     * @param request the current request
+     * @param version modification timestamp of the resource
+     * @param weak whether to issue a weak ETag, for representations that are
+     *             only semantically equivalent between identical versions
+     * @return true if the client's copy is current and 304 should be returned
+     */
+    public boolean checkNotModified(WebRequest request, LocalDateTime version, boolean weak) {
+        if (version == null) {
+            return false;
+        }
+        long lastModified = version.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = (weak ? "W/\"" : "\"") + Long.toHexString(lastModified) + "\"";
+        return request.checkNotModified(etag, lastModified);
+    }
+
+    /**
+     * Cache-Control policy for cacheable read responses.
+     *
+     * @return the Cache-Control header value
+     */
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.blogmanagement.controller;
 
 import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostFieldSet;
 import com.example.blogmanagement.dto.PostRequestDto;
 import com.example.blogmanagement.dto.PostResponseDto;
+import com.example.blogmanagement.exception.BadRequestException;
 import com.example.blogmanagement.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +19,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * REST controller for managing blog posts. Supports creating, retrieving,
@@ -29,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
 public class PostController {
 
     private final PostService postService;
+    private final HttpCaching httpCaching;
 
     @Operation(summary = "Create a new post", description = "Create a new blog post. Requires authentication.")
     @SecurityRequirement(name = "bearerAuth")
@@ -39,11 +45,33 @@ public class PostController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
-    @Operation(summary = "Get a post by ID", description = "Retrieve a single blog post by its ID. Public endpoint.")
+    @Operation(summary = "Get trending posts",
+            description = "The most viewed posts, with recent views weighing exponentially more than older ones. Public endpoint.")
+    @SecurityRequirements() // No security required
+    @GetMapping("/trending")
+    public ResponseEntity<List<PostResponseDto>> listTrending(
+            @Parameter(description = "Maximum number of posts", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "10"))
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @Parameter(description = "Representation of each post: full or summary (excerpt instead of content)",
+                    in = ParameterIn.QUERY, schema = @Schema(defaultValue = "full", allowableValues = {"full", "summary"}))
+            @RequestParam(value = "view", required = false) String view,
+            @Parameter(description = "Comma separated list of fields to return; overrides view", in = ParameterIn.QUERY)
+            @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(postService.listTrending(Math.min(limit, 100), PostFieldSet.of(view, fields)));
+    }
+
+    @Operation(summary = "Get a post by ID",
+            description = "Retrieve a single blog post by its ID. Supports If-None-Match and If-Modified-Since. Public endpoint.")
     @SecurityRequirements() // No security required
     @GetMapping("/{id}")
-    public ResponseEntity<PostResponseDto> getPost(@PathVariable("id") String id) {
-        return ResponseEntity.ok(postService.getPost(id));
+    public ResponseEntity<PostResponseDto> getPost(@PathVariable("id") String id, WebRequest webRequest) {
+        // The validators come from the same read as the body, so they always
+        // describe the version sent. A revalidated copy is still a view.
+        PostResponseDto post = postService.getPost(id);
+        if (httpCaching.checkNotModified(webRequest, post.getLastModified(), false)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(httpCaching.cacheControl()).build();
+        }
+        return ResponseEntity.ok().cacheControl(httpCaching.cacheControl()).body(post);
     }
 
     @Operation(summary = "Update a post", description = "Update an existing post. Users can only update their own posts. Admins can update any post.")
@@ -64,7 +92,9 @@ public class PostController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "List posts with optional search and pagination", description = "Get a paginated list of posts. Public endpoint.")
+    @Operation(summary = "List posts with optional search and pagination",
+            description = "Get a paginated list of posts. Passing a cursor (empty for the first page) switches to "
+                    + "keyset pagination, which stays fast on deep pages and only counts totals on request. Public endpoint.")
     @SecurityRequirements() // No security required
     @GetMapping
     public ResponseEntity<PagedResponse<PostResponseDto>> listPosts(
@@ -73,8 +103,25 @@ public class PostController {
             @Parameter(description = "Number of records per page", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "10"))
             @RequestParam(value = "size", defaultValue = "10") int size,
             @Parameter(description = "Search term to filter posts by title or content", in = ParameterIn.QUERY)
-            @RequestParam(value = "search", required = false) String search) {
-        PagedResponse<PostResponseDto> response = postService.listPosts(page, size, search);
+            @RequestParam(value = "search", required = false) String search,
+            @Parameter(description = "Cursor from the previous page's nextCursor; empty to start cursor pagination", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Count totals in cursor mode", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "false"))
+            @RequestParam(value = "includeTotals", defaultValue = "false") boolean includeTotals,
+            @Parameter(description = "Representation of each post: full or summary (excerpt instead of content)",
+                    in = ParameterIn.QUERY, schema = @Schema(defaultValue = "full", allowableValues = {"full", "summary"}))
+            @RequestParam(value = "view", required = false) String view,
+            @Parameter(description = "Comma separated list of fields to return, e.g. id,title,excerpt; overrides view",
+                    in = ParameterIn.QUERY)
+            @RequestParam(value = "fields", required = false) String fields) {
+        PostFieldSet fieldSet = PostFieldSet.of(view, fields);
+        if (cursor != null) {
+            if (search != null && !search.trim().isEmpty()) {
+                throw new BadRequestException("Cursor pagination cannot be combined with search");
+            }
+            return ResponseEntity.ok(postService.listPostsByCursor(cursor, size, includeTotals, fieldSet));
+        }
+        PagedResponse<PostResponseDto> response = postService.listPosts(page, size, search, fieldSet);
         return ResponseEntity.ok(response);
     }
 }
\ No newline at end of file
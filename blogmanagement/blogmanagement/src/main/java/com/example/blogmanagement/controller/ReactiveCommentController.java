@@ -0,0 +1,44 @@
+package com.example.blogmanagement.controller;
+
+import com.example.blogmanagement.dto.CommentResponseDto;
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.service.ReactiveCommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.security.SecurityRequirements;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the comment listing, see {@link ReactivePostController}.
+ * Only available with the document comment storage.
+ */
+@RestController
+@RequestMapping("/api/rx/posts/{postId}/comments")
+@ConditionalOnProperty(name = "blog.comments.storage", havingValue = "document", matchIfMissing = true)
+@Tag(name = "Reactive reads", description = "Non-blocking variants of the read endpoints")
+@RequiredArgsConstructor
+public class ReactiveCommentController {
+
+    private final ReactiveCommentService reactiveCommentService;
+
+    @Operation(summary = "List comments for a specific post with keyset pagination",
+            description = "Non-blocking variant of GET /api/posts/{postId}/comments in cursor mode. Public endpoint.")
+    @SecurityRequirements() // No security required
+    @GetMapping
+    public Mono<PagedResponse<CommentResponseDto>> listCommentsByPost(
+            @PathVariable("postId") String postId,
+            @Parameter(description = "Cursor from the previous page's nextCursor; empty for the first page", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Number of records per page", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "10"))
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "Count totals", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "false"))
+            @RequestParam(value = "includeTotals", defaultValue = "false") boolean includeTotals) {
+        return reactiveCommentService.listCommentsByPostIdAndCursor(postId, cursor, size, includeTotals);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.blogmanagement.controller;
+
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostFieldSet;
+import com.example.blogmanagement.dto.PostResponseDto;
+import com.example.blogmanagement.service.ReactivePostService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.security.SecurityRequirements;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the post read endpoints. The request thread is
+ * released as soon as the handler returns; the response is written when the
+ * MongoDB reads complete, so slow clients and slow queries do not hold a
+ * servlet thread.
+ */
+@RestController
+@RequestMapping("/api/rx/posts")
+@Tag(name = "Reactive reads", description = "Non-blocking variants of the read endpoints")
+@RequiredArgsConstructor
+public class ReactivePostController {
+
+    private final ReactivePostService reactivePostService;
+
+    @Operation(summary = "Get a post by ID", description = "Non-blocking variant of GET /api/posts/{id}. Public endpoint.")
+    @SecurityRequirements() // No security required
+    @GetMapping("/{id}")
+    public Mono<PostResponseDto> getPost(@PathVariable("id") String id) {
+        return reactivePostService.getPost(id);
+    }
+
+    @Operation(summary = "List posts with keyset pagination",
+            description = "Non-blocking variant of GET /api/posts in cursor mode. Public endpoint.")
+    @SecurityRequirements() // No security required
+    @GetMapping
+    public Mono<PagedResponse<PostResponseDto>> listPosts(
+            @Parameter(description = "Cursor from the previous page's nextCursor; empty for the first page", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Number of records per page", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "10"))
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "Count totals", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "false"))
+            @RequestParam(value = "includeTotals", defaultValue = "false") boolean includeTotals,
+            @Parameter(description = "Representation of each post: full or summary (excerpt instead of content)",
+                    in = ParameterIn.QUERY, schema = @Schema(defaultValue = "full", allowableValues = {"full", "summary"}))
+            @RequestParam(value = "view", required = false) String view,
+            @Parameter(description = "Comma separated list of fields to return; overrides view", in = ParameterIn.QUERY)
+            @RequestParam(value = "fields", required = false) String fields) {
+        return reactivePostService.listPostsByCursor(cursor, size, includeTotals, PostFieldSet.of(view, fields));
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.blogmanagement.controller;
 
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostFieldSet;
+import com.example.blogmanagement.dto.PostResponseDto;
 import com.example.blogmanagement.dto.UserRegistrationRequest;
 import com.example.blogmanagement.dto.UserResponseDto;
+import com.example.blogmanagement.service.FollowService;
+import com.example.blogmanagement.service.PostService;
 import com.example.blogmanagement.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,6 +33,8 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final PostService postService;
+    private final FollowService followService;
 
     /**
      * Register a new user. The request body must include a username, email and
@@ -50,6 +60,53 @@ public class UserController {
         return ResponseEntity.ok(userService.getUserById(id));
     }
 
+    /**
+     * List the posts of a user, newest first, using cursor pagination.
+     * Returns a 404 if the user does not exist.
+     */
+    @Operation(summary = "List a user's posts",
+            description = "Get the posts of a user, newest first. Pass the returned nextCursor to fetch the next page. Public endpoint.")
+    @SecurityRequirements() // No security required
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<PagedResponse<PostResponseDto>> listUserPosts(
+            @PathVariable("id") Long id,
+            @Parameter(description = "Cursor from the previous page's nextCursor; omit for the first page", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Number of records per page", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "10"))
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "Count the user's posts", in = ParameterIn.QUERY, schema = @Schema(defaultValue = "false"))
+            @RequestParam(value = "includeTotals", defaultValue = "false") boolean includeTotals,
+            @Parameter(description = "Representation of each post: full or summary (excerpt instead of content)",
+                    in = ParameterIn.QUERY, schema = @Schema(defaultValue = "full", allowableValues = {"full", "summary"}))
+            @RequestParam(value = "view", required = false) String view,
+            @Parameter(description = "Comma separated list of fields to return; overrides view", in = ParameterIn.QUERY)
+            @RequestParam(value = "fields", required = false) String fields) {
+        return ResponseEntity.ok(postService.listPostsByAuthor(id, cursor, size, includeTotals,
+                PostFieldSet.of(view, fields)));
+    }
+
+    /**
+     * Follow a user. Their posts will appear in the caller's home feed.
+     */
+    @Operation(summary = "Follow a user", description = "Follow another user. Requires authentication.")
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/{id}/follow")
+    public ResponseEntity<Void> followUser(@PathVariable("id") Long id) {
+        followService.follow(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Stop following a user.
+     */
+    @Operation(summary = "Unfollow a user", description = "Stop following a user. Requires authentication.")
+    @SecurityRequirement(name = "bearerAuth")
+    @DeleteMapping("/{id}/follow")
+    public ResponseEntity<Void> unfollowUser(@PathVariable("id") Long id) {
+        followService.unfollow(id);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Delete a user by ID. Only accessible to users with ADMIN role.
      */
@@ -4,6 +4,8 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -12,14 +14,33 @@ import java.time.LocalDateTime;
  * MongoDB document representing a comment on a blog post. Comments are stored
  * in a separate collection and reference both the associated post and the
  * authoring user by their identifiers.
+ *
+ * Replies form a tree, stored as a materialized path: every comment records
+ * the identifiers of its ancestors and itself, so that a whole subtree is one
+ * range of the (postId, path) index and sorting by path yields thread order.
  */
 @Document(collection = "comments")
+@CompoundIndexes({
+        @CompoundIndex(name = "post_created_id_idx", def = "{'postId': 1, 'createdAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "post_path_idx", def = "{'postId': 1, 'path': 1}"),
+        @CompoundIndex(name = "post_depth_path_idx", def = "{'postId': 1, 'depth': 1, 'path': 1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Comment {
 
+    public static final char PATH_SEPARATOR = '/';
+
+    /**
+     * Upper bound of the paths of a comment's descendants: appended to the
+     * comment's path, this character sorts after the separator and before
+     * every hexadecimal digit, so [path, path + SUBTREE_END) covers exactly
+     * the comment and its descendants.
+     */
+    public static final char SUBTREE_END = PATH_SEPARATOR + 1;
+
     /**
      * Unique identifier for the comment. Assigned by MongoDB.
      */
@@ -38,6 +59,25 @@ public class Comment {
      */
     private Long authorId;
 
+    /**
+     * Identifier of the comment this comment replies to, or null for a
+     * top-level comment.
+     */
+    private String parentId;
+
+    /**
+     * Identifiers of the comment's ancestors followed by its own, each 24
+     * hexadecimal characters, separated by {@link #PATH_SEPARATOR}. Assigned
+     * on creation and never changed, so the order of existing comments is
+     * not affected by concurrent inserts.
+     */
+    private String path;
+
+    /**
+     * Nesting level: 0 for a top-level comment, 1 for a direct reply, and so on.
+     */
+    private int depth;
+
     /**
      * Text content of the comment.
      */
@@ -54,4 +94,12 @@ public class Comment {
      */
     @LastModifiedDate
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    /**
+     * Path of a new comment with the given identifier, placed under the given
+     * parent, or at the top level if the parent is null.
+     */
+    public static String pathOf(Comment parent, String id) {
+        return parent == null ? id : parent.getPath() + PATH_SEPARATOR + id;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.blogmanagement.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A fixed-size group of consecutive comments of one post, used by the
+ * bucketed comment storage. Buckets of a post are numbered in the order they
+ * were opened, and new comments are appended to the single open bucket of the
+ * post until it holds the configured number of comments.
+ */
+@Document(collection = "comment_buckets")
+@CompoundIndexes({
+        // Ordered bucket listing; covers the (seq, count) summaries used to locate a page by offset
+        @CompoundIndex(name = "post_seq_count_idx", def = "{'postId': 1, 'seq': 1, 'count': 1}"),
+        // At most one open bucket per post, which also keeps bucket numbers unique
+        @CompoundIndex(name = "post_open_idx", def = "{'postId': 1}", unique = true,
+                partialFilter = "{'open': true}"),
+        @CompoundIndex(name = "comment_id_idx", def = "{'comments._id': 1}")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentBucket {
+
+    @Id
+    private String id;
+
+    /**
+     * Identifier of the post the comments belong to.
+     */
+    private String postId;
+
+    /**
+     * Position of the bucket among the buckets of its post. Buckets migrated
+     * from the document layout have negative numbers, so they come before
+     * buckets opened afterwards.
+     */
+    private int seq;
+
+    /**
+     * Number of comments in the bucket. Maintained with every append and
+     * delete, so offsets can be located without reading the comments.
+     */
+    private int count;
+
+    /**
+     * Whether new comments are appended to this bucket. Only set while true;
+     * a full bucket is closed before the next one is opened.
+     */
+    private Boolean open;
+
+    /**
+     * Set on buckets being written by the migration from the document
+     * layout, until all buckets of the post have been written.
+     */
+    private Boolean migrating;
+
+    /**
+     * The comments, oldest first.
+     */
+    private List<Entry> comments;
+
+    /**
+     * A comment stored in a bucket. The post identifier is held by the bucket.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        @Id
+        private String id;
+
+        private Long authorId;
+
+        /**
+         * Comment replied to, kept for comments migrated from the document
+         * layout. Replies cannot be created in the bucketed layout.
+         */
+        private String parentId;
+
+        private String content;
+
+        private LocalDateTime createdAt;
+
+        private LocalDateTime updatedAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.blogmanagement.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MongoDB document holding the home feed of one user: references to the
+ * newest posts of the accounts the user follows, newest first. New posts are
+ * pushed into the feeds of the author's followers when they are created, so
+ * reading a feed is a single document read however many accounts the user
+ * follows. The number of entries is capped, so a feed only reaches back so
+ * far.
+ */
+@Document(collection = "feeds")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Feed {
+
+    /**
+     * Identifier of the user owning the feed, as stored in PostgreSQL.
+     */
+    @Id
+    private Long userId;
+
+    /**
+     * Feed entries ordered by creation time of the post, newest first.
+     */
+    private List<Entry> entries;
+
+    /**
+     * Reference to one post in a feed. The author is kept so that the entries
+     * of an account can be removed when the user unfollows it.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        private String postId;
+
+        private Long authorId;
+
+        private LocalDateTime createdAt;
+    }
+}
@@ -4,6 +4,10 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -14,12 +18,21 @@ import java.time.LocalDateTime;
  * timestamps are maintained automatically by Spring Data MongoDB.
  */
 @Document(collection = "posts")
+@CompoundIndexes({
+        @CompoundIndex(name = "created_id_idx", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "author_created_id_idx", def = "{'authorId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Post {
 
+    /**
+     * Maximum length, in code points, of the excerpt shown in list views.
+     */
+    public static final int EXCERPT_LENGTH = 200;
+
     /**
      * Unique identifier for the post. MongoDB will generate this value.
      */
@@ -36,6 +49,19 @@ public class Post {
      */
     private String content;
 
+    /**
+     * Leading part of the content, precomputed on write so that list views can
+     * project it instead of loading the whole content.
+     */
+    private String excerpt;
+
+    /**
+     * Identifier of the post on the platform it was imported from, used to
+     * attach imported comments to it. Null for posts created through the API.
+     */
+    @Indexed(unique = true, sparse = true)
+    private String sourceRef;
+
     /**
      * Identifier of the user who created the post. This references the user
      * stored in PostgreSQL. Using a primitive type avoids storing nested
@@ -54,4 +80,65 @@ public class Post {
      */
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    /**
+     * Number of comments on this post, kept up to date with atomic increments
+     * when comments are created or deleted so that listings need no count
+     * query. Drift is repaired by a periodic reconciliation job.
+     */
+    private long commentCount;
+
+    /**
+     * Number of times the post was read. Views are counted in memory and
+     * added in periodic batches, so the stored value lags slightly.
+     */
+    private long viewCount;
+
+    /**
+     * Exponentially time-decayed view score used to rank trending posts,
+     * stored as its natural logarithm. Views are weighted by
+     * {@code 2^((t - epoch) / halfLife)} (forward decay), so scores of all
+     * posts stay comparable without ever being decayed in place, and the log
+     * domain keeps the growing weights from overflowing. Null until the post
+     * is first viewed.
+     */
+    @Indexed(direction = IndexDirection.DESCENDING, sparse = true)
+    private Double trendingScore;
+
+    /**
+     * Timestamp of the last change to any comment of this post. Used as the
+     * validator for conditional requests on the post's comment pages.
+     */
+    private LocalDateTime commentsUpdatedAt;
+
+    /**
+     * Time views were last added to {@link #viewCount}. The view count is
+     * part of the post's representation, so this takes part in the post's
+     * validator for conditional requests.
+     */
+    private LocalDateTime viewsUpdatedAt;
+
+    /**
+     * Time the post was deleted. A deleted post is hidden from all reads
+     * immediately, while its comments are removed in the background by the
+     * post reaper, which then removes the post document itself. The index
+     * serves both counting live posts and finding pending deletions.
+     */
+    @Indexed
+    private LocalDateTime deletedAt;
+
+    /**
+     * Compute the excerpt for the given content: its first
+     * {@link #EXCERPT_LENGTH} code points.
+     *
+     * @param content full post content
+     * @return the excerpt, or null if the content is null
+     */
+    public static String excerptOf(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH
+                || content.codePointCount(0, content.length()) <= EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, EXCERPT_LENGTH));
+    }
 }
\ No newline at end of file
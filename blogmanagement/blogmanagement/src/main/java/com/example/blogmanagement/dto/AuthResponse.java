@@ -28,6 +28,17 @@ public class AuthResponse {
     @Builder.Default
     private String tokenType = "Bearer";
 
+    /**
+     * Lifetime of the access token in seconds.
+     */
+    private Long expiresIn;
+
+    /**
+     * Single-use token from which a new access token is obtained once the
+     * current one expires.
+     */
+    private String refreshToken;
+
     /**
      * ID of the authenticated user.
      */
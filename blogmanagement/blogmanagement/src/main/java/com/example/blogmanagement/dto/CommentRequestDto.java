@@ -26,6 +26,10 @@ public class CommentRequestDto {
     @NotNull(message = "Author ID is required")
     private Long authorId;
 
+    @Schema(description = "Identifier of the comment being replied to; omit for a top-level comment",
+            example = "64fe2a07f1a3ab12ef4c9031")
+    private String parentId;
+
     @Schema(description = "Text content of the comment", example = "Great article!")
     @NotBlank(message = "Content is required")
     private String content;
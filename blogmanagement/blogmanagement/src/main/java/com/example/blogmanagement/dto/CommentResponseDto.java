@@ -1,5 +1,6 @@
 package com.example.blogmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Response DTO representing a comment returned to the client. It includes
@@ -16,6 +18,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CommentResponseDto {
 
     @Schema(description = "Unique identifier of the comment")
@@ -24,6 +27,12 @@ public class CommentResponseDto {
     @Schema(description = "Identifier of the post that this comment belongs to")
     private String postId;
 
+    @Schema(description = "Identifier of the comment this comment replies to; absent for top-level comments")
+    private String parentId;
+
+    @Schema(description = "Nesting level: 0 for top-level comments, 1 for direct replies, and so on")
+    private Integer depth;
+
     @Schema(description = "Username of the user who wrote the comment")
     private String authorUsername;
 
@@ -33,4 +42,10 @@ public class CommentResponseDto {
     @Schema(description = "Timestamp when the comment was created")
     private LocalDateTime createdAt;
     // updatedAt is omitted for a more realistic response DTO
+
+    @Schema(description = "Number of replies at any depth; only included when listing threads")
+    private Long replyCount;
+
+    @Schema(description = "First replies in thread order; only included when listing threads")
+    private List<CommentResponseDto> replies;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.blogmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A line of a bulk import that could not be imported.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDto {
+
+    @Schema(description = "Line number in the uploaded file, starting at 1")
+    private long line;
+
+    @Schema(description = "Reason the line was rejected")
+    private String message;
+}
@@ -0,0 +1,42 @@
+package com.example.blogmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an NDJSON bulk import: either a post or a comment.
+ *
+ * A post may carry a {@code ref}, its identifier on the source platform. A
+ * comment names its post either by {@code postId} (an existing post) or by
+ * {@code postRef} (the ref of an imported post on an earlier line).
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ImportRecord {
+
+    public static final String TYPE_POST = "post";
+    public static final String TYPE_COMMENT = "comment";
+
+    private String type;
+
+    private String ref;
+
+    private String postId;
+
+    private String postRef;
+
+    private Long authorId;
+
+    private String title;
+
+    private String content;
+
+    /**
+     * Original creation time; the import time is used when absent.
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package com.example.blogmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Lines are imported independently, so a failed
+ * line does not prevent the others from being written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+
+    @Schema(description = "Number of non-empty lines read")
+    private long lines;
+
+    @Schema(description = "Number of posts written")
+    private long postsImported;
+
+    @Schema(description = "Number of comments written")
+    private long commentsImported;
+
+    @Schema(description = "Number of lines that were rejected")
+    private long failed;
+
+    @Schema(description = "Rejected lines, up to the configured maximum")
+    private List<ImportErrorDto> errors;
+
+    @Schema(description = "Whether more lines were rejected than are listed in errors")
+    private boolean errorsTruncated;
+}
@@ -1,5 +1,6 @@
 package com.example.blogmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,12 +15,17 @@ import java.util.List;
  * elements and pages. Using a wrapper simplifies exposing pagination
  * information consistently across endpoints.
  *
+ * In cursor mode the totals are only computed on request, so they are left
+ * null and omitted from the JSON, and {@code nextCursor} points at the
+ * following page.
+ *
  * @param <T> type of content being paginated
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedResponse<T> {
 
     @Schema(description = "Content for the current page")
@@ -32,11 +38,14 @@ public class PagedResponse<T> {
     private int size;
 
     @Schema(description = "Total number of elements across all pages")
-    private long totalElements;
+    private Long totalElements;
 
     @Schema(description = "Total number of pages available")
-    private int totalPages;
+    private Integer totalPages;
 
     @Schema(description = "Indicator if this page is the last one")
     private boolean last;
+
+    @Schema(description = "Opaque cursor to pass back for the next page when using cursor pagination")
+    private String nextCursor;
 }
\ No newline at end of file
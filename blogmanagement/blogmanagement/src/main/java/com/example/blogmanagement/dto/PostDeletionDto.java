@@ -0,0 +1,32 @@
+package com.example.blogmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a post deletion whose comments are still being removed in the
+ * background.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostDeletionDto {
+
+    @Schema(description = "Identifier of the deleted post")
+    private String postId;
+
+    @Schema(description = "Title of the deleted post")
+    private String title;
+
+    @Schema(description = "Timestamp when the post was deleted")
+    private LocalDateTime deletedAt;
+
+    @Schema(description = "Number of comments that remain to be removed")
+    private long remainingComments;
+}
@@ -0,0 +1,114 @@
+package com.example.blogmanagement.dto;
+
+import com.example.blogmanagement.exception.BadRequestException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selection of {@link PostResponseDto} fields requested by a client. The
+ * selection is translated into a MongoDB field projection, so fields that are
+ * not requested are neither read from the database nor serialized.
+ */
+public final class PostFieldSet {
+
+    /**
+     * Response field name mapped to the document field it is built from.
+     */
+    private static final Map<String, String> DOCUMENT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        DOCUMENT_FIELDS.put("id", "id");
+        DOCUMENT_FIELDS.put("title", "title");
+        DOCUMENT_FIELDS.put("content", "content");
+        DOCUMENT_FIELDS.put("excerpt", "excerpt");
+        DOCUMENT_FIELDS.put("authorUsername", "authorId");
+        DOCUMENT_FIELDS.put("commentCount", "commentCount");
+        DOCUMENT_FIELDS.put("viewCount", "viewCount");
+        DOCUMENT_FIELDS.put("createdAt", "createdAt");
+    }
+
+    /**
+     * Default representation: everything except the excerpt.
+     */
+    public static final PostFieldSet FULL = new PostFieldSet(
+            Set.of("id", "title", "content", "authorUsername", "commentCount", "viewCount", "createdAt"), true);
+
+    /**
+     * Compact representation for list views: the excerpt replaces the content.
+     */
+    public static final PostFieldSet SUMMARY = new PostFieldSet(
+            Set.of("id", "title", "excerpt", "authorUsername", "commentCount", "viewCount", "createdAt"), false);
+
+    private final Set<String> fields;
+    private final boolean full;
+
+    private PostFieldSet(Set<String> fields, boolean full) {
+        this.fields = Collections.unmodifiableSet(fields);
+        this.full = full;
+    }
+
+    /**
+     * Build a field set from the {@code view} and {@code fields} request
+     * parameters. An explicit field list takes precedence over the view.
+     *
+     * @param view either "full" or "summary"; null means full
+     * @param fields comma separated list of response fields; may be null
+     * @return the requested field set
+     * @throws BadRequestException if the view or a field name is unknown
+     */
+    public static PostFieldSet of(String view, String fields) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> selected = new LinkedHashSet<>();
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (!DOCUMENT_FIELDS.containsKey(name)) {
+                    throw new BadRequestException("Unknown post field: " + name);
+                }
+                selected.add(name);
+            }
+            // The identifier is always returned so that clients can link to the post
+            selected.add("id");
+            return new PostFieldSet(selected, false);
+        }
+        if (view == null || view.isBlank() || "full".equalsIgnoreCase(view)) {
+            return FULL;
+        }
+        if ("summary".equalsIgnoreCase(view)) {
+            return SUMMARY;
+        }
+        throw new BadRequestException("Unknown view: " + view);
+    }
+
+    /**
+     * Whether a response field was requested.
+     *
+     * @param field response field name
+     * @return true if the field should be populated
+     */
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Document fields to project when loading posts for this field set.
+     *
+     * @return the projected document fields, or an empty set to load whole documents
+     */
+    public Set<String> documentFields() {
+        if (full) {
+            return Set.of();
+        }
+        Set<String> projected = new LinkedHashSet<>();
+        for (String field : fields) {
+            projected.add(DOCUMENT_FIELDS.get(field));
+        }
+        return projected;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.blogmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,12 +12,14 @@ import java.time.LocalDateTime;
 
 /**
  * Response DTO representing a blog post returned to the client. It includes
- * metadata such as creation and update timestamps.
+ * metadata such as creation and update timestamps. Fields left out of a
+ * sparse fieldset are null and therefore omitted from the JSON.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PostResponseDto {
 
     @Schema(description = "Unique identifier of the post")
@@ -27,10 +31,27 @@ public class PostResponseDto {
     @Schema(description = "Content of the post")
     private String content;
 
+    @Schema(description = "Leading part of the content, returned by the summary view")
+    private String excerpt;
+
     @Schema(description = "Username of the author")
     private String authorUsername;
 
+    @Schema(description = "Number of comments on the post")
+    private Long commentCount;
+
+    @Schema(description = "Number of times the post was read; updated periodically")
+    private Long viewCount;
+
     @Schema(description = "Timestamp when the post was created")
     private LocalDateTime createdAt;
     // In a real‑world API we omit the updatedAt field from responses to reduce noise.
+
+    /**
+     * Version of the post this representation was built from, for the
+     * validators of conditional requests. Not part of the JSON.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private LocalDateTime lastModified;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.blogmanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object carrying a refresh token, to obtain new tokens or to
+ * end the session it belongs to.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequest {
+
+    /**
+     * Refresh token returned with the last authentication response.
+     */
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
@@ -0,0 +1,48 @@
+package com.example.blogmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one user following another. Persisted to PostgreSQL
+ * next to the users it links. The unique constraint doubles as the index for
+ * "whom does this user follow"; the second index serves the fan-out of new
+ * posts to an author's followers.
+ */
+@Entity
+@Table(name = "follows",
+        uniqueConstraints = @UniqueConstraint(name = "uk_follows_follower_followee",
+                columnNames = {"follower_id", "followee_id"}),
+        indexes = @Index(name = "idx_follows_followee_follower", columnList = "followee_id, follower_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Follow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The user who follows.
+     */
+    @Column(name = "follower_id", nullable = false)
+    private Long followerId;
+
+    /**
+     * The user being followed.
+     */
+    @Column(name = "followee_id", nullable = false)
+    private Long followeeId;
+
+    /**
+     * Timestamp indicating when the follow was created.
+     */
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,69 @@
+package com.example.blogmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A refresh token issued at login, from which new access tokens are
+ * obtained. Only the SHA-256 hash of the token is stored. Tokens are used
+ * once: refreshing replaces the token with a new one, and presenting a
+ * replaced token again revokes all sessions of its user, as it may have been
+ * stolen. A token revoked by logging out is merely refused.
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The user the token was issued to.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Base64 encoded SHA-256 hash of the token.
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    /**
+     * Time after which the token can no longer be used.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Time the token was used or revoked; null while the token is usable.
+     */
+    private LocalDateTime revokedAt;
+
+    /**
+     * Time the token was used to obtain a new one; null if it was never used,
+     * including when it was revoked by logging out. Only replaced tokens
+     * presented again count as reuse.
+     */
+    private LocalDateTime replacedAt;
+
+    /**
+     * Timestamp indicating when the token was issued.
+     */
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,57 @@
+package com.example.blogmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revocation of access tokens, replicated to the in-memory revocation list
+ * of every instance. Either revokes one token, identified by its {@code jti}
+ * claim, or all tokens of a user issued up to {@code revokedAt} (when
+ * {@code tokenId} is null). Rows are purged once every token they revoke
+ * has expired.
+ */
+@Entity
+@Table(name = "token_revocations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_token_revocations_token", columnNames = "token_id"),
+        indexes = {
+                @Index(name = "idx_token_revocations_revoked", columnList = "revoked_at"),
+                @Index(name = "idx_token_revocations_expires", columnList = "expires_at")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Identifier ({@code jti}) of the revoked token, or null to revoke all
+     * tokens of the user.
+     */
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    /**
+     * The user whose token or tokens are revoked.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Time of the revocation. For a revocation of all tokens of a user,
+     * tokens issued up to this time are revoked.
+     */
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    /**
+     * Time at which every token revoked by this row has expired.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -2,6 +2,7 @@ package com.example.blogmanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
@@ -64,6 +65,16 @@ public class User implements UserDetails {
     @Builder.Default
     private Set<Role> roles = new HashSet<>();
 
+    /**
+     * Number of users following this user, kept up to date when follows are
+     * created or removed. Decides whether new posts are pushed into the
+     * followers' feeds or pulled when the feeds are read.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Builder.Default
+    private long followerCount = 0;
+
     /**
      * Timestamp indicating when the user was created.
      */
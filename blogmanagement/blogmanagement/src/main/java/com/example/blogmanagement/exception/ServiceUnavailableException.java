@@ -0,0 +1,12 @@
+package com.example.blogmanagement.exception;
+
+/**
+ * Exception thrown when the server is too busy to process a request right
+ * now. Triggering this exception will result in a 503 Service Unavailable
+ * response from the {@link com.example.blogmanagement.exception.GlobalExceptionHandler}.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.blogmanagement.feed;
+
+import com.example.blogmanagement.document.Feed;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.entity.User;
+import com.example.blogmanagement.repository.FollowRepository;
+import com.example.blogmanagement.repository.PostRepository;
+import com.example.blogmanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes posts into the home feeds of the author's followers (fan-out on
+ * write). Runs asynchronously so that creating a post does not wait for it.
+ *
+ * Authors with at least {@code blog.feed.celebrity-threshold} followers are
+ * skipped: writing into that many feeds for every post would be too costly,
+ * so their posts are pulled and merged in when a feed is read instead. When
+ * an author stops being pulled, because followers left or the threshold was
+ * raised, their recent posts are pushed to all followers once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedFanout {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final FeedStore feedStore;
+
+    @Value("${blog.feed.celebrity-threshold:10000}")
+    private long celebrityThreshold;
+
+    @Value("${blog.feed.fan-out-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${blog.feed.backfill-posts:20}")
+    private int backfillPosts;
+
+    /**
+     * Whether posts of an author with the given follower count are pulled at
+     * read time instead of being pushed into feeds.
+     */
+    public boolean isPulled(long followerCount) {
+        return followerCount >= celebrityThreshold;
+    }
+
+    public long celebrityThreshold() {
+        return celebrityThreshold;
+    }
+
+    /**
+     * Push a new post into the feeds of all followers of its author.
+     */
+    @Async
+    public void fanOut(Post post) {
+        User author = userRepository.findById(post.getAuthorId()).orElse(null);
+        if (author == null || author.getFollowerCount() == 0 || isPulled(author.getFollowerCount())) {
+            return;
+        }
+        long delivered = deliver(author.getId(), List.of(entryOf(post)), false);
+        log.debug("Delivered post {} to {} feeds", post.getId(), delivered);
+    }
+
+    /**
+     * Push a batch of posts, such as a chunk of a bulk import, into the feeds
+     * of their authors' followers. The followers of each author are paged
+     * through once for all of that author's posts.
+     */
+    @Async
+    public void fanOutAll(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Feed.Entry>> entriesByAuthor = posts.stream().collect(Collectors.groupingBy(
+                Post::getAuthorId, Collectors.mapping(FeedFanout::entryOf, Collectors.toList())));
+        for (User author : userRepository.findAllById(entriesByAuthor.keySet())) {
+            if (author.getFollowerCount() > 0 && !isPulled(author.getFollowerCount())) {
+                deliver(author.getId(), entriesByAuthor.get(author.getId()), false);
+            }
+        }
+    }
+
+    /**
+     * Push entries into the feeds of all followers of an author.
+     *
+     * @param replacing whether feeds may already hold some of the posts
+     * @return the number of feeds written
+     */
+    private long deliver(Long authorId, List<Feed.Entry> entries, boolean replacing) {
+        long after = 0;
+        long delivered = 0;
+        List<Long> followers;
+        do {
+            followers = followRepository.findFollowerIdsAfter(authorId, after, PageRequest.ofSize(batchSize));
+            if (!followers.isEmpty()) {
+                if (replacing) {
+                    feedStore.pushReplacing(followers, entries);
+                } else {
+                    feedStore.push(followers, entries);
+                }
+                delivered += followers.size();
+                after = followers.get(followers.size() - 1);
+            }
+        } while (followers.size() == batchSize);
+        return delivered;
+    }
+
+    /**
+     * Fill a user's feed with the recent posts of an account the user just
+     * started following.
+     */
+    @Async
+    public void backfill(Long followerId, Long followeeId) {
+        List<Post> recent = postRepository.findByAuthorAfter(followeeId, null, backfillPosts,
+                Set.of("authorId", "createdAt"));
+        // A new post of the followee may have been fanned out to the follower already
+        feedStore.pushReplacing(List.of(followerId), recent.stream().map(FeedFanout::entryOf).toList());
+    }
+
+    /**
+     * Push the recent posts of an author whose posts were pulled at read time
+     * until now into the feeds of all followers. Posts written while they
+     * were pulled were never pushed, so without this they would show up in
+     * no feed once pulling stops. Followers from before the author was
+     * pulled already hold the older of these posts, so they are replaced
+     * rather than added twice.
+     */
+    @Async
+    public void backfillFollowers(Long authorId) {
+        List<Feed.Entry> recent = postRepository.findByAuthorAfter(authorId, null, feedStore.maxEntries(),
+                        Set.of("authorId", "createdAt")).stream()
+                .map(FeedFanout::entryOf)
+                .toList();
+        if (!recent.isEmpty()) {
+            long delivered = deliver(authorId, recent, true);
+            log.info("Backfilled {} posts of user {} into {} feeds", recent.size(), authorId, delivered);
+        }
+    }
+
+    public static Feed.Entry entryOf(Post post) {
+        return new Feed.Entry(post.getId(), post.getAuthorId(), post.getCreatedAt());
+    }
+}
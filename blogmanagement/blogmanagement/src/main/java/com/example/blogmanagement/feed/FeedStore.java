@@ -0,0 +1,141 @@
+package com.example.blogmanagement.feed;
+
+import com.example.blogmanagement.document.Feed;
+import com.example.blogmanagement.repository.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reads and writes the per-user home feeds in the {@code feeds} collection.
+ *
+ * Entries are added with {@code $push} using {@code $each}, {@code $sort} and
+ * {@code $slice}, which keeps each feed ordered and bounded inside MongoDB
+ * without reading it first. Reads filter and slice the entries inside
+ * MongoDB too, so only the requested page is transferred.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${blog.feed.max-entries:500}")
+    private int maxEntries;
+
+    /**
+     * Maximum number of entries kept in a feed.
+     */
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Add entries to the feeds of the given users, creating feeds as needed.
+     *
+     * @param userIds owners of the feeds
+     * @param entries entries to add, in any order
+     */
+    public void push(Collection<Long> userIds, List<Feed.Entry> entries) {
+        if (userIds.isEmpty() || entries.isEmpty()) {
+            return;
+        }
+        Update update = pushUpdate(entries);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Feed.class);
+        for (Long userId : userIds) {
+            bulk.upsert(new Query(Criteria.where("userId").is(userId)), update);
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Add entries to the feeds of the given users, first removing any entries
+     * for the same posts. For posts a feed may already hold, such as those
+     * pushed again by a backfill: {@code $push} does not deduplicate, and
+     * duplicates would take the place of real entries under the size cap.
+     *
+     * @param userIds owners of the feeds
+     * @param entries entries to add, in any order
+     */
+    public void pushReplacing(Collection<Long> userIds, List<Feed.Entry> entries) {
+        if (userIds.isEmpty() || entries.isEmpty()) {
+            return;
+        }
+        // $pull and $push cannot target the same field in one update; the
+        // ordered bulk applies them one after the other to each feed
+        Update pull = new Update().pull("entries", new Document("postId",
+                new Document("$in", entries.stream().map(Feed.Entry::getPostId).toList())));
+        Update push = pushUpdate(entries);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Feed.class);
+        for (Long userId : userIds) {
+            Query feed = new Query(Criteria.where("userId").is(userId));
+            bulk.updateOne(feed, pull);
+            bulk.upsert(feed, push);
+        }
+        bulk.execute();
+    }
+
+    private Update pushUpdate(List<Feed.Entry> entries) {
+        return new Update().push("entries")
+                .sort(Sort.by(Sort.Direction.DESC, "createdAt", "postId"))
+                .slice(maxEntries)
+                .each(entries.toArray());
+    }
+
+    /**
+     * Remove all entries of one author from a user's feed.
+     */
+    public void removeAuthor(Long userId, Long authorId) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("userId").is(userId)),
+                new Update().pull("entries", new Document("authorId", authorId)), Feed.class);
+    }
+
+    /**
+     * Read the entries of a user's feed that follow the cursor.
+     *
+     * @param userId owner of the feed
+     * @param after position of the last entry already returned, or null for the first page
+     * @param limit maximum number of entries to return
+     * @return entries ordered by createdAt descending, then post ID descending
+     */
+    public List<Feed.Entry> read(Long userId, PageCursor after, int limit) {
+        // Entries are stored in feed order, so the page is the first entries past the cursor
+        Object entries = after == null ? "$entries" : new Document("$filter", new Document("input", "$entries")
+                .append("cond", before(after)));
+        AggregationOperation page = context -> new Document("$project",
+                new Document("entries", new Document("$slice", List.of(entries, limit))));
+        Feed feed = mongoTemplate.aggregate(Aggregation.newAggregation(Feed.class,
+                Aggregation.match(Criteria.where("userId").is(userId)), page), Feed.class).getUniqueMappedResult();
+        if (feed == null || feed.getEntries() == null) {
+            return List.of();
+        }
+        return feed.getEntries();
+    }
+
+    /**
+     * Condition matching the entries that come after the cursor in feed order.
+     */
+    private static Document before(PageCursor cursor) {
+        // Stored as a Date in the server time zone, like every LocalDateTime
+        Date createdAt = Date.from(cursor.createdAt().atZone(ZoneId.systemDefault()).toInstant());
+        return new Document("$or", List.of(
+                new Document("$lt", List.of("$$this.createdAt", createdAt)),
+                new Document("$and", List.of(
+                        new Document("$eq", List.of("$$this.createdAt", createdAt)),
+                        new Document("$lt", List.of("$$this.postId", cursor.id()))))));
+    }
+}
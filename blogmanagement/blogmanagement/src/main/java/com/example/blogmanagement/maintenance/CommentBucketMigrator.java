@@ -0,0 +1,121 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.CommentBucket;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.BucketedCommentStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Copies comments from the document layout into buckets when a deployment
+ * switches to {@code blog.comments.storage=bucketed} with
+ * {@code blog.comments.migrate-on-startup=true}.
+ *
+ * The comments of each post are written as closed buckets with negative
+ * numbers, so they come before any bucket opened since the switch. Buckets
+ * are flagged while a post is being copied; a post whose copy was interrupted
+ * has its flagged buckets discarded and is copied again, which makes the
+ * migration safe to rerun. The {@code comments} collection is left in place
+ * as a way back and can be dropped once the bucketed layout is confirmed.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comments.storage", havingValue = "bucketed")
+@RequiredArgsConstructor
+@Slf4j
+public class CommentBucketMigrator {
+
+    private final MongoTemplate mongoTemplate;
+    private final BucketedCommentStorage bucketedStorage;
+
+    @Value("${blog.comments.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!migrateOnStartup || !mongoTemplate.exists(new Query(), Comment.class)) {
+            return;
+        }
+        log.info("Migrating comments to buckets of {}", bucketedStorage.bucketSize());
+        Query posts = new Query();
+        posts.fields().include("id");
+        long migratedPosts = 0;
+        long migratedComments = 0;
+        try (Stream<Post> stream = mongoTemplate.stream(posts, Post.class)) {
+            for (Post post : (Iterable<Post>) stream::iterator) {
+                long comments = migratePost(post.getId());
+                if (comments > 0) {
+                    migratedPosts++;
+                    migratedComments += comments;
+                }
+            }
+        }
+        log.info("Migrated {} comments of {} posts to buckets", migratedComments, migratedPosts);
+    }
+
+    /**
+     * Copy the comments of one post, unless an earlier run already did.
+     *
+     * @return number of comments copied
+     */
+    private long migratePost(String postId) {
+        Criteria migrated = Criteria.where("postId").is(postId).and("seq").lt(0);
+        Query flagged = new Query(Criteria.where("postId").is(postId).and("seq").lt(0).and("migrating").is(true));
+        boolean copied = mongoTemplate.exists(
+                new Query(Criteria.where("postId").is(postId).and("seq").lt(0).and("migrating").exists(false)),
+                CommentBucket.class);
+        if (copied) {
+            // Interrupted while clearing the flags: all buckets were written
+            mongoTemplate.updateMulti(flagged, new Update().unset("migrating"), CommentBucket.class);
+            return 0;
+        }
+        long total = mongoTemplate.count(new Query(Criteria.where("postId").is(postId)), Comment.class);
+        if (total == 0) {
+            return 0;
+        }
+        mongoTemplate.remove(new Query(migrated), CommentBucket.class);
+
+        int size = bucketedStorage.bucketSize();
+        int seq = (int) -((total + size - 1) / size);
+        Query comments = new Query(Criteria.where("postId").is(postId))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "id"))
+                .cursorBatchSize(size);
+        long copiedComments = 0;
+        try (Stream<Comment> stream = mongoTemplate.stream(comments, Comment.class)) {
+            Iterator<Comment> iterator = stream.iterator();
+            List<CommentBucket.Entry> entries = new ArrayList<>(size);
+            while (iterator.hasNext()) {
+                entries.add(BucketedCommentStorage.entryOf(iterator.next()));
+                // Comments added since counting go into the last bucket rather than past seq -1
+                if ((entries.size() == size && seq < -1) || !iterator.hasNext()) {
+                    mongoTemplate.insert(CommentBucket.builder()
+                            .postId(postId)
+                            .seq(seq++)
+                            .count(entries.size())
+                            .migrating(true)
+                            .comments(entries)
+                            .build());
+                    copiedComments += entries.size();
+                    entries = new ArrayList<>(size);
+                }
+            }
+        }
+        mongoTemplate.updateMulti(flagged, new Update().unset("migrating"), CommentBucket.class);
+        return copiedComments;
+    }
+}
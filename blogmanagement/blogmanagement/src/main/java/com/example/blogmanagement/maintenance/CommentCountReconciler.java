@@ -0,0 +1,153 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.CommentStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Repairs drift between the stored comment count of each post and the number
+ * of comments that actually exist, e.g. after a failure between inserting a
+ * comment and incrementing the counter.
+ *
+ * Posts are read in batches and the comments of each batch are counted with a
+ * single query of the comment storage. A mismatch is not corrected right away:
+ * a comment that is stored but whose increment has not landed yet (for a
+ * whole batch with group commit) looks exactly like drift. Mismatched posts
+ * are counted again once {@code settle}, longer than any such gap, has
+ * passed, and corrected in one bulk write only if neither the count, the
+ * counter nor {@code commentsUpdatedAt} changed in between. A comment that was
+ * in flight during the first count has then either been counted by the
+ * counter as well or has moved {@code commentsUpdatedAt}; such a post is
+ * simply checked again on the next run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentCountReconciler {
+
+    private final MongoTemplate mongoTemplate;
+    private final CommentStorage commentStorage;
+    private final TieredCache<Post> postCache;
+
+    @Value("${blog.comment-count.reconcile-batch-size:500}")
+    private int batchSize;
+
+    @Value("${blog.comment-count.reconcile-settle:PT1M}")
+    private Duration settle;
+
+    @Scheduled(cron = "${blog.comment-count.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        Query query = new Query();
+        query.fields().include("id", "commentCount", "commentsUpdatedAt");
+        List<Mismatch> mismatches = new ArrayList<>();
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            Iterator<Post> iterator = posts.iterator();
+            List<Post> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    mismatches.addAll(findMismatches(batch));
+                    batch.clear();
+                }
+            }
+        }
+        if (mismatches.isEmpty() || !awaitSettled(mismatches.get(mismatches.size() - 1).countedAt())) {
+            return;
+        }
+        long repaired = 0;
+        for (int from = 0; from < mismatches.size(); from += batchSize) {
+            repaired += repairBatch(mismatches.subList(from, Math.min(from + batchSize, mismatches.size())));
+        }
+        if (repaired > 0) {
+            log.warn("Repaired comment counts of {} posts", repaired);
+        }
+    }
+
+    private List<Mismatch> findMismatches(List<Post> posts) {
+        Map<String, Long> actual = commentStorage.countByPostIds(posts.stream().map(Post::getId).toList());
+        Instant countedAt = Instant.now();
+        List<Mismatch> mismatches = new ArrayList<>();
+        for (Post post : posts) {
+            long count = actual.getOrDefault(post.getId(), 0L);
+            if (count != post.getCommentCount()) {
+                mismatches.add(new Mismatch(post.getId(), post.getCommentCount(), post.getCommentsUpdatedAt(),
+                        count, countedAt));
+            }
+        }
+        return mismatches;
+    }
+
+    private long repairBatch(List<Mismatch> mismatches) {
+        Map<String, Long> actual = commentStorage.countByPostIds(mismatches.stream().map(Mismatch::postId).toList());
+
+        BulkOperations bulk = null;
+        List<String> repaired = new ArrayList<>();
+        for (Mismatch mismatch : mismatches) {
+            if (actual.getOrDefault(mismatch.postId(), 0L) != mismatch.count()) {
+                continue;
+            }
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+            }
+            // Posts written before the counter existed have no field, which reads as 0
+            Criteria unchanged = mismatch.counter() == 0
+                    ? Criteria.where("commentCount").in(0, null)
+                    : Criteria.where("commentCount").is(mismatch.counter());
+            bulk.updateOne(new Query(Criteria.where("id").is(mismatch.postId()).andOperator(unchanged,
+                            Criteria.where("commentsUpdatedAt").is(mismatch.commentsUpdatedAt()))),
+                    new Update().set("commentCount", mismatch.count()));
+            repaired.add(mismatch.postId());
+        }
+        if (bulk == null) {
+            return 0;
+        }
+        long modified = bulk.execute().getModifiedCount();
+        repaired.forEach(postCache::invalidate);
+        return modified;
+    }
+
+    private boolean awaitSettled(Instant countedAt) {
+        Duration remaining = Duration.between(Instant.now(), countedAt.plus(settle));
+        if (remaining.isNegative() || remaining.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(remaining);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * A post whose counter disagreed with the comment storage.
+     *
+     * @param counter comment count stored on the post
+     * @param commentsUpdatedAt time of the post's last comment change, as read with the counter
+     * @param count number of comments found in the storage
+     * @param countedAt time the comments were counted
+     */
+    private record Mismatch(String postId, long counter, LocalDateTime commentsUpdatedAt, long count,
+                            Instant countedAt) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.document.Comment;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives comments written before replies existed their materialized path.
+ * Such comments are all top-level, so their path is their own identifier; it
+ * is computed inside MongoDB with a single pipeline update.
+ * <p>
+ * It also repairs comments stored without timestamps: their identifier was
+ * assigned before insert, which made auditing treat them as existing
+ * documents. The creation time is recovered from the ObjectId.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentPathBackfill {
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingPaths() {
+        Query missing = new Query(Criteria.where("path").exists(false));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("path").toValue(ConvertOperators.valueOf("_id").convertToString())
+                .set("depth").toValue(0);
+        UpdateResult result = mongoTemplate.updateMulti(missing, update, Comment.class);
+        if (result.getModifiedCount() > 0) {
+            log.info("Backfilled paths of {} comments", result.getModifiedCount());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingTimestamps() {
+        Query missing = new Query(Criteria.where("createdAt").is(null));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("createdAt").toValue(ConvertOperators.valueOf("_id").convertToDate())
+                .set("updatedAt").toValue(ConditionalOperators.ifNull("updatedAt")
+                        .then(ConvertOperators.valueOf("_id").convertToDate()));
+        UpdateResult result = mongoTemplate.updateMulti(missing, update, Comment.class);
+        if (result.getModifiedCount() > 0) {
+            log.info("Backfilled creation times of {} comments", result.getModifiedCount());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.repository.RefreshTokenRepository;
+import com.example.blogmanagement.repository.TokenRevocationRepository;
+import com.example.blogmanagement.security.TokenRevocationList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes refresh tokens and revocations whose tokens have expired, so that
+ * both tables and the in-memory revocation list only hold what can still be
+ * presented.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpiredTokenPurger {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationRepository revocationRepository;
+    private final TokenRevocationList revocationList;
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:PT1H}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int refreshTokens = refreshTokenRepository.deleteExpired(now);
+        int revocations = revocationRepository.deleteExpired(now);
+        revocationList.dropExpired();
+        if (refreshTokens > 0 || revocations > 0) {
+            log.info("Purged {} expired refresh tokens and {} expired revocations", refreshTokens, revocations);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.feed.FeedFanout;
+import com.example.blogmanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfills feeds after {@code blog.feed.celebrity-threshold} was raised.
+ * Authors between the old and the new threshold had their posts pulled when
+ * feeds were read and are pushed from now on, so their earlier posts would
+ * otherwise be in no feed. Lowering the threshold needs nothing: posts that
+ * were pushed are merged with the pulled ones when a feed is read.
+ *
+ * The threshold in effect is kept in the {@code feed_settings} collection and
+ * swapped atomically, so only one instance backfills after a change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedThresholdBackfill {
+
+    static final String COLLECTION = "feed_settings";
+    private static final String THRESHOLD_ID = "celebrity-threshold";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final FeedFanout feedFanout;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAfterThresholdChange() {
+        long threshold = feedFanout.celebrityThreshold();
+        Document previous = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(THRESHOLD_ID)),
+                new Update().set("value", threshold), FindAndModifyOptions.options().upsert(true),
+                Document.class, COLLECTION);
+        if (previous == null) {
+            return;
+        }
+        long previousThreshold = previous.get("value", Number.class).longValue();
+        if (previousThreshold >= threshold) {
+            return;
+        }
+        List<Long> authors = userRepository.findIdsWithFollowerCountBetween(previousThreshold, threshold);
+        log.info("Celebrity threshold raised from {} to {}, backfilling the feeds of followers of {} users",
+                previousThreshold, threshold, authors.size());
+        authors.forEach(feedFanout::backfillFollowers);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.blogmanagement.maintenance;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on the MongoDB documents and reports indexes
+ * that exist in the database but are no longer declared. Keyset pagination,
+ * the feeds and the maintenance jobs rely on these indexes, so startup fails
+ * if one of them cannot be created.
+ *
+ * Runs once all singletons are created and before the context starts its
+ * lifecycle beans, so the embedded web server only accepts requests, and the
+ * scheduled jobs only run, once the indexes exist.
+ *
+ * An existing index whose options differ from its declaration (for instance
+ * an index that used to be sparse) fails startup. Dropping it leaves the
+ * collection unindexed until the rebuild finishes, so rebuilding is opt-in
+ * through {@code blog.indexes.replace-conflicting=true}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer implements SmartInitializingSingleton {
+
+    private static final String ID_INDEX = "_id_";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${blog.indexes.replace-conflicting:false}")
+    private boolean replaceConflicting;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<String> failures = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            Map<String, IndexInfo> existing = indexOps.getIndexInfo().stream()
+                    .collect(Collectors.toMap(IndexInfo::getName, Function.identity()));
+            Set<String> declared = new HashSet<>();
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                String name = definition.getIndexOptions().getString("name");
+                declared.add(name);
+                try {
+                    ensure(indexOps, entity.getCollection(), name, definition, existing.get(name));
+                } catch (DataAccessException ex) {
+                    log.error("Could not create index {} on {}: {}", name, entity.getCollection(), ex.getMessage());
+                    failures.add(entity.getCollection() + "." + name);
+                }
+            }
+            existing.keySet().stream()
+                    .filter(name -> !ID_INDEX.equals(name) && !declared.contains(name))
+                    .forEach(name -> log.warn("Index {} on {} is not declared by any document; drop it if unused",
+                            name, entity.getCollection()));
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Missing MongoDB indexes: " + String.join(", ", failures));
+        }
+    }
+
+    private void ensure(IndexOperations indexOps, String collection, String name,
+                        IndexDefinition definition, IndexInfo current) {
+        if (current != null && matches(current, definition)) {
+            return;
+        }
+        if (current != null) {
+            if (!replaceConflicting) {
+                throw new IllegalStateException("Index " + name + " on " + collection
+                        + " differs from its declaration " + definition.getIndexKeys().toJson());
+            }
+            log.info("Rebuilding index {} on {} to match its declaration", name, collection);
+            indexOps.dropIndex(name);
+        } else {
+            log.info("Creating index {} on {}", name, collection);
+        }
+        indexOps.ensureIndex(definition);
+    }
+
+    /**
+     * Whether an existing index has the keys, directions and options of its
+     * declaration, including the partial filter. Filters are compared as
+     * relaxed JSON, which does not tell integer widths apart, because the
+     * server may store a number with a different width than declared.
+     */
+    private static boolean matches(IndexInfo current, IndexDefinition definition) {
+        Document keys = definition.getIndexKeys();
+        Document options = definition.getIndexOptions();
+        List<IndexField> fields = current.getIndexFields();
+        if (current.isUnique() != options.getBoolean("unique", false)
+                || current.isSparse() != options.getBoolean("sparse", false)) {
+            return false;
+        }
+        Document declaredFilter = options.get("partialFilterExpression", Document.class);
+        String currentFilter = current.getPartialFilterExpression();
+        if (!Objects.equals(declaredFilter == null ? null : declaredFilter.toJson(),
+                currentFilter == null ? null : Document.parse(currentFilter).toJson())) {
+            return false;
+        }
+        if (fields.size() != keys.size()) {
+            return false;
+        }
+        int i = 0;
+        for (Map.Entry<String, Object> key : keys.entrySet()) {
+            IndexField field = fields.get(i++);
+            if (!field.getKey().equals(key.getKey())) {
+                return false;
+            }
+            if (key.getValue() instanceof Number direction && field.getDirection() != null
+                    && field.getDirection().isAscending() != direction.intValue() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.document.Post;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in the excerpt of posts written before excerpts were stored. The
+ * excerpt is computed inside MongoDB with a single pipeline update, so no post
+ * content is transferred to the application.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostExcerptBackfill {
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingExcerpts() {
+        Query missing = new Query(Criteria.where("excerpt").exists(false));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("excerpt").toValue(StringOperators.valueOf("content").substringCP(0, Post.EXCERPT_LENGTH));
+        UpdateResult result = mongoTemplate.updateMulti(missing, update, Post.class);
+        if (result.getModifiedCount() > 0) {
+            log.info("Backfilled excerpts of {} posts", result.getModifiedCount());
+        }
+    }
+}
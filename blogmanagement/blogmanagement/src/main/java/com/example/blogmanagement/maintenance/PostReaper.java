@@ -0,0 +1,96 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes the comments of deleted posts in the background, then the post
+ * documents themselves.
+ *
+ * Comments are deleted in bounded batches with a pause in between, so that a
+ * post with a very large number of comments does not monopolize MongoDB. Each
+ * batch decrements the post's comment counter, which therefore shows how much
+ * work is left. All state lives in MongoDB (the tombstoned post and its
+ * remaining comments), so work interrupted by a restart simply resumes on the
+ * next run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostReaper {
+
+    private static final int POSTS_PER_QUERY = 16;
+
+    private final CommentStorage commentStorage;
+    private final PostRepository postRepository;
+    private final TieredCache<Comment> commentCache;
+
+    @Value("${blog.post-reaper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${blog.post-reaper.batch-pause:PT0.05S}")
+    private Duration batchPause;
+
+    @Value("${blog.post-reaper.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${blog.post-reaper.interval:PT5S}")
+    public void reap() {
+        // Bound the work per run so other scheduled jobs get their turn
+        int batches = 0;
+        List<Post> deleted;
+        while (batches < maxBatchesPerRun && !(deleted = postRepository.findDeleted(POSTS_PER_QUERY)).isEmpty()) {
+            for (Post post : deleted) {
+                while (batches < maxBatchesPerRun) {
+                    long removed = deleteCommentBatch(post.getId());
+                    if (removed == 0) {
+                        postRepository.purgeDeleted(post.getId());
+                        log.info("Finished deleting post {}", post.getId());
+                        break;
+                    }
+                    batches++;
+                    if (!pause()) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete up to one batch of comments of a post.
+     *
+     * @return number of comments found for deletion; 0 once the post has none left
+     */
+    private long deleteCommentBatch(String postId) {
+        CommentStorage.Removal removal = commentStorage.deleteBatch(postId, batchSize);
+        if (removal.ids().isEmpty()) {
+            return 0;
+        }
+        postRepository.recordCommentChange(postId, -removal.count(), LocalDateTime.now());
+        removal.ids().forEach(commentCache::invalidate);
+        return removal.ids().size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.blogmanagement.ratelimit;
+
+import com.example.blogmanagement.exception.GlobalExceptionHandler.ApiError;
+import com.example.blogmanagement.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link RateLimiter} to requests. Runs after the JWT filter, so
+ * that authenticated users are limited per user and anonymous clients per IP
+ * address. Behind a proxy, set {@code server.forward-headers-strategy} so the
+ * address is the client's rather than the proxy's.
+ *
+ * Responses to limited routes carry the {@code RateLimit-*} headers of the
+ * IETF draft; refused requests get 429 with {@code Retry-After}. When a
+ * request matches several rules, the headers describe the last one checked.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.PathSupplier path = new RateLimiter.PathSupplier(request);
+        for (RateLimiter.Limit limit : rateLimiter.limits()) {
+            if (!limit.matches(request, path)) {
+                continue;
+            }
+            RateLimiter.Decision decision = rateLimiter.acquire(limit, client(request));
+            response.setHeader("RateLimit-Policy", limit.policy());
+            response.setHeader("RateLimit-Limit", String.valueOf(limit.burst()));
+            response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+            response.setHeader("RateLimit-Reset", String.valueOf(seconds(decision.resetNanos())));
+            if (!decision.allowed()) {
+                reject(request, response, seconds(decision.retryAfterNanos()));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The user's identifier if the request is authenticated, otherwise the
+     * address it came from. The two have different types, so they never
+     * share a bucket.
+     */
+    private static Object client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfter) throws IOException {
+        ApiError error = new ApiError(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Too many requests, please retry in " + retryAfter + " seconds",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Rounded up, so that a client waiting this long is allowed
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
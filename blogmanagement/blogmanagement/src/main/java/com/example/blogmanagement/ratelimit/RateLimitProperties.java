@@ -0,0 +1,42 @@
+package com.example.blogmanagement.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rate limits per route, bound from {@code blog.rate-limit}.
+ *
+ * @param enabled whether requests are limited at all
+ * @param maxClients most buckets kept in memory; the least recently used
+ *                   are dropped first, which resets their clients' limits
+ * @param rules limited routes; a request counts against every rule it matches
+ */
+@ConfigurationProperties(prefix = "blog.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("100000") long maxClients,
+                                  @DefaultValue List<Rule> rules) {
+
+    /**
+     * A limit of {@code limit} requests per {@code period} and client, of
+     * which up to {@code burst} may arrive at once.
+     *
+     * @param name name of the rule, used in metrics
+     * @param method HTTP method of the route; any method if not set
+     * @param path path pattern of the route, such as {@code /api/posts/*}
+     * @param param only requests with this query parameter match; any if not set
+     * @param limit requests per period
+     * @param period length of the period
+     * @param burst requests allowed back to back; {@code limit} if not set
+     */
+    public record Rule(String name,
+                       String method,
+                       String path,
+                       String param,
+                       int limit,
+                       Duration period,
+                       Integer burst) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.blogmanagement.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per rule and client, implemented with the generic cell rate
+ * algorithm (GCRA).
+ *
+ * A bucket is a single {@link AtomicLong} holding the theoretical arrival
+ * time of the next request: each allowed request pushes it one emission
+ * interval ({@code period / limit}) further, and a request is refused while
+ * it lies more than the burst tolerance ahead of now. Taking a token is one
+ * compare-and-set, so concurrent requests of a client never block each other,
+ * and no timer refills the buckets. A bucket left alone for a full period is
+ * back to full capacity, which is exactly when it may be evicted.
+ */
+@Component
+public class RateLimiter {
+
+    // Arrival times are relative to this, so they start at zero and stay positive
+    private final long origin = System.nanoTime();
+    private final List<Limit> limits;
+    private final Cache<Key, AtomicLong> buckets;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.limits = properties.enabled()
+                ? properties.rules().stream().map(rule -> Limit.of(rule, meterRegistry)).toList()
+                : List.of();
+        long refillNanos = limits.stream().mapToLong(limit -> limit.tolerance() + limit.interval()).max().orElse(1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(Duration.ofNanos(refillNanos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+    }
+
+    /**
+     * Configured limits, in the order of the rules.
+     */
+    public List<Limit> limits() {
+        return limits;
+    }
+
+    /**
+     * Take a token from the client's bucket for the given limit.
+     *
+     * @param limit the limit the request matched
+     * @param client identifies the client; equal values share a bucket
+     * @return whether the request is allowed, and the state of the bucket
+     */
+    public Decision acquire(Limit limit, Object client) {
+        AtomicLong bucket = buckets.get(new Key(limit.name(), client), key -> new AtomicLong());
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long arrival = bucket.get();
+            long ahead = Math.max(arrival - now, 0);
+            if (ahead > limit.tolerance()) {
+                limit.rejected().increment();
+                return new Decision(false, 0, ahead, ahead - limit.tolerance());
+            }
+            long next = now + ahead + limit.interval();
+            if (bucket.compareAndSet(arrival, next)) {
+                long remaining = (limit.tolerance() + limit.interval() - (next - now)) / limit.interval();
+                return new Decision(true, remaining, next - now, 0);
+            }
+        }
+    }
+
+    /**
+     * A compiled rule.
+     *
+     * @param interval emission interval in nanoseconds
+     * @param tolerance how far ahead of now the arrival time may be, in nanoseconds
+     * @param policy value of the {@code RateLimit-Policy} header
+     */
+    public record Limit(String name, String method, PathPattern path, String param, int burst,
+                        long interval, long tolerance, String policy, Counter rejected) {
+
+        static Limit of(RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+            if (rule.limit() <= 0 || rule.period() == null || rule.period().isZero()) {
+                throw new IllegalArgumentException("Rate limit rule " + rule.name() + " needs a positive limit and period");
+            }
+            int burst = rule.burst() != null ? rule.burst() : rule.limit();
+            long interval = rule.period().toNanos() / rule.limit();
+            return new Limit(rule.name(),
+                    rule.method(),
+                    PathPatternParser.defaultInstance.parse(rule.path()),
+                    rule.param(),
+                    burst,
+                    interval,
+                    interval * (burst - 1),
+                    rule.limit() + ";w=" + rule.period().toSeconds(),
+                    Counter.builder("blog.rate_limit.rejected")
+                            .description("Requests refused by a rate limit")
+                            .tag("rule", rule.name())
+                            .register(meterRegistry));
+        }
+
+        /**
+         * Whether the request falls under this limit. The cheap checks come
+         * first, so most requests are ruled out without parsing their path.
+         *
+         * @param path the request path, parsed by the caller on first use
+         */
+        public boolean matches(HttpServletRequest request, PathSupplier path) {
+            return (method == null || method.equalsIgnoreCase(request.getMethod()))
+                    && (param == null || request.getParameter(param) != null)
+                    && this.path.matches(path.get());
+        }
+    }
+
+    /**
+     * Supplies the request path, parsing it at most once per request.
+     */
+    public static final class PathSupplier {
+
+        private final HttpServletRequest request;
+        private PathContainer path;
+
+        public PathSupplier(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        PathContainer get() {
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI());
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Outcome of taking a token.
+     *
+     * @param remaining requests still allowed back to back
+     * @param resetNanos time until the bucket is full again
+     * @param retryAfterNanos time until the next request is allowed; zero if allowed
+     */
+    public record Decision(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+
+    private record Key(String limit, Object client) {
+    }
+}
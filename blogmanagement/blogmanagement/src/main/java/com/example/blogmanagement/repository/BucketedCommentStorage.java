@@ -0,0 +1,414 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.CommentBucket;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Stores the comments of a post in {@link CommentBucket} documents of up to
+ * {@code blog.comments.bucket-size} comments each. See {@link CommentStorage}.
+ *
+ * Appending a comment is a single update of the post's open bucket; only
+ * when that bucket is full is it closed and the next one opened. A page by
+ * offset is located from the comment counts of the buckets, read from the
+ * (postId, seq, count) index alone, and then read from the one or two
+ * buckets it spans. A page after a cursor starts at the bucket holding the
+ * cursor's comment, found through the index on the comment identifiers.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comments.storage", havingValue = "bucketed")
+public class BucketedCommentStorage implements CommentStorage {
+
+    /** Writes lost to concurrent appends before giving up. */
+    private static final int MAX_CONFLICTS = 16;
+
+    private final MongoTemplate mongoTemplate;
+    private final int bucketSize;
+
+    public BucketedCommentStorage(MongoTemplate mongoTemplate,
+                                  @Value("${blog.comments.bucket-size:100}") int bucketSize) {
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException("blog.comments.bucket-size must be at least 1");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.bucketSize = bucketSize;
+    }
+
+    public int bucketSize() {
+        return bucketSize;
+    }
+
+    @Override
+    public boolean supportsThreads() {
+        return false;
+    }
+
+    @Override
+    public Comment insert(Comment comment) {
+        append(comment.getPostId(), List.of(entryOf(comment)));
+        return comment;
+    }
+
+    @Override
+    public Map<Integer, String> insertAll(List<Comment> comments) {
+        Map<String, List<Integer>> indexesByPost = new LinkedHashMap<>();
+        for (int i = 0; i < comments.size(); i++) {
+            indexesByPost.computeIfAbsent(comments.get(i).getPostId(), postId -> new ArrayList<>()).add(i);
+        }
+        Map<Integer, String> failed = new HashMap<>();
+        indexesByPost.forEach((postId, indexes) -> {
+            try {
+                append(postId, indexes.stream().map(i -> entryOf(comments.get(i))).toList());
+            } catch (DataAccessException | IllegalStateException ex) {
+                // Some of the comments of the post may have been stored before the failure
+                indexes.forEach(i -> failed.put(i, ex.getMessage()));
+            }
+        });
+        return failed;
+    }
+
+    @Override
+    public Optional<Comment> findById(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Optional.empty();
+        }
+        Query query = new Query(byCommentId(id));
+        query.fields().include("postId").position("comments", 1);
+        CommentBucket bucket = mongoTemplate.findOne(query, CommentBucket.class);
+        if (bucket == null || bucket.getComments() == null || bucket.getComments().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(toComment(bucket.getPostId(), bucket.getComments().get(0)));
+    }
+
+    @Override
+    public Comment updateContent(Comment comment) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.updateFirst(new Query(byCommentId(comment.getId())),
+                new Update().set("comments.$.content", comment.getContent()).set("comments.$.updatedAt", now),
+                CommentBucket.class);
+        comment.setUpdatedAt(now);
+        return comment;
+    }
+
+    @Override
+    public Removal delete(Comment comment) {
+        long removed = mongoTemplate.updateFirst(new Query(byCommentId(comment.getId())),
+                new Update().pull("comments", new Document("_id", new ObjectId(comment.getId()))).inc("count", -1),
+                CommentBucket.class).getModifiedCount();
+        return new Removal(List.of(comment.getId()), removed);
+    }
+
+    @Override
+    public Page<Comment> findByPostId(String postId, Pageable pageable) {
+        List<CommentBucket> summaries = mongoTemplate.find(summaryQuery(postId), CommentBucket.class);
+        long total = summaries.stream().mapToLong(CommentBucket::getCount).sum();
+        List<Comment> content = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        for (CommentBucket summary : summaries) {
+            if (content.size() == pageable.getPageSize()) {
+                break;
+            }
+            if (skip >= summary.getCount()) {
+                skip -= summary.getCount();
+                continue;
+            }
+            int limit = (int) Math.min(summary.getCount() - skip, pageable.getPageSize() - content.size());
+            Query slice = new Query(Criteria.where("postId").is(postId).and("seq").is(summary.getSeq()));
+            slice.fields().slice("comments", (int) skip, limit);
+            CommentBucket bucket = mongoTemplate.findOne(slice, CommentBucket.class);
+            if (bucket != null) {
+                entries(bucket).forEach(entry -> content.add(toComment(postId, entry)));
+            }
+            skip = 0;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<Comment> findByPostIdAfter(String postId, PageCursor after, int limit) {
+        Query query = new Query(Criteria.where("postId").is(postId));
+        String afterId = null;
+        if (after != null && ObjectId.isValid(after.id())) {
+            CommentBucket holder = mongoTemplate.findOne(holderQuery(postId, after.id()), CommentBucket.class);
+            if (holder != null) {
+                query.addCriteria(Criteria.where("seq").gte(holder.getSeq()));
+                afterId = after.id();
+            }
+        }
+        // Buckets are read one or two at a time, as far as the page reaches
+        query.with(Sort.by(Sort.Direction.ASC, "seq")).cursorBatchSize(2);
+        List<Comment> page = new ArrayList<>(limit);
+        boolean skipping = after != null;
+        try (Stream<CommentBucket> buckets = mongoTemplate.stream(query, CommentBucket.class)) {
+            for (CommentBucket bucket : (Iterable<CommentBucket>) buckets::iterator) {
+                for (CommentBucket.Entry entry : entries(bucket)) {
+                    if (skipping) {
+                        // Without a holder (the cursor's comment was deleted), skip by position in time
+                        skipping = afterId != null
+                                ? !entry.getId().equals(afterId)
+                                : !isAfter(entry, after);
+                        if (afterId != null || skipping) {
+                            continue;
+                        }
+                    }
+                    page.add(toComment(postId, entry));
+                    if (page.size() == limit) {
+                        return page;
+                    }
+                }
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public long countByPostId(String postId) {
+        return mongoTemplate.find(summaryQuery(postId), CommentBucket.class).stream()
+                .mapToLong(CommentBucket::getCount)
+                .sum();
+    }
+
+    @Override
+    public Map<String, Long> countByPostIds(Collection<String> postIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("postId").in(postIds)),
+                Aggregation.group("postId").sum("count").as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document result : mongoTemplate.aggregate(aggregation, CommentBucket.class, Document.class)) {
+            long count = ((Number) result.get("count")).longValue();
+            if (count > 0) {
+                counts.put(result.getString("_id"), count);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public Removal deleteBatch(String postId, int batchSize) {
+        Query query = new Query(Criteria.where("postId").is(postId))
+                .with(Sort.by(Sort.Direction.ASC, "seq"))
+                .limit(Math.max(1, batchSize / bucketSize));
+        query.fields().include("count", "comments._id");
+        while (true) {
+            List<CommentBucket> buckets = mongoTemplate.find(query, CommentBucket.class);
+            if (buckets.isEmpty()) {
+                return new Removal(List.of(), 0);
+            }
+            mongoTemplate.remove(new Query(Criteria.where("id").in(buckets.stream().map(CommentBucket::getId).toList())),
+                    CommentBucket.class);
+            List<String> ids = buckets.stream()
+                    .flatMap(bucket -> entries(bucket).stream())
+                    .map(CommentBucket.Entry::getId)
+                    .toList();
+            // Buckets emptied by deletes are dropped without counting as a batch
+            if (!ids.isEmpty()) {
+                return new Removal(ids, buckets.stream().mapToLong(CommentBucket::getCount).sum());
+            }
+        }
+    }
+
+    @Override
+    public Stream<Comment> streamByPostIds(Collection<String> postIds, int batchSize) {
+        Query query = new Query(Criteria.where("postId").in(postIds))
+                .with(Sort.by(Sort.Direction.ASC, "postId", "seq"))
+                .cursorBatchSize(Math.max(1, batchSize / bucketSize));
+        return mongoTemplate.stream(query, CommentBucket.class)
+                .flatMap(bucket -> entries(bucket).stream().map(entry -> toComment(bucket.getPostId(), entry)));
+    }
+
+    /**
+     * Append comments to a post, filling its open bucket and opening new ones
+     * as needed. Concurrent appends to the same post are resolved by retrying
+     * whichever write lost.
+     */
+    private void append(String postId, List<CommentBucket.Entry> entries) {
+        int next = 0;
+        int conflicts = 0;
+        while (next < entries.size()) {
+            List<CommentBucket.Entry> rest = entries.subList(next, entries.size());
+            int appended = 0;
+            if (rest.size() == 1) {
+                // Common case: a single comment fits in any open bucket that is not full
+                if (push(openBucket(postId).and("count").lt(bucketSize), rest)) {
+                    appended = 1;
+                }
+            } else {
+                CommentBucket open = mongoTemplate.findOne(openBucketQuery(postId), CommentBucket.class);
+                if (open != null && open.getCount() < bucketSize) {
+                    int room = Math.min(bucketSize - open.getCount(), rest.size());
+                    if (push(Criteria.where("id").is(open.getId()).and("open").is(true).and("count").is(open.getCount()),
+                            rest.subList(0, room))) {
+                        appended = room;
+                    } else {
+                        conflicts++;
+                    }
+                    next += appended;
+                    checkConflicts(postId, conflicts);
+                    continue;
+                }
+            }
+            if (appended == 0) {
+                appended = openNext(postId, rest.subList(0, Math.min(bucketSize, rest.size())));
+                if (appended == 0) {
+                    conflicts++;
+                }
+            }
+            next += appended;
+            checkConflicts(postId, conflicts);
+        }
+    }
+
+    /**
+     * Append comments to the bucket matched by the criteria, in one update.
+     *
+     * @return whether a bucket matched
+     */
+    private boolean push(Criteria bucket, List<CommentBucket.Entry> entries) {
+        List<Document> documents = entries.stream().map(this::toDocument).toList();
+        // $literal keeps content such as "$5" from being read as a field path
+        Document set = new Document("comments", new Document("$concatArrays", List.of(
+                new Document("$ifNull", List.of("$comments", List.of())),
+                new Document("$literal", documents))))
+                .append("count", new Document("$add", List.of("$count", entries.size())));
+        AggregationOperation stage = context -> new Document("$set", set);
+        return mongoTemplate.updateFirst(new Query(bucket), AggregationUpdate.from(List.of(stage)),
+                CommentBucket.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Close the post's open bucket if it is full, and open the next bucket
+     * with the given comments.
+     *
+     * @return number of comments appended; 0 if another bucket was opened concurrently
+     */
+    private int openNext(String postId, List<CommentBucket.Entry> entries) {
+        mongoTemplate.updateFirst(new Query(openBucket(postId).and("count").gte(bucketSize)),
+                new Update().unset("open"), CommentBucket.class);
+        Query last = new Query(Criteria.where("postId").is(postId))
+                .with(Sort.by(Sort.Direction.DESC, "seq"))
+                .limit(1);
+        last.fields().include("seq");
+        CommentBucket previous = mongoTemplate.findOne(last, CommentBucket.class);
+        CommentBucket bucket = CommentBucket.builder()
+                .postId(postId)
+                .seq(previous == null ? 0 : Math.max(previous.getSeq() + 1, 0))
+                .count(entries.size())
+                .open(true)
+                .comments(entries)
+                .build();
+        try {
+            mongoTemplate.insert(bucket);
+            return entries.size();
+        } catch (DuplicateKeyException ex) {
+            return 0;
+        }
+    }
+
+    private void checkConflicts(String postId, int conflicts) {
+        if (conflicts > MAX_CONFLICTS) {
+            throw new IllegalStateException("Too many concurrent writes to the comments of post " + postId);
+        }
+    }
+
+    private Document toDocument(CommentBucket.Entry entry) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(entry, document);
+        document.remove("_class");
+        return document;
+    }
+
+    // Query builders, shared with QueryPlanTest
+
+    static Criteria openBucket(String postId) {
+        return Criteria.where("postId").is(postId).and("open").is(true);
+    }
+
+    static Query openBucketQuery(String postId) {
+        Query query = new Query(openBucket(postId));
+        query.fields().include("id", "seq", "count");
+        return query;
+    }
+
+    static Query summaryQuery(String postId) {
+        Query query = new Query(Criteria.where("postId").is(postId)).with(Sort.by(Sort.Direction.ASC, "seq"));
+        query.fields().include("seq", "count").exclude("id");
+        return query;
+    }
+
+    static Query holderQuery(String postId, String commentId) {
+        Query query = new Query(Criteria.where("postId").is(postId).andOperator(byCommentId(commentId)));
+        query.fields().include("seq");
+        return query;
+    }
+
+    private static Criteria byCommentId(String id) {
+        return Criteria.where("comments._id").is(new ObjectId(id));
+    }
+
+    /**
+     * Whether an entry comes after the cursor in (createdAt, id) order.
+     */
+    private static boolean isAfter(CommentBucket.Entry entry, PageCursor cursor) {
+        int byTime = entry.getCreatedAt().compareTo(cursor.createdAt());
+        return byTime > 0 || byTime == 0 && entry.getId().compareTo(cursor.id()) > 0;
+    }
+
+    private static List<CommentBucket.Entry> entries(CommentBucket bucket) {
+        return Objects.requireNonNullElse(bucket.getComments(), List.of());
+    }
+
+    /**
+     * Bucket entry holding a comment; also used by the migration.
+     */
+    public static CommentBucket.Entry entryOf(Comment comment) {
+        return CommentBucket.Entry.builder()
+                .id(comment.getId())
+                .authorId(comment.getAuthorId())
+                .parentId(comment.getParentId())
+                .content(comment.getContent())
+                .createdAt(comment.getCreatedAt())
+                .updatedAt(comment.getUpdatedAt())
+                .build();
+    }
+
+    private static Comment toComment(String postId, CommentBucket.Entry entry) {
+        return Comment.builder()
+                .id(entry.getId())
+                .postId(postId)
+                .parentId(entry.getParentId())
+                .authorId(entry.getAuthorId())
+                .content(entry.getContent())
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .build();
+    }
+}
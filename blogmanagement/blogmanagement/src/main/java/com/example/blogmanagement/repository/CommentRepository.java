@@ -8,7 +8,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 /**
  * Repository for performing CRUD operations on Comment documents stored in MongoDB.
  */
-public interface CommentRepository extends MongoRepository<Comment, String> {
+public interface CommentRepository extends MongoRepository<Comment, String>, CommentRepositoryCustom {
 
     /**
      * Find all comments belonging to a specific post.
@@ -20,10 +20,10 @@ public interface CommentRepository extends MongoRepository<Comment, String> {
     Page<Comment> findByPostId(String postId, Pageable pageable);
 
     /**
-     * Delete all comments associated with a post. This method is used when
-     * cascading a delete operation from a post to its comments.
+     * Count the comments belonging to a specific post.
      *
-     * @param postId identifier of the post whose comments should be deleted
+     * @param postId identifier of the post
+     * @return number of comments on the post
      */
-    void deleteByPostId(String postId);
+    long countByPostId(String postId);
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Comment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom queries on comments that cannot be expressed as derived query
+ * methods. Implemented by {@link CommentRepositoryCustomImpl}.
+ */
+public interface CommentRepositoryCustom {
+
+    /**
+     * Fetch the comments of a post that follow the given cursor, oldest first.
+     * The query seeks through the (postId, createdAt, _id) index instead of
+     * skipping over earlier comments.
+     *
+     * @param postId identifier of the post
+     * @param after position of the last comment already returned, or null for the first page
+     * @param limit maximum number of comments to return
+     * @return comments ordered by createdAt ascending, then id ascending
+     */
+    List<Comment> findByPostIdAfter(String postId, PageCursor after, int limit);
+
+    /**
+     * Fetch the descendants of a comment in thread order (depth first, each
+     * level oldest first), as one range scan of the (postId, path) index.
+     *
+     * @param root the comment whose replies are listed
+     * @param after path of the last reply already returned, or null for the first page
+     * @param maxDepth maximum nesting below the root to include, or null for all levels
+     * @param limit maximum number of replies to return
+     * @return replies ordered by path
+     */
+    List<Comment> findRepliesAfter(Comment root, String after, Integer maxDepth, int limit);
+
+    /**
+     * Count all descendants of a comment, as one range count of the
+     * (postId, path) index.
+     *
+     * @param root the comment whose replies are counted
+     * @return number of replies at any depth
+     */
+    long countReplies(Comment root);
+
+    /**
+     * Fetch the top-level comments of a post in thread order.
+     *
+     * @param postId identifier of the post
+     * @param after path of the last comment already returned, or null for the first page
+     * @param limit maximum number of comments to return
+     * @return top-level comments ordered by path
+     */
+    List<Comment> findTopLevelAfter(String postId, String after, int limit);
+
+    /**
+     * Count the replies of several top-level comments and fetch the first of
+     * them, with a single aggregation over one range of the (postId, path)
+     * index spanning all their subtrees.
+     *
+     * @param postId identifier of the post
+     * @param roots top-level comments of the post, ordered by path
+     * @param replies maximum number of replies to return per comment
+     * @return previews keyed by the identifier of the top-level comment; comments without replies are absent
+     */
+    Map<String, ReplyPreview> findReplyPreviews(String postId, List<Comment> roots, int replies);
+
+    /**
+     * Identifiers of a comment and all its descendants.
+     *
+     * @param root the root of the subtree
+     * @return identifiers in thread order, starting with the root
+     */
+    List<String> findSubtreeIds(Comment root);
+
+    /**
+     * Replies shown beneath a top-level comment.
+     *
+     * @param replyCount number of replies at any depth
+     * @param replies the first replies in thread order
+     */
+    record ReplyPreview(long replyCount, List<Comment> replies) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Comment;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MongoTemplate-backed implementation of {@link CommentRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    /** Length of a path segment: the hexadecimal form of an ObjectId. */
+    private static final int ROOT_SEGMENT_LENGTH = 24;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Comment> findByPostIdAfter(String postId, PageCursor after, int limit) {
+        return mongoTemplate.find(postPageAfterQuery(postId, after, limit), Comment.class);
+    }
+
+    @Override
+    public List<Comment> findRepliesAfter(Comment root, String after, Integer maxDepth, int limit) {
+        return mongoTemplate.find(repliesAfterQuery(root, after, maxDepth, limit), Comment.class);
+    }
+
+    @Override
+    public long countReplies(Comment root) {
+        return mongoTemplate.count(repliesAfterQuery(root, null, null, 0), Comment.class);
+    }
+
+    @Override
+    public List<Comment> findTopLevelAfter(String postId, String after, int limit) {
+        return mongoTemplate.find(topLevelAfterQuery(postId, after, limit), Comment.class);
+    }
+
+    @Override
+    public Map<String, ReplyPreview> findReplyPreviews(String postId, List<Comment> roots, int replies) {
+        Map<String, ReplyPreview> previews = new HashMap<>();
+        if (roots.isEmpty()) {
+            return previews;
+        }
+        // Group by the first path segment, which is the top-level comment. The
+        // preceding sort makes $firstN keep the first replies in thread order.
+        Document group = new Document("_id", new Document("$substrBytes", List.of("$path", 0, ROOT_SEGMENT_LENGTH)))
+                .append("replyCount", new Document("$sum", 1));
+        if (replies > 0) {
+            group.append("replies", new Document("$firstN", new Document("input", "$$ROOT").append("n", replies)));
+        }
+        AggregationOperation groupStage = context -> new Document("$group", group);
+        TypedAggregation<Comment> aggregation = Aggregation.newAggregation(Comment.class,
+                Aggregation.match(previewCriteria(postId, roots)),
+                Aggregation.sort(Sort.Direction.ASC, "path"),
+                groupStage);
+        for (Document result : mongoTemplate.aggregate(aggregation, Document.class)) {
+            List<Comment> first = result.getList("replies", Document.class, List.of()).stream()
+                    .map(document -> mongoTemplate.getConverter().read(Comment.class, document))
+                    .toList();
+            previews.put(result.getString("_id"),
+                    new ReplyPreview(((Number) result.get("replyCount")).longValue(), first));
+        }
+        return previews;
+    }
+
+    @Override
+    public List<String> findSubtreeIds(Comment root) {
+        Query query = new Query(Criteria.where("postId").is(root.getPostId())
+                .and("path").gte(root.getPath()).lt(root.getPath() + Comment.SUBTREE_END))
+                .with(Sort.by(Sort.Direction.ASC, "path"));
+        query.fields().include("id");
+        return mongoTemplate.find(query, Comment.class).stream().map(Comment::getId).toList();
+    }
+
+    /**
+     * Query of {@link #findRepliesAfter}, shared with QueryPlanTest.
+     */
+    static Query repliesAfterQuery(Comment root, String after, Integer maxDepth, int limit) {
+        Criteria criteria = Criteria.where("postId").is(root.getPostId())
+                .and("path").gt(after != null ? after : root.getPath()).lt(root.getPath() + Comment.SUBTREE_END);
+        if (maxDepth != null) {
+            criteria.and("depth").lte(root.getDepth() + maxDepth);
+        }
+        return new Query(criteria).with(Sort.by(Sort.Direction.ASC, "path")).limit(limit);
+    }
+
+    /**
+     * Query of {@link #findTopLevelAfter}, shared with QueryPlanTest.
+     */
+    static Query topLevelAfterQuery(String postId, String after, int limit) {
+        Criteria criteria = Criteria.where("postId").is(postId).and("depth").is(0);
+        if (after != null) {
+            criteria.and("path").gt(after);
+        }
+        return new Query(criteria).with(Sort.by(Sort.Direction.ASC, "path")).limit(limit);
+    }
+
+    /**
+     * Filter of {@link #findReplyPreviews}: every reply from the first to the
+     * last subtree, which are contiguous in path order. Top-level comments in
+     * the range are excluded by depth.
+     */
+    static Criteria previewCriteria(String postId, List<Comment> roots) {
+        return Criteria.where("postId").is(postId)
+                .and("path").gt(roots.get(0).getPath()).lt(roots.get(roots.size() - 1).getPath() + Comment.SUBTREE_END)
+                .and("depth").gte(1);
+    }
+
+    /**
+     * Query of {@link #findByPostIdAfter}, shared with QueryPlanTest. The
+     * redundant lower bound on createdAt gives the index scan a start key.
+     */
+    static Query postPageAfterQuery(String postId, PageCursor after, int limit) {
+        Query query = new Query(Criteria.where("postId").is(postId));
+        if (after != null) {
+            query.addCriteria(Criteria.where("createdAt").gte(after.createdAt()));
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").gt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("id").gt(after.id())));
+        }
+        return query.with(Sort.by(Sort.Direction.ASC, "createdAt", "id")).limit(limit);
+    }
+}
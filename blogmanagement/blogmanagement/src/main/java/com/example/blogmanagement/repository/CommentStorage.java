@@ -0,0 +1,107 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Comment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage layout of comments, selected per deployment with
+ * {@code blog.comments.storage}:
+ * <ul>
+ *   <li>{@code document} (default): one document per comment in the
+ *   {@code comments} collection, see {@link DocumentCommentStorage}. Supports
+ *   threaded replies.</li>
+ *   <li>{@code bucketed}: the comments of a post are grouped into fixed-size
+ *   bucket documents, see {@link BucketedCommentStorage}. Reading a page of
+ *   a post with many comments touches one or two documents instead of one per
+ *   comment, but replies are not supported.</li>
+ * </ul>
+ * Comments of a post are always returned oldest first.
+ */
+public interface CommentStorage {
+
+    /**
+     * Whether comments can reply to other comments. Only the document layout
+     * stores the materialized paths that replies rely on.
+     */
+    boolean supportsThreads();
+
+    /**
+     * Store a new comment. The comment's identifier and timestamps must
+     * already be assigned.
+     *
+     * @return the stored comment
+     */
+    Comment insert(Comment comment);
+
+    /**
+     * Store a batch of new comments, as few writes as the layout allows.
+     * Comments that cannot be stored do not prevent the others from being
+     * stored.
+     *
+     * @return error message by index of each comment that could not be stored
+     */
+    Map<Integer, String> insertAll(List<Comment> comments);
+
+    Optional<Comment> findById(String id);
+
+    /**
+     * Write the content of an existing comment and bump its update time.
+     *
+     * @return the updated comment
+     */
+    Comment updateContent(Comment comment);
+
+    /**
+     * Delete a comment, along with its replies if the layout supports them.
+     */
+    Removal delete(Comment comment);
+
+    /**
+     * Fetch a page of the comments of a post by offset. The sort of the
+     * pageable is ignored.
+     */
+    Page<Comment> findByPostId(String postId, Pageable pageable);
+
+    /**
+     * Fetch the comments of a post that follow the given cursor.
+     *
+     * @param after position of the last comment already returned, or null for the first page
+     */
+    List<Comment> findByPostIdAfter(String postId, PageCursor after, int limit);
+
+    long countByPostId(String postId);
+
+    /**
+     * Count the comments of several posts with one query.
+     *
+     * @return number of comments by post identifier; posts without comments are absent
+     */
+    Map<String, Long> countByPostIds(Collection<String> postIds);
+
+    /**
+     * Delete up to about one batch of the comments of a post.
+     */
+    Removal deleteBatch(String postId, int batchSize);
+
+    /**
+     * Stream the comments of several posts, grouped by post in ascending post
+     * identifier order. The stream must be closed.
+     */
+    Stream<Comment> streamByPostIds(Collection<String> postIds, int batchSize);
+
+    /**
+     * Comments removed by a delete.
+     *
+     * @param ids identifiers of the comments that were found for deletion
+     * @param count number of comments actually deleted
+     */
+    record Removal(List<String> ids, long count) {
+    }
+}
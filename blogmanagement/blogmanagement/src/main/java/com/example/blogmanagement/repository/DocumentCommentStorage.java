@@ -0,0 +1,129 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Comment;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * One document per comment in the {@code comments} collection, the original
+ * layout. See {@link CommentStorage}.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comments.storage", havingValue = "document", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DocumentCommentStorage implements CommentStorage {
+
+    private final CommentRepository commentRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean supportsThreads() {
+        return true;
+    }
+
+    @Override
+    public Comment insert(Comment comment) {
+        return commentRepository.insert(comment);
+    }
+
+    @Override
+    public Map<Integer, String> insertAll(List<Comment> comments) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class).insert(comments).execute();
+            return Map.of();
+        } catch (BulkOperationException ex) {
+            Map<Integer, String> failed = new HashMap<>();
+            for (BulkWriteError error : ex.getErrors()) {
+                failed.put(error.getIndex(), error.getMessage());
+            }
+            return failed;
+        }
+    }
+
+    @Override
+    public Optional<Comment> findById(String id) {
+        return commentRepository.findById(id);
+    }
+
+    @Override
+    public Comment updateContent(Comment comment) {
+        return commentRepository.save(comment);
+    }
+
+    @Override
+    public Removal delete(Comment comment) {
+        // Replies are removed along with the comment they reply to
+        List<String> subtree = commentRepository.findSubtreeIds(comment);
+        long removed = mongoTemplate.remove(new Query(Criteria.where("id").in(subtree)), Comment.class)
+                .getDeletedCount();
+        return new Removal(subtree, removed);
+    }
+
+    @Override
+    public Page<Comment> findByPostId(String postId, Pageable pageable) {
+        return commentRepository.findByPostId(postId, PageRequest.of(pageable.getPageNumber(),
+                pageable.getPageSize(), Sort.by(Sort.Direction.ASC, "createdAt")));
+    }
+
+    @Override
+    public List<Comment> findByPostIdAfter(String postId, PageCursor after, int limit) {
+        return commentRepository.findByPostIdAfter(postId, after, limit);
+    }
+
+    @Override
+    public long countByPostId(String postId) {
+        return commentRepository.countByPostId(postId);
+    }
+
+    @Override
+    public Map<String, Long> countByPostIds(Collection<String> postIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("postId").in(postIds)),
+                Aggregation.group("postId").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document result : mongoTemplate.aggregate(aggregation, Comment.class, Document.class)) {
+            counts.put(result.getString("_id"), ((Number) result.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public Removal deleteBatch(String postId, int batchSize) {
+        Query batch = new Query(Criteria.where("postId").is(postId)).limit(batchSize);
+        batch.fields().include("id");
+        List<String> ids = mongoTemplate.find(batch, Comment.class).stream().map(Comment::getId).toList();
+        if (ids.isEmpty()) {
+            return new Removal(ids, 0);
+        }
+        long removed = mongoTemplate.remove(new Query(Criteria.where("id").in(ids)), Comment.class).getDeletedCount();
+        return new Removal(ids, removed);
+    }
+
+    @Override
+    public Stream<Comment> streamByPostIds(Collection<String> postIds, int batchSize) {
+        Query query = new Query(Criteria.where("postId").in(postIds))
+                .with(Sort.by(Sort.Direction.ASC, "postId", "createdAt", "id"))
+                .cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Comment.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.entity.Follow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for the follow relationships between users.
+ */
+public interface FollowRepository extends JpaRepository<Follow, Long> {
+
+    /**
+     * Check whether one user follows another.
+     */
+    boolean existsByFollowerIdAndFolloweeId(Long followerId, Long followeeId);
+
+    /**
+     * Remove a follow relationship.
+     *
+     * @return number of removed rows, 0 or 1
+     */
+    @Modifying
+    @Query("delete from Follow f where f.followerId = :followerId and f.followeeId = :followeeId")
+    int deleteFollow(@Param("followerId") Long followerId, @Param("followeeId") Long followeeId);
+
+    /**
+     * Fetch the next batch of followers of a user in identifier order, for
+     * walking large follower lists with keyset pagination.
+     *
+     * @param followeeId the user being followed
+     * @param after last follower ID of the previous batch; 0 for the first batch
+     * @param limit batch size, as the page size of a pageable
+     * @return follower IDs in ascending order
+     */
+    @Query("select f.followerId from Follow f where f.followeeId = :followeeId and f.followerId > :after "
+            + "order by f.followerId")
+    List<Long> findFollowerIdsAfter(@Param("followeeId") Long followeeId, @Param("after") Long after,
+                                    Pageable limit);
+
+    /**
+     * Find the users with at least the given number of followers that a user
+     * follows. Their posts are not pushed into feeds and have to be pulled.
+     *
+     * @param followerId the following user
+     * @param threshold minimum follower count
+     * @return IDs of the followed users above the threshold
+     */
+    @Query("select u.id from Follow f join User u on u.id = f.followeeId "
+            + "where f.followerId = :followerId and u.followerCount >= :threshold")
+    List<Long> findFolloweeIdsWithFollowersAtLeast(@Param("followerId") Long followerId,
+                                                  @Param("threshold") long threshold);
+}
@@ -0,0 +1,70 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last element of a page in keyset pagination. Documents are
+ * ordered by creation timestamp with the document ID as a tie breaker, so the
+ * pair uniquely identifies where the next page starts. Clients only ever see
+ * the encoded, opaque form.
+ *
+ * @param createdAt creation timestamp of the last element returned
+ * @param id identifier of the last element returned
+ */
+public record PageCursor(LocalDateTime createdAt, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encode the cursor into an opaque URL-safe token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}.
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed cursor", ex);
+        }
+    }
+
+    /**
+     * Decode a client supplied cursor. An empty cursor starts from the first page.
+     *
+     * @param token the encoded cursor, or null
+     * @return the decoded cursor, or null for the first page
+     * @throws BadRequestException if the token is malformed
+     */
+    public static PageCursor decodeOrBadRequest(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return decode(token);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.blogmanagement.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Position of the last comment of a page when comments are listed in thread
+ * order. Comment paths are unique and never change, so the path alone
+ * identifies where the next page starts. Clients only ever see the encoded,
+ * opaque form.
+ *
+ * @param path materialized path of the last comment returned
+ */
+public record PathCursor(String path) {
+
+    private static final Pattern PATH = Pattern.compile("[0-9a-f]{24}(/[0-9a-f]{24})*");
+
+    /**
+     * Encode the cursor into an opaque URL-safe token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(path.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}.
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PathCursor decode(String token) {
+        String path = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        if (!PATH.matcher(path).matches()) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new PathCursor(path);
+    }
+}
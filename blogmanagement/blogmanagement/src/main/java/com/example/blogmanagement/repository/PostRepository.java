@@ -1,16 +1,8 @@
 package com.example.blogmanagement.repository;
 
 import com.example.blogmanagement.document.Post;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 
-public interface PostRepository extends MongoRepository<Post, String> {
-
-
-    Page<Post> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(String title, String content, Pageable pageable);
-
-
-    Page<Post> findByAuthorId(Long authorId, Pageable pageable);
+public interface PostRepository extends MongoRepository<Post, String>, PostRepositoryCustom {
 }
\ No newline at end of file
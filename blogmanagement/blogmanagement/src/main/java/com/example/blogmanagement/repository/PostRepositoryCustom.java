@@ -0,0 +1,189 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom queries on posts that cannot be expressed as derived query methods.
+ * Implemented by {@link PostRepositoryCustomImpl} on top of MongoTemplate.
+ *
+ * Methods taking a {@code fields} argument only read the given document
+ * fields from MongoDB; an empty collection loads whole documents. Unless
+ * stated otherwise, queries only see live posts: deleted posts awaiting the
+ * reaper are excluded.
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Fetch a post by its identifier unless it has been deleted.
+     *
+     * @param id identifier of the post
+     * @return the post, if it exists and is not deleted
+     */
+    Optional<Post> findLiveById(String id);
+
+    /**
+     * Count the posts that are not deleted.
+     *
+     * @return number of live posts
+     */
+    long countLive();
+
+    /**
+     * Find posts whose title or content contains the given text, ignoring
+     * case. Requires a regex scan of the collection, so it is only used while
+     * the search index is unavailable.
+     *
+     * @param text text to look for, matched literally
+     * @param pageable page index, size and sort order
+     * @return the requested page of matching posts
+     */
+    Page<Post> findByText(String text, Pageable pageable);
+
+    /**
+     * Fetch one page of posts using offset pagination.
+     *
+     * @param pageable page index, size and sort order
+     * @param fields document fields to load
+     * @return the posts of the requested page
+     */
+    List<Post> findPage(Pageable pageable, Collection<String> fields);
+
+    /**
+     * Fetch the posts that follow the given cursor, newest first. The query
+     * seeks directly to the cursor position through the (createdAt, _id)
+     * index, so its cost does not depend on how deep the page is.
+     *
+     * @param after position of the last post already returned, or null for the first page
+     * @param limit maximum number of posts to return
+     * @param fields document fields to load; createdAt and id are always loaded
+     * @return posts ordered by createdAt descending, then id descending
+     */
+    List<Post> findPageAfter(PageCursor after, int limit, Collection<String> fields);
+
+    /**
+     * Fetch the posts of one author that follow the given cursor, newest
+     * first, through the (authorId, createdAt, _id) index.
+     *
+     * @param authorId identifier of the author
+     * @param after position of the last post already returned, or null for the first page
+     * @param limit maximum number of posts to return
+     * @param fields document fields to load; createdAt and id are always loaded
+     * @return posts ordered by createdAt descending, then id descending
+     */
+    List<Post> findByAuthorAfter(Long authorId, PageCursor after, int limit, Collection<String> fields);
+
+    /**
+     * Fetch the posts of several authors that follow the given cursor, newest
+     * first, merging the authors' ranges of the (authorId, createdAt, _id) index.
+     *
+     * @param authorIds identifiers of the authors
+     * @param after position of the last post already returned, or null for the first page
+     * @param limit maximum number of posts to return
+     * @param fields document fields to load; createdAt and id are always loaded
+     * @return posts ordered by createdAt descending, then id descending
+     */
+    List<Post> findByAuthorsAfter(Collection<Long> authorIds, PageCursor after, int limit, Collection<String> fields);
+
+    /**
+     * Count the live posts of one author.
+     *
+     * @param authorId identifier of the author
+     * @return number of posts
+     */
+    long countLiveByAuthor(Long authorId);
+
+    /**
+     * Fetch the live posts with the highest trending score.
+     *
+     * @param limit maximum number of posts to return
+     * @param fields document fields to load
+     * @return posts ordered by trending score, highest first
+     */
+    List<Post> findTrending(int limit, Collection<String> fields);
+
+    /**
+     * Add counted views to posts with one bulk write. Each post's view count
+     * is incremented and its trending score combined with the weight of the
+     * new views, both inside MongoDB.
+     *
+     * @param viewsByPost number of new views per post identifier
+     * @param logWeight natural logarithm of the decay weight of a single view at this time
+     * @param at time of the write, stored as the posts' viewsUpdatedAt
+     */
+    void addViews(Map<String, Long> viewsByPost, double logWeight, LocalDateTime at);
+
+    /**
+     * Fetch posts by their identifiers, in no particular order.
+     *
+     * @param ids identifiers of the posts
+     * @param fields document fields to load
+     * @return the posts that exist
+     */
+    List<Post> findByIds(Collection<String> ids, Collection<String> fields);
+
+    /**
+     * Fetch only the modification timestamps of a post, for answering
+     * conditional requests without loading its content.
+     *
+     * @param id identifier of the post
+     * @return a post holding only id, updatedAt and commentsUpdatedAt, if it exists
+     */
+    Optional<Post> findVersionById(String id);
+
+    /**
+     * Update the editable fields of a post in place. Unlike saving the whole
+     * document, this leaves fields maintained by atomic updates, such as the
+     * comment counter, untouched.
+     *
+     * @param id identifier of the post
+     * @param title new title
+     * @param content new content
+     * @param excerpt excerpt of the new content
+     * @param at modification time
+     * @return the updated post, or empty if it does not exist
+     */
+    Optional<Post> updateContent(String id, String title, String content, String excerpt, LocalDateTime at);
+
+    /**
+     * Record that a comment of the post changed, atomically adjusting the
+     * post's comment counter.
+     *
+     * @param postId identifier of the post
+     * @param delta change of the comment count: 1 for a new comment, -1 for a deleted one, 0 for an edit
+     * @param at time of the change
+     */
+    void recordCommentChange(String postId, long delta, LocalDateTime at);
+
+    /**
+     * Tombstone a post, hiding it from all reads.
+     *
+     * @param id identifier of the post
+     * @param at deletion time
+     * @return true if a live post was marked as deleted
+     */
+    boolean markDeleted(String id, LocalDateTime at);
+
+    /**
+     * Fetch deleted posts whose comments still have to be removed, oldest
+     * deletion first.
+     *
+     * @param limit maximum number of posts to return
+     * @return posts holding id, title, commentCount and deletedAt
+     */
+    List<Post> findDeleted(int limit);
+
+    /**
+     * Remove the document of a deleted post once its comments are gone.
+     *
+     * @param id identifier of the post
+     */
+    void purgeDeleted(String id);
+}
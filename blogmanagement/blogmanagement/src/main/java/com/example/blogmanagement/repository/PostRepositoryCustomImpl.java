@@ -0,0 +1,264 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Post;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * MongoTemplate-backed implementation of {@link PostRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Post> findLiveById(String id) {
+        return Optional.ofNullable(mongoTemplate.findOne(liveByIdQuery(id), Post.class));
+    }
+
+    @Override
+    public long countLive() {
+        return mongoTemplate.count(liveQuery(), Post.class);
+    }
+
+    @Override
+    public Page<Post> findByText(String text, Pageable pageable) {
+        Pattern pattern = Pattern.compile(Pattern.quote(text), Pattern.CASE_INSENSITIVE);
+        Query query = new Query(live().orOperator(
+                Criteria.where("title").regex(pattern),
+                Criteria.where("content").regex(pattern)));
+        List<Post> posts = mongoTemplate.find(Query.of(query).with(pageable), Post.class);
+        return PageableExecutionUtils.getPage(posts, pageable, () -> mongoTemplate.count(query, Post.class));
+    }
+
+    @Override
+    public List<Post> findPage(Pageable pageable, Collection<String> fields) {
+        return mongoTemplate.find(pageQuery(pageable, fields), Post.class);
+    }
+
+    @Override
+    public List<Post> findPageAfter(PageCursor after, int limit, Collection<String> fields) {
+        return mongoTemplate.find(pageAfterQuery(after, limit, fields), Post.class);
+    }
+
+    @Override
+    public List<Post> findByAuthorAfter(Long authorId, PageCursor after, int limit, Collection<String> fields) {
+        return mongoTemplate.find(authorPageAfterQuery(List.of(authorId), after, limit, fields), Post.class);
+    }
+
+    @Override
+    public List<Post> findByAuthorsAfter(Collection<Long> authorIds, PageCursor after, int limit,
+                                         Collection<String> fields) {
+        return mongoTemplate.find(authorPageAfterQuery(authorIds, after, limit, fields), Post.class);
+    }
+
+    @Override
+    public long countLiveByAuthor(Long authorId) {
+        return mongoTemplate.count(authorQuery(authorId), Post.class);
+    }
+
+    @Override
+    public List<Post> findTrending(int limit, Collection<String> fields) {
+        return mongoTemplate.find(trendingQuery(limit, fields), Post.class);
+    }
+
+    @Override
+    public void addViews(Map<String, Long> viewsByPost, double logWeight, LocalDateTime at) {
+        if (viewsByPost.isEmpty()) {
+            return;
+        }
+        // Pipeline stages are not mapped, so the timestamp is converted the way the mapping layer would
+        Date updatedAt = Date.from(at.atZone(ZoneId.systemDefault()).toInstant());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        viewsByPost.forEach((postId, views) -> {
+            double added = Math.log(views) + logWeight;
+            // Pipeline update: trendingScore = ln(e^trendingScore + e^added), computed as
+            // max + ln(1 + e^-|difference|) so that neither exponential overflows
+            Document score = new Document("$cond", List.of(
+                    new Document("$eq", List.of(new Document("$type", "$trendingScore"), "missing")),
+                    added,
+                    new Document("$add", List.of(
+                            new Document("$max", List.of("$trendingScore", added)),
+                            new Document("$ln", new Document("$add", List.of(1, new Document("$exp",
+                                    new Document("$multiply", List.of(-1, new Document("$abs",
+                                            new Document("$subtract", List.of("$trendingScore", added)))))))))))));
+            Document set = new Document("viewCount", new Document("$add",
+                    List.of(new Document("$ifNull", List.of("$viewCount", 0)), views)))
+                    .append("trendingScore", score)
+                    .append("viewsUpdatedAt", updatedAt);
+            AggregationOperation stage = context -> new Document("$set", set);
+            bulk.updateOne(new Query(byId(postId)), AggregationUpdate.from(List.of(stage)));
+        });
+        bulk.execute();
+    }
+
+    @Override
+    public List<Post> findByIds(Collection<String> ids, Collection<String> fields) {
+        return mongoTemplate.find(idsQuery(ids, fields), Post.class);
+    }
+
+    @Override
+    public Optional<Post> findVersionById(String id) {
+        Query query = liveByIdQuery(id);
+        query.fields().include("updatedAt", "commentsUpdatedAt", "viewsUpdatedAt");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Post.class));
+    }
+
+    @Override
+    public Optional<Post> updateContent(String id, String title, String content, String excerpt, LocalDateTime at) {
+        Update update = new Update()
+                .set("title", title)
+                .set("content", content)
+                .set("excerpt", excerpt)
+                .set("updatedAt", at);
+        return Optional.ofNullable(mongoTemplate.findAndModify(liveByIdQuery(id), update,
+                FindAndModifyOptions.options().returnNew(true), Post.class));
+    }
+
+    @Override
+    public void recordCommentChange(String postId, long delta, LocalDateTime at) {
+        Update update = new Update().set("commentsUpdatedAt", at);
+        if (delta != 0) {
+            update.inc("commentCount", delta);
+        }
+        mongoTemplate.updateFirst(new Query(byId(postId)), update, Post.class);
+    }
+
+    @Override
+    public boolean markDeleted(String id, LocalDateTime at) {
+        return mongoTemplate.updateFirst(liveByIdQuery(id),
+                new Update().set("deletedAt", at), Post.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public List<Post> findDeleted(int limit) {
+        return mongoTemplate.find(deletedQuery(limit), Post.class);
+    }
+
+    @Override
+    public void purgeDeleted(String id) {
+        mongoTemplate.remove(new Query(byId(id).and("deletedAt").exists(true)), Post.class);
+    }
+
+    // Query builders, shared with QueryPlanTest so that the verified
+    // query shapes are exactly the ones the repository runs
+
+    static Query liveQuery() {
+        return new Query(live());
+    }
+
+    static Query liveByIdQuery(String id) {
+        return new Query(byId(id).and("deletedAt").is(null));
+    }
+
+    static Query pageQuery(Pageable pageable, Collection<String> fields) {
+        Query query = new Query(live()).with(pageable);
+        project(query, fields);
+        return query;
+    }
+
+    static Query pageAfterQuery(PageCursor after, int limit, Collection<String> fields) {
+        return newestFirst(new Query(live()), after, limit, fields);
+    }
+
+    static Query authorQuery(Long authorId) {
+        return new Query(Criteria.where("authorId").is(authorId).and("deletedAt").is(null));
+    }
+
+    static Query authorPageAfterQuery(Collection<Long> authorIds, PageCursor after, int limit,
+                                      Collection<String> fields) {
+        Criteria authors = authorIds.size() == 1
+                ? Criteria.where("authorId").is(authorIds.iterator().next())
+                : Criteria.where("authorId").in(authorIds);
+        return newestFirst(new Query(authors.and("deletedAt").is(null)), after, limit, fields);
+    }
+
+    static Query trendingQuery(int limit, Collection<String> fields) {
+        Query query = new Query(Criteria.where("trendingScore").exists(true).and("deletedAt").is(null))
+                .with(Sort.by(Sort.Direction.DESC, "trendingScore"))
+                .limit(limit);
+        project(query, fields);
+        return query;
+    }
+
+    static Query idsQuery(Collection<String> ids, Collection<String> fields) {
+        Query query = new Query(Criteria.where("id").in(ids).and("deletedAt").is(null));
+        project(query, fields);
+        return query;
+    }
+
+    static Query deletedQuery(int limit) {
+        Query query = new Query(Criteria.where("deletedAt").exists(true))
+                .with(Sort.by(Sort.Direction.ASC, "deletedAt"))
+                .limit(limit);
+        query.fields().include("title", "commentCount", "deletedAt");
+        return query;
+    }
+
+    /**
+     * Restrict a query to the posts after the cursor, newest first, seeking
+     * through an index that ends in (createdAt, _id). The redundant upper
+     * bound on createdAt gives the index scan a start key.
+     */
+    private static Query newestFirst(Query query, PageCursor after, int limit, Collection<String> fields) {
+        if (after != null) {
+            query.addCriteria(Criteria.where("createdAt").lte(after.createdAt()));
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("id").lt(after.id())));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt", "id")).limit(limit);
+        if (project(query, fields)) {
+            // Needed to build the cursor of the next page
+            query.fields().include("createdAt");
+        }
+        return query;
+    }
+
+    private static Criteria byId(String id) {
+        return Criteria.where("id").is(id);
+    }
+
+    /**
+     * Matches posts that have not been deleted; also matches documents
+     * written before soft deletion existed, which have no deletedAt field.
+     */
+    private static Criteria live() {
+        return Criteria.where("deletedAt").is(null);
+    }
+
+    /**
+     * Restrict the query to the given fields. The identifier is always returned.
+     *
+     * @return true if a projection was applied
+     */
+    private static boolean project(Query query, Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return false;
+        }
+        query.fields().include(fields.toArray(String[]::new));
+        return true;
+    }
+}
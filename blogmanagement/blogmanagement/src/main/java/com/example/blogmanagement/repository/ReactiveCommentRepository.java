@@ -0,0 +1,22 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Comment;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CommentRepository} on the reactive
+ * MongoDB driver, used by the reactive read endpoints. Reads the document
+ * layout only; see {@link CommentStorage}.
+ */
+public interface ReactiveCommentRepository extends ReactiveMongoRepository<Comment, String>,
+        ReactiveCommentRepositoryCustom {
+
+    /**
+     * Count the comments belonging to a specific post.
+     *
+     * @param postId identifier of the post
+     * @return number of comments on the post
+     */
+    Mono<Long> countByPostId(String postId);
+}
@@ -0,0 +1,21 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Comment;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive variants of the {@link CommentRepositoryCustom} queries used by
+ * the reactive read endpoints.
+ */
+public interface ReactiveCommentRepositoryCustom {
+
+    /**
+     * Fetch the comments of a post that follow the given cursor, oldest first.
+     *
+     * @param postId identifier of the post
+     * @param after position of the last comment already returned, or null for the first page
+     * @param limit maximum number of comments
+     * @return the comments
+     */
+    Flux<Comment> findByPostIdAfter(String postId, PageCursor after, int limit);
+}
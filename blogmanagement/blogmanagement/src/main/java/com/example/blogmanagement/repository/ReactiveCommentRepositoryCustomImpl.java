@@ -0,0 +1,22 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Comment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+/**
+ * ReactiveMongoTemplate-backed implementation of {@link ReactiveCommentRepositoryCustom},
+ * built on the query builders of {@link CommentRepositoryCustomImpl}.
+ */
+@RequiredArgsConstructor
+public class ReactiveCommentRepositoryCustomImpl implements ReactiveCommentRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Comment> findByPostIdAfter(String postId, PageCursor after, int limit) {
+        return reactiveMongoTemplate.find(CommentRepositoryCustomImpl.postPageAfterQuery(postId, after, limit),
+                Comment.class);
+    }
+}
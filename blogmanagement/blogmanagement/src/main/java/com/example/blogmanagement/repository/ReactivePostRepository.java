@@ -0,0 +1,11 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Post;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link PostRepository} on the reactive MongoDB
+ * driver, used by the reactive read endpoints.
+ */
+public interface ReactivePostRepository extends ReactiveMongoRepository<Post, String>, ReactivePostRepositoryCustom {
+}
@@ -0,0 +1,40 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Post;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Reactive variants of the {@link PostRepositoryCustom} queries used by the
+ * reactive read endpoints. They run the same query shapes, so the indexes
+ * verified for the blocking repository serve them as well.
+ */
+public interface ReactivePostRepositoryCustom {
+
+    /**
+     * Fetch a post by its identifier unless it has been deleted.
+     *
+     * @param id identifier of the post
+     * @return the post, or empty if it does not exist or is deleted
+     */
+    Mono<Post> findLiveById(String id);
+
+    /**
+     * Count the posts that are not deleted.
+     *
+     * @return number of live posts
+     */
+    Mono<Long> countLive();
+
+    /**
+     * Fetch live posts that follow the given cursor, newest first.
+     *
+     * @param after position of the last post already returned, or null for the first page
+     * @param limit maximum number of posts
+     * @param fields document fields to load; empty for whole documents
+     * @return the posts
+     */
+    Flux<Post> findPageAfter(PageCursor after, int limit, Collection<String> fields);
+}
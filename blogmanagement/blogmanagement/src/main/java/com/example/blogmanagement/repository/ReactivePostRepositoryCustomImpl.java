@@ -0,0 +1,34 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.document.Post;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * ReactiveMongoTemplate-backed implementation of {@link ReactivePostRepositoryCustom},
+ * built on the query builders of {@link PostRepositoryCustomImpl}.
+ */
+@RequiredArgsConstructor
+public class ReactivePostRepositoryCustomImpl implements ReactivePostRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Post> findLiveById(String id) {
+        return reactiveMongoTemplate.findOne(PostRepositoryCustomImpl.liveByIdQuery(id), Post.class);
+    }
+
+    @Override
+    public Mono<Long> countLive() {
+        return reactiveMongoTemplate.count(PostRepositoryCustomImpl.liveQuery(), Post.class);
+    }
+
+    @Override
+    public Flux<Post> findPageAfter(PageCursor after, int limit, Collection<String> fields) {
+        return reactiveMongoTemplate.find(PostRepositoryCustomImpl.pageAfterQuery(after, limit, fields), Post.class);
+    }
+}
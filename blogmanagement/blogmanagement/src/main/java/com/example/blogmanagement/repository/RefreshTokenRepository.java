@@ -0,0 +1,59 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for the refresh tokens issued at login.
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revoke a token unless it already is, so that concurrent uses of the
+     * same token succeed at most once.
+     *
+     * @return 1 if the token was revoked by this call, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :at where t.id = :id and t.revokedAt is null")
+    int revoke(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    /**
+     * Mark a token as used for a refresh unless it already is revoked, so
+     * that concurrent refreshes with the same token succeed at most once.
+     *
+     * @return 1 if the token was replaced by this call, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :at, t.replacedAt = :at where t.id = :id and t.revokedAt is null")
+    int replace(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    /**
+     * Revoke all usable tokens of a user.
+     */
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :at where t.userId = :userId and t.revokedAt is null")
+    int revokeAllOfUser(@Param("userId") Long userId, @Param("at") LocalDateTime at);
+
+    /**
+     * Delete tokens that expired before the given time.
+     *
+     * @return number of deleted tokens
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken t where t.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
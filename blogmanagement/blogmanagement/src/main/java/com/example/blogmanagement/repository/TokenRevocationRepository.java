@@ -0,0 +1,33 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for access token revocations.
+ */
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    /**
+     * Fetch the revocations made since the given time that are still in
+     * effect, for replicating them to the in-memory revocation list.
+     */
+    List<TokenRevocation> findByRevokedAtGreaterThanEqualAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    /**
+     * Delete revocations whose tokens have all expired.
+     *
+     * @return number of deleted revocations
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from TokenRevocation r where r.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
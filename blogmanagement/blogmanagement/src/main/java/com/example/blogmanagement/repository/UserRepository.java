@@ -2,7 +2,11 @@ package com.example.blogmanagement.repository;
 
 import com.example.blogmanagement.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -43,4 +47,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user exists with that username, false otherwise
      */
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Atomically adjust the follower count of a user.
+     *
+     * @param id identifier of the user
+     * @param delta change of the count, 1 or -1
+     */
+    @Modifying
+    @Query("update User u set u.followerCount = u.followerCount + :delta where u.id = :id")
+    void adjustFollowerCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Read the follower count of a user.
+     *
+     * @param id identifier of the user
+     * @return the current follower count
+     */
+    @Query("select u.followerCount from User u where u.id = :id")
+    long findFollowerCount(@Param("id") Long id);
+
+    /**
+     * Find the users whose follower count lies in a range.
+     *
+     * @param min minimum follower count, inclusive
+     * @param max maximum follower count, exclusive
+     * @return IDs of the matching users
+     */
+    @Query("select u.id from User u where u.followerCount >= :min and u.followerCount < :max")
+    List<Long> findIdsWithFollowerCountBetween(@Param("min") long min, @Param("max") long max);
+
+    /**
+     * Replace the password hash of a user without loading the user.
+     *
+     * @param id identifier of the user
+     * @param password the new password hash
+     */
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    void updatePassword(@Param("id") Long id, @Param("password") String password);
+}
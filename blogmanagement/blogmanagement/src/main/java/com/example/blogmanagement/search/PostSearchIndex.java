@@ -0,0 +1,558 @@
+package com.example.blogmanagement.search;
+
+import com.example.blogmanagement.document.Post;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over post titles and contents, ranked with BM25.
+ *
+ * Every indexed post gets an internal ordinal and each term maps to a posting
+ * list of (ordinal, weighted term frequency) pairs. Title occurrences count
+ * {@code titleBoost} times as much as content occurrences. Updates never edit
+ * posting lists in place: the old ordinal is tombstoned and the post is
+ * appended under a fresh one, which keeps posting lists sorted and appends
+ * cheap. Tombstones are purged once they make up a large share of the index;
+ * the purge runs on a background thread against a snapshot and only takes the
+ * write lock to fold in changes made meanwhile and swap the result in.
+ *
+ * The index is rebuilt from MongoDB in the background on startup; until then
+ * {@link #isReady()} is false and callers should fall back to a database query.
+ */
+@Component
+@Slf4j
+public class PostSearchIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 10_000;
+    private static final Comparator<ScoredOrdinal> RANKING =
+            Comparator.comparingDouble(ScoredOrdinal::score).thenComparingInt(ScoredOrdinal::ordinal);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final float titleBoost;
+    private final double k1;
+    private final double b;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All fields below are guarded by lock
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<String, Integer> ordinalsById = new HashMap<>();
+    private final Set<String> removedDuringRebuild = new HashSet<>();
+    private String[] idsByOrdinal = new String[INITIAL_CAPACITY];
+    private float[] lengths = new float[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private BitSet deleted = new BitSet();
+    private int nextOrdinal;
+    private int liveDocs;
+    private int tombstones;
+    private double totalLength;
+    private boolean compacting;
+    private final Set<String> appendedDuringCompaction = new HashSet<>();
+
+    private volatile boolean ready;
+
+    public PostSearchIndex(MongoTemplate mongoTemplate,
+                           @Value("${blog.search.enabled:true}") boolean enabled,
+                           @Value("${blog.search.title-boost:2.0}") float titleBoost,
+                           @Value("${blog.search.bm25.k1:1.2}") double k1,
+                           @Value("${blog.search.bm25.b:0.75}") double b) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.titleBoost = titleBoost;
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * Whether the index has been fully built and can answer searches.
+     *
+     * @return true once the startup rebuild has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Add a post to the index, replacing any previously indexed version.
+     * Versions older than the one already indexed are ignored, so a rebuild
+     * racing with live updates cannot resurrect stale content.
+     *
+     * @param post the post to index
+     */
+    public void index(Post post) {
+        if (!enabled || post.getId() == null) {
+            return;
+        }
+        Map<String, Float> weights = termWeights(post);
+        float length = 0;
+        for (float weight : weights.values()) {
+            length += weight;
+        }
+        long version = toMillis(post.getUpdatedAt());
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalsById.get(post.getId());
+            if (existing != null) {
+                if (versions[existing] > version) {
+                    return;
+                }
+                tombstone(existing);
+            } else if (!ready && removedDuringRebuild.contains(post.getId())) {
+                return;
+            }
+            int ordinal = nextOrdinal++;
+            ensureCapacity(nextOrdinal);
+            idsByOrdinal[ordinal] = post.getId();
+            lengths[ordinal] = length;
+            versions[ordinal] = version;
+            ordinalsById.put(post.getId(), ordinal);
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(ordinal, entry.getValue());
+                if (compacting) {
+                    appendedDuringCompaction.add(entry.getKey());
+                }
+            }
+            liveDocs++;
+            totalLength += length;
+            if (!compacting && tombstones > MIN_TOMBSTONES_BEFORE_COMPACTION && tombstones > liveDocs / 4) {
+                compacting = true;
+                Thread.ofPlatform().name("post-search-compaction").daemon().start(this::runCompaction);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a post from the index.
+     *
+     * @param postId identifier of the post to remove
+     */
+    public void remove(String postId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.remove(postId);
+            if (ordinal != null) {
+                tombstone(ordinal);
+            }
+            if (!ready) {
+                removedDuringRebuild.add(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the best matching posts for a free-text query. A post matches if it
+     * contains any of the query terms; matches are ordered by BM25 score.
+     *
+     * @param query free-text query
+     * @param limit maximum number of post IDs to return
+     * @return the top ranked post IDs and the total number of matching posts
+     */
+    public SearchHits search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchHits(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+            // Posting lists are sorted by ordinal, so they are merged document at
+            // a time: each post is scored completely before moving on, and only
+            // one cursor per query term is needed instead of a score per post.
+            double averageLength = liveDocs == 0 ? 1 : Math.max(totalLength / liveDocs, 1);
+            PriorityQueue<Cursor> cursors = new PriorityQueue<>(lists.size(),
+                    Comparator.comparingInt(Cursor::ordinal));
+            for (PostingList list : lists) {
+                // Posting lists may still hold tombstones, so cap the document frequency
+                int df = Math.min(list.size, liveDocs);
+                cursors.add(new Cursor(list, Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5))));
+            }
+            PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(limit + 1, RANKING);
+            int total = 0;
+            while (!cursors.isEmpty()) {
+                int ordinal = cursors.peek().ordinal();
+                boolean live = !deleted.get(ordinal);
+                double norm = k1 * (1 - b + b * lengths[ordinal] / averageLength);
+                float score = 0;
+                while (!cursors.isEmpty() && cursors.peek().ordinal() == ordinal) {
+                    Cursor cursor = cursors.poll();
+                    if (live) {
+                        double tf = cursor.weight();
+                        score += (float) (cursor.idf * tf * (k1 + 1) / (tf + norm));
+                    }
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    }
+                }
+                if (live) {
+                    total++;
+                    offer(heap, new ScoredOrdinal(score, ordinal), limit);
+                }
+            }
+            String[] ids = new String[heap.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = idsByOrdinal[heap.poll().ordinal()];
+            }
+            return new SearchHits(Arrays.asList(ids), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index from MongoDB once the application has started. The
+     * rebuild streams posts through a cursor on a background thread so that
+     * startup is not delayed by large collections.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("post-search-rebuild").daemon().start(this::rebuild);
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        Query query = new Query(Criteria.where("deletedAt").is(null));
+        query.fields().include("title", "content", "updatedAt");
+        query.cursorBatchSize(1000);
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(this::index);
+        } catch (RuntimeException ex) {
+            log.error("Could not rebuild post search index, falling back to database search", ex);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ready = true;
+            removedDuringRebuild.clear();
+            log.info("Post search index ready with {} posts and {} terms in {} ms",
+                    liveDocs, postings.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, Float> termWeights(Post post) {
+        Map<String, Float> weights = new HashMap<>();
+        for (String token : Tokenizer.tokenize(post.getTitle())) {
+            weights.merge(token, titleBoost, Float::sum);
+        }
+        for (String token : Tokenizer.tokenize(post.getContent())) {
+            weights.merge(token, 1f, Float::sum);
+        }
+        return weights;
+    }
+
+    private static void offer(PriorityQueue<ScoredOrdinal> heap, ScoredOrdinal candidate, int limit) {
+        if (heap.size() < limit) {
+            heap.add(candidate);
+        } else if (RANKING.compare(candidate, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    private void tombstone(int ordinal) {
+        deleted.set(ordinal);
+        idsByOrdinal[ordinal] = null;
+        liveDocs--;
+        tombstones++;
+        totalLength -= lengths[ordinal];
+    }
+
+    /**
+     * Drop tombstoned ordinals from all posting lists and renumber the live
+     * posts densely. Runs on its own thread: the new lists are built from a
+     * snapshot without holding the lock, so searches and writes carry on, and
+     * posts indexed or removed meanwhile are folded in under the write lock.
+     * Does nothing if a compaction is already running.
+     */
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            if (compacting) {
+                return;
+            }
+            compacting = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        runCompaction();
+    }
+
+    /**
+     * Body of {@link #compact()}, run once the caller has set the compacting flag.
+     */
+    private void runCompaction() {
+        Snapshot snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            Compacted compacted = compact(snapshot);
+            lock.writeLock().lock();
+            try {
+                swapIn(snapshot, compacted);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not compact post search index", ex);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                compacting = false;
+                appendedDuringCompaction.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Capture the index as it is now. Posting lists are append-only and only
+     * reallocated by copying, so their current arrays and sizes stay valid
+     * after the lock is released. Must be called with the lock held.
+     */
+    private Snapshot snapshot() {
+        Map<String, PostingList> lists = new HashMap<>(postings.size() * 2);
+        postings.forEach((term, list) -> lists.put(term, list.view()));
+        return new Snapshot(nextOrdinal, (BitSet) deleted.clone(), Arrays.copyOf(idsByOrdinal, nextOrdinal),
+                Arrays.copyOf(lengths, nextOrdinal), Arrays.copyOf(versions, nextOrdinal), lists);
+    }
+
+    private static Compacted compact(Snapshot snapshot) {
+        int[] remap = new int[snapshot.end()];
+        String[] ids = new String[snapshot.end()];
+        float[] lengths = new float[snapshot.end()];
+        long[] versions = new long[snapshot.end()];
+        Map<String, Integer> ordinals = new HashMap<>();
+        int live = 0;
+        for (int ordinal = 0; ordinal < snapshot.end(); ordinal++) {
+            if (snapshot.deleted().get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = live;
+                ids[live] = snapshot.ids()[ordinal];
+                lengths[live] = snapshot.lengths()[ordinal];
+                versions[live] = snapshot.versions()[ordinal];
+                ordinals.put(ids[live], live);
+                live++;
+            }
+        }
+        Map<String, PostingList> lists = new HashMap<>();
+        snapshot.postings().forEach((term, list) -> {
+            PostingList remapped = list.remapped(remap);
+            if (remapped.size > 0) {
+                lists.put(term, remapped);
+            }
+        });
+        return new Compacted(live, remap, ids, lengths, versions, ordinals, lists);
+    }
+
+    /**
+     * Apply the changes made since the snapshot to the compacted index and
+     * make it current. Posts indexed meanwhile got ordinals past the snapshot
+     * and are renumbered after the compacted ones. Must be called with the
+     * write lock held.
+     */
+    private void swapIn(Snapshot snapshot, Compacted compacted) {
+        int end = snapshot.end();
+        int shift = compacted.live() - end;
+        int next = nextOrdinal + shift;
+        String[] ids = Arrays.copyOf(compacted.ids(), Math.max(next, INITIAL_CAPACITY));
+        float[] newLengths = Arrays.copyOf(compacted.lengths(), ids.length);
+        long[] newVersions = Arrays.copyOf(compacted.versions(), ids.length);
+        System.arraycopy(idsByOrdinal, end, ids, compacted.live(), nextOrdinal - end);
+        System.arraycopy(lengths, end, newLengths, compacted.live(), nextOrdinal - end);
+        System.arraycopy(versions, end, newVersions, compacted.live(), nextOrdinal - end);
+
+        Map<String, Integer> ordinals = compacted.ordinals();
+        BitSet newDeleted = new BitSet();
+        for (int ordinal = deleted.nextSetBit(0); ordinal >= 0; ordinal = deleted.nextSetBit(ordinal + 1)) {
+            if (ordinal >= end) {
+                newDeleted.set(ordinal + shift);
+            } else if (!snapshot.deleted().get(ordinal)) {
+                // Removed or replaced since the snapshot
+                newDeleted.set(compacted.remap()[ordinal]);
+                ordinals.remove(snapshot.ids()[ordinal]);
+            }
+        }
+        for (int ordinal = end; ordinal < nextOrdinal; ordinal++) {
+            if (!deleted.get(ordinal)) {
+                ordinals.put(idsByOrdinal[ordinal], ordinal + shift);
+            }
+        }
+
+        Map<String, PostingList> lists = compacted.postings();
+        for (String term : appendedDuringCompaction) {
+            PostingList current = postings.get(term);
+            PostingList before = snapshot.postings().get(term);
+            PostingList target = lists.computeIfAbsent(term, t -> new PostingList());
+            for (int i = before == null ? 0 : before.size; i < current.size; i++) {
+                target.add(current.ordinals[i] + shift, current.weights[i]);
+            }
+        }
+
+        postings = lists;
+        ordinalsById = ordinals;
+        idsByOrdinal = ids;
+        lengths = newLengths;
+        versions = newVersions;
+        deleted = newDeleted;
+        nextOrdinal = next;
+        tombstones = newDeleted.cardinality();
+        log.debug("Compacted post search index to {} posts", next);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > idsByOrdinal.length) {
+            int grown = Math.max(capacity, idsByOrdinal.length + (idsByOrdinal.length >> 1));
+            idsByOrdinal = Arrays.copyOf(idsByOrdinal, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+            versions = Arrays.copyOf(versions, grown);
+        }
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp == null ? 0 : timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Result of a search: the top ranked post IDs, best first, and the total
+     * number of posts that matched.
+     *
+     * @param ids ranked post identifiers
+     * @param total number of matching posts
+     */
+    public record SearchHits(List<String> ids, int total) {
+    }
+
+    private record ScoredOrdinal(float score, int ordinal) {
+    }
+
+    private record Snapshot(int end, BitSet deleted, String[] ids, float[] lengths, long[] versions,
+                            Map<String, PostingList> postings) {
+    }
+
+    private record Compacted(int live, int[] remap, String[] ids, float[] lengths, long[] versions,
+                             Map<String, Integer> ordinals, Map<String, PostingList> postings) {
+    }
+
+    /**
+     * Position in one term's posting list during a search.
+     */
+    private static final class Cursor {
+        private final PostingList list;
+        private final double idf;
+        private int position;
+
+        Cursor(PostingList list, double idf) {
+            this.list = list;
+            this.idf = idf;
+        }
+
+        int ordinal() {
+            return list.ordinals[position];
+        }
+
+        float weight() {
+            return list.weights[position];
+        }
+
+        boolean advance() {
+            return ++position < list.size;
+        }
+    }
+
+    /**
+     * Growable list of (ordinal, weight) pairs sorted by ordinal.
+     */
+    private static final class PostingList {
+        private int[] ordinals = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                int grown = size + (size >> 1) + 1;
+                ordinals = Arrays.copyOf(ordinals, grown);
+                weights = Arrays.copyOf(weights, grown);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            size++;
+        }
+
+        /**
+         * The entries present now, sharing this list's arrays.
+         */
+        PostingList view() {
+            PostingList view = new PostingList();
+            view.ordinals = ordinals;
+            view.weights = weights;
+            view.size = size;
+            return view;
+        }
+
+        PostingList remapped(int[] remap) {
+            PostingList remapped = new PostingList();
+            remapped.ordinals = new int[Math.max(size, 4)];
+            remapped.weights = new float[Math.max(size, 4)];
+            for (int i = 0; i < size; i++) {
+                int mapped = remap[ordinals[i]];
+                if (mapped >= 0) {
+                    remapped.ordinals[remapped.size] = mapped;
+                    remapped.weights[remapped.size] = weights[i];
+                    remapped.size++;
+                }
+            }
+            return remapped;
+        }
+    }
+}
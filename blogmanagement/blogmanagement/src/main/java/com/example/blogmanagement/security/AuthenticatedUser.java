@@ -0,0 +1,80 @@
+package com.example.blogmanagement.security;
+
+import com.example.blogmanagement.entity.Role;
+import com.example.blogmanagement.entity.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Principal of a request authenticated with a JWT. Built from the token's
+ * claims, so authenticating a request needs no database access; see
+ * {@link JwtTokenProvider} for the claims. Roles are those the user had
+ * when the token was issued.
+ *
+ * @param id identifier of the user
+ * @param username username of the user
+ * @param roles roles of the user
+ */
+public record AuthenticatedUser(Long id, String username, Set<Role> roles) implements Principal, Serializable {
+
+    static final String ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+    // The standard iat claim only has second precision
+    static final String ISSUED_AT_MS_CLAIM = "iat_ms";
+
+    public AuthenticatedUser {
+        roles = roles.isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(roles));
+    }
+
+    /**
+     * Build the principal of a user loaded from the database.
+     */
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRoles());
+    }
+
+    /**
+     * Build the principal from verified token claims.
+     *
+     * @return the principal, or empty for tokens issued before the claims were added
+     */
+    static Optional<AuthenticatedUser> fromClaims(Claims claims) {
+        Long id = claims.get(ID_CLAIM, Long.class);
+        List<?> roleNames = claims.get(ROLES_CLAIM, List.class);
+        if (id == null || roleNames == null) {
+            return Optional.empty();
+        }
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Object roleName : roleNames) {
+            roles.add(Role.valueOf(roleName.toString()));
+        }
+        return Optional.of(new AuthenticatedUser(id, claims.getSubject(), roles));
+    }
+
+    public boolean hasRole(Role role) {
+        return roles.contains(role);
+    }
+
+    /**
+     * Authorities in the form checked by {@code hasRole(...)}.
+     */
+    public Collection<GrantedAuthority> authorities() {
+        return roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role.name()))
+                .toList();
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
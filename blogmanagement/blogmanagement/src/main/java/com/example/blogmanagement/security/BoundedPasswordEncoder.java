@@ -0,0 +1,138 @@
+package com.example.blogmanagement.security;
+
+import com.example.blogmanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt on a dedicated, bounded pool of threads.
+ *
+ * Hashing a password costs tens of milliseconds of CPU by design. Run on
+ * request threads, a burst of logins would occupy all of them and starve
+ * cheap requests. Here at most {@code threads} hashes run at once and at most
+ * {@code queueCapacity} wait; further calls, and calls that wait longer than
+ * {@code maxWait}, fail fast with {@link ServiceUnavailableException}.
+ *
+ * Hashes whose cost is below the current one are upgraded on the next
+ * successful login (see {@link #upgradeEncoding}); the upgrade is skipped
+ * while requests are queueing so it never adds to an overload.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int cost, int threads, int queueCapacity, Duration maxWait,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.maxWait = maxWait;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        new ExecutorServiceMetrics(executor, "passwordHashing", List.of()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("blog.password_hashing.rejected")
+                .description("Password hashes refused because the hashing pool was saturated")
+                .register(meterRegistry);
+        log.info("Hashing passwords with BCrypt cost {} on {} threads", cost, threads);
+    }
+
+    /**
+     * Pick the BCrypt cost whose hash takes closest to, but not more than,
+     * the target time on this host. Each increment of the cost doubles the
+     * time, so it is enough to time the smallest cost considered.
+     *
+     * @param target time one hash should take
+     * @param minCost cost to use even if it takes longer than the target
+     * @param maxCost highest cost to use
+     */
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        // The first hashes run interpreted; the best of a few is the steady-state time
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int cost = minCost;
+        long nanos = best;
+        while (cost < maxCost && nanos * 2 <= target.toNanos()) {
+            cost++;
+            nanos *= 2;
+        }
+        log.info("BCrypt cost {} takes {} ms, calibrated cost {} takes about {} ms (target {} ms)",
+                minCost, best / 1_000_000, cost, nanos / 1_000_000, target.toMillis());
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword) && executor.getQueue().isEmpty();
+    }
+
+    private <T> T run(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(hash);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many logins in progress, please retry shortly");
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(false);
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many logins in progress, please retry shortly");
+        } catch (InterruptedException ex) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -4,6 +4,7 @@ import com.example.blogmanagement.entity.User;
 import com.example.blogmanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,11 +12,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom implementation of UserDetailsService that loads user data from
- * the database for Spring Security authentication.
+ * the database for Spring Security authentication, and stores password
+ * hashes upgraded at login.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -47,4 +49,20 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
         return user;
     }
+
+    /**
+     * Store a password hash recomputed with the current BCrypt cost.
+     *
+     * @param user the user as loaded for authentication
+     * @param newPassword the new password hash
+     * @return the user with the new hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = (User) user;
+        userRepository.updatePassword(stored.getId(), newPassword);
+        stored.setPassword(newPassword);
+        return stored;
+    }
 }
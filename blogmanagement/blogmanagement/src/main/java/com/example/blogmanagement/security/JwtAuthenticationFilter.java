@@ -1,5 +1,7 @@
 package com.example.blogmanagement.security;
 
+import com.example.blogmanagement.entity.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +10,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -16,6 +17,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 
 @Component
@@ -25,6 +27,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
 //this is filter chain
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,15 +36,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseClaims(jwt) : Optional.empty();
+            if (claims.isPresent() && revocationList.isRevoked(claims.get())) {
+                log.debug("Rejected revoked token of user: {}", claims.get().getSubject());
+            } else if (claims.isPresent()) {
+                String username = claims.get().getSubject();
+                // Tokens issued before they carried the user's identifier and
+                // roles need the user to be loaded
+                AuthenticatedUser user = AuthenticatedUser.fromClaims(claims.get())
+                        .orElseGet(() -> AuthenticatedUser.of((User) userDetailsService.loadUserByUsername(username)));
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
+                                user,
+                                // The verified claims, for ending this session on logout
+                                claims.get(),
+                                user.authorities()
                         );
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
@@ -1,7 +1,15 @@
 package com.example.blogmanagement.security;
 
+import com.example.blogmanagement.entity.Role;
+import com.example.blogmanagement.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -10,21 +18,70 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Utility class for generating and validating JWT tokens. Tokens contain
- * the username of the authenticated user and an expiration time.
+ * the username of the authenticated user and an expiration time; tokens
+ * issued at login also carry the user's identifier ({@code uid}) and roles
+ * ({@code roles}), see {@link AuthenticatedUser}. Every token has a unique
+ * identifier ({@code jti}) by which it can be revoked before it expires; see
+ * {@link TokenRevocationList}.
+ *
+ * The signing key and the parser are built once; both are immutable and
+ * thread-safe. Verified claims are cached by the SHA-256 hash of their token
+ * (the token itself is not kept), so repeated requests with the same token
+ * skip parsing and signature verification. An entry never outlives its
+ * token's expiration.
  */
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final long jwtExpirationMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedClaims;
 
-    @Value("${jwt.expiration-ms}")
-    private long jwtExpirationMs;
+    public JwtTokenProvider(MeterRegistry meterRegistry,
+                            @Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration-ms}") long jwtExpirationMs,
+                            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize,
+                            @Value("${jwt.claims-cache.ttl:PT5M}") Duration claimsCacheTtl) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long untilExpiry = claims.getExpiration() == null
+                                ? Long.MAX_VALUE
+                                : Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(claimsCacheTtl.toNanos(), untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwtClaims");
+    }
 
     /**
      * Generate a JWT token for the authenticated user.
@@ -33,15 +90,33 @@ public class JwtTokenProvider {
      * @return the generated JWT token as a string
      */
     public String generateToken(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof User user) {
+            return generateToken(AuthenticatedUser.of(user));
+        }
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return generateTokenFromUsername(userDetails.getUsername());
+    }
+
+    /**
+     * Generate a JWT token carrying the user's identifier and roles, from
+     * which requests are authenticated without loading the user.
+     *
+     * @param user the authenticated user
+     * @return the generated JWT token as a string
+     */
+    public String generateToken(AuthenticatedUser user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .subject(userDetails.getUsername())
+                .id(UUID.randomUUID().toString())
+                .subject(user.username())
+                .claim(AuthenticatedUser.ID_CLAIM, user.id())
+                .claim(AuthenticatedUser.ROLES_CLAIM, user.roles().stream().map(Role::name).sorted().toList())
+                .claim(AuthenticatedUser.ISSUED_AT_MS_CLAIM, now.getTime())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -56,41 +131,45 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Extract the username from a JWT token.
-     *
-     * @param token the JWT token
-     * @return the username contained in the token
+     * Lifetime of the access tokens issued.
      */
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+    public Duration accessTokenTtl() {
+        return Duration.ofMillis(jwtExpirationMs);
     }
 
     /**
-     * Validate the given JWT token.
+     * Verify a JWT token and return its claims, in a single pass.
      *
-     * @param token the JWT token to validate
-     * @return true if the token is valid, false otherwise
+     * @param token the JWT token
+     * @return the verified claims, or empty if the token is invalid or expired
      */
-    public boolean validateToken(String token) {
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = hash(token);
+        Claims cached = verifiedClaims.getIfPresent(key);
+        if (cached != null) {
+            // Entries expire with their token, but only to the cache's precision
+            if (cached.getExpiration() == null || cached.getExpiration().after(new Date())) {
+                return Optional.of(cached);
+            }
+            verifiedClaims.invalidate(key);
+            return Optional.empty();
+        }
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            verifiedClaims.put(key, claims);
+            return Optional.of(claims);
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -102,16 +181,40 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     /**
-     * Get the signing key for JWT token generation and validation.
+     * Extract the username from a JWT token.
      *
-     * @return the secret key
+     * @param token the JWT token
+     * @return the username contained in the token, or null if the token is invalid
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public String getUsernameFromToken(String token) {
+        return parseClaims(token).map(Claims::getSubject).orElse(null);
+    }
+
+    /**
+     * Validate the given JWT token.
+     *
+     * @param token the JWT token to validate
+     * @return true if the token is valid, false otherwise
+     */
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    /**
+     * Base64 encoded SHA-256 hash of a token, under which tokens are cached
+     * and stored instead of the tokens themselves.
+     */
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
     }
 }
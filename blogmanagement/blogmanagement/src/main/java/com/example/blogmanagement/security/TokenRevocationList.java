@@ -0,0 +1,185 @@
+package com.example.blogmanagement.security;
+
+import com.example.blogmanagement.entity.TokenRevocation;
+import com.example.blogmanagement.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked access tokens, checked on every authenticated request without
+ * touching the database.
+ *
+ * Revocations are stored in PostgreSQL and replicated to every instance by
+ * polling for new rows. In memory, revoked token identifiers sit behind a
+ * Bloom filter, so the common case of a token that was never revoked is
+ * answered by a few bit tests; the exact set only confirms filter hits.
+ * Revocations of all tokens of a user are held as a cutoff time per user.
+ * A revocation made on another instance takes effect here within one poll
+ * interval; one made here takes effect immediately.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    // Rows committed shortly before the previous poll may carry an earlier
+    // revocation time, so each poll looks back this far
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+
+    private final TokenRevocationRepository revocationRepository;
+    private final Duration accessTokenTtl;
+
+    // Revoked token identifier -> expiry in epoch milliseconds
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // User identifier -> tokens issued up to this epoch millisecond are revoked
+    private final Map<Long, Long> userCutoffs = new ConcurrentHashMap<>();
+    // Guards adding to revokedTokens and the filter against a concurrent rebuild
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter filter = new BloomFilter(1024);
+    // Null until the first poll
+    private volatile LocalDateTime lastPoll;
+
+    public TokenRevocationList(TokenRevocationRepository revocationRepository,
+                               @Value("${jwt.expiration-ms}") long accessTokenTtlMs) {
+        this.revocationRepository = revocationRepository;
+        this.accessTokenTtl = Duration.ofMillis(accessTokenTtlMs);
+    }
+
+    @PostConstruct
+    void load() {
+        poll();
+    }
+
+    /**
+     * Whether the token with the given verified claims has been revoked.
+     */
+    public boolean isRevoked(Claims claims) {
+        Long userId = claims.get(AuthenticatedUser.ID_CLAIM, Long.class);
+        Long issuedAt = issuedAtMillis(claims);
+        if (userId != null && issuedAt != null) {
+            Long cutoff = userCutoffs.get(userId);
+            if (cutoff != null && issuedAt <= cutoff) {
+                return true;
+            }
+        }
+        String tokenId = claims.getId();
+        return tokenId != null && filter.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke a single access token.
+     *
+     * @param tokenId the token's {@code jti} claim
+     * @param userId the user the token was issued to
+     * @param expiresAt the token's expiration
+     */
+    public void revokeToken(String tokenId, Long userId, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        TokenRevocation revocation = revocationRepository.save(TokenRevocation.builder()
+                .tokenId(tokenId)
+                .userId(userId)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(expiry)
+                .build());
+        apply(revocation);
+    }
+
+    /**
+     * Revoke every access token of a user issued until now.
+     */
+    public void revokeAll(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenRevocation revocation = revocationRepository.save(TokenRevocation.builder()
+                .userId(userId)
+                .revokedAt(now)
+                // Tokens issued up to now have all expired by then
+                .expiresAt(now.plus(accessTokenTtl))
+                .build());
+        apply(revocation);
+    }
+
+    /**
+     * Pick up revocations made by other instances.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval:PT2S}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        // The first poll loads every revocation still in effect
+        LocalDateTime since = lastPoll == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : lastPoll.minus(POLL_OVERLAP);
+        revocationRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, now).forEach(this::apply);
+        lastPoll = now;
+    }
+
+    /**
+     * Forget revocations of tokens that have expired anyway, and rebuild the
+     * filter without them.
+     */
+    public void dropExpired() {
+        long now = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            revokedTokens.values().removeIf(expiry -> expiry < now);
+            userCutoffs.values().removeIf(cutoff -> cutoff + accessTokenTtl.toMillis() < now);
+            rebuildFilter(revokedTokens.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void apply(TokenRevocation revocation) {
+        long revokedAt = toEpochMilli(revocation.getRevokedAt());
+        if (revocation.getTokenId() == null) {
+            userCutoffs.merge(revocation.getUserId(), revokedAt, Math::max);
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (revokedTokens.put(revocation.getTokenId(), toEpochMilli(revocation.getExpiresAt())) == null) {
+                if (revokedTokens.size() > filter.capacity()) {
+                    rebuildFilter(revokedTokens.size());
+                } else {
+                    filter.put(revocation.getTokenId());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rebuildFilter(int size) {
+        BloomFilter rebuilt = new BloomFilter(size * 2);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        log.debug("Rebuilt token revocation filter for {} tokens", size);
+    }
+
+    /**
+     * Issue time of a token in epoch milliseconds. Compared with the cutoff,
+     * the second-precision {@code iat} claim would revoke a token issued just
+     * after a revocation of all tokens within the same second.
+     */
+    private static Long issuedAtMillis(Claims claims) {
+        Long issuedAt = claims.get(AuthenticatedUser.ISSUED_AT_MS_CLAIM, Long.class);
+        if (issuedAt != null) {
+            return issuedAt;
+        }
+        // Tokens issued before the claim was added
+        Date iat = claims.getIssuedAt();
+        return iat == null ? null : iat.getTime();
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
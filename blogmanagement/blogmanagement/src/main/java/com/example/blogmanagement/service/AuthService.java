@@ -0,0 +1,50 @@
+package com.example.blogmanagement.service;
+
+import com.example.blogmanagement.dto.AuthResponse;
+import com.example.blogmanagement.entity.User;
+
+/**
+ * Service interface for issuing and revoking the tokens of user sessions.
+ * A session starts with a short-lived access token and a single-use refresh
+ * token; each refresh replaces both.
+ */
+public interface AuthService {
+
+    /**
+     * Start a session for a user whose credentials have been checked.
+     *
+     * @param user the authenticated user
+     * @return access and refresh token with the user's details
+     */
+    AuthResponse issueTokens(User user);
+
+    /**
+     * Exchange a refresh token for a new access and refresh token. Presenting
+     * a refresh token that was already used revokes all sessions of its
+     * user, as the token may have been stolen.
+     *
+     * @param refreshToken refresh token of the session
+     * @return the new tokens with the user's details
+     */
+    AuthResponse refresh(String refreshToken);
+
+    /**
+     * End the session of the current request: revoke its access token and,
+     * if given, its refresh token.
+     *
+     * @param refreshToken refresh token of the session; may be null
+     */
+    void logout(String refreshToken);
+
+    /**
+     * Revoke all access and refresh tokens of the current user.
+     */
+    void revokeAllSessions();
+
+    /**
+     * Revoke all access and refresh tokens of a user.
+     *
+     * @param userId identifier of the user
+     */
+    void revokeAllSessions(Long userId);
+}
@@ -4,6 +4,8 @@ import com.example.blogmanagement.dto.CommentRequestDto;
 import com.example.blogmanagement.dto.CommentResponseDto;
 import com.example.blogmanagement.dto.PagedResponse;
 
+import java.time.LocalDateTime;
+
 /**
  * Service interface for managing comments on blog posts.
  */
@@ -25,6 +27,15 @@ public interface CommentService {
      */
     CommentResponseDto getComment(String commentId);
 
+    /**
+     * Retrieve the time at which any comment of a post last changed, for
+     * answering conditional requests on the post's comment pages.
+     *
+     * @param postId identifier of the post
+     * @return timestamp of the last comment change
+     */
+    LocalDateTime getCommentsLastModified(String postId);
+
     /**
      * Update an existing comment.
      *
@@ -50,4 +61,43 @@ public interface CommentService {
      * @return paginated response containing comment DTOs
      */
     PagedResponse<CommentResponseDto> listCommentsByPostId(String postId, int page, int size);
-}
\ No newline at end of file
+
+    /**
+     * List comments belonging to a specific post using keyset pagination,
+     * oldest first. Totals are only counted when requested.
+     *
+     * @param postId identifier of the post whose comments should be retrieved
+     * @param cursor opaque cursor returned with the previous page, or empty for the first page
+     * @param size page size
+     * @param includeTotals whether to count the total number of comments
+     * @return paginated response carrying the cursor of the next page
+     */
+    PagedResponse<CommentResponseDto> listCommentsByPostIdAndCursor(String postId, String cursor, int size,
+                                                                    boolean includeTotals);
+
+    /**
+     * List the top-level comments of a post in thread order, each with its
+     * number of replies and its first replies.
+     *
+     * @param postId identifier of the post whose comments should be retrieved
+     * @param cursor opaque cursor returned with the previous page, or empty for the first page
+     * @param size number of top-level comments per page
+     * @param replies number of replies to include per top-level comment
+     * @return paginated response carrying the cursor of the next page
+     */
+    PagedResponse<CommentResponseDto> listThreads(String postId, String cursor, int size, int replies);
+
+    /**
+     * List the replies to a comment at any depth in thread order: each reply
+     * is followed by its own replies.
+     *
+     * @param commentId identifier of the comment whose replies should be retrieved
+     * @param cursor opaque cursor returned with the previous page, or empty for the first page
+     * @param size page size
+     * @param depth maximum nesting below the comment to include, or null for all levels
+     * @param includeTotals whether to count the total number of replies
+     * @return paginated response carrying the cursor of the next page
+     */
+    PagedResponse<CommentResponseDto> listReplies(String commentId, String cursor, int size, Integer depth,
+                                                  boolean includeTotals);
+}
@@ -0,0 +1,22 @@
+package com.example.blogmanagement.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting all content.
+ */
+public interface ExportService {
+
+    /**
+     * Write every post as one line of NDJSON, optionally with its comments
+     * nested in a {@code comments} array. Documents are streamed from MongoDB
+     * cursors straight to the output, so memory use does not depend on the
+     * number of posts or comments.
+     *
+     * @param out destination of the export; not closed
+     * @param includeComments whether to nest the comments of each post
+     * @throws IOException if writing to the output fails
+     */
+    void exportNdjson(OutputStream out, boolean includeComments) throws IOException;
+}
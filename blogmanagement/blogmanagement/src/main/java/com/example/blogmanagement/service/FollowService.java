@@ -0,0 +1,22 @@
+package com.example.blogmanagement.service;
+
+/**
+ * Service interface for the follow relationships between users. Follows are
+ * made by the authenticated user.
+ */
+public interface FollowService {
+
+    /**
+     * Follow another user. Their recent posts are added to the caller's feed.
+     *
+     * @param followeeId identifier of the user to follow
+     */
+    void follow(Long followeeId);
+
+    /**
+     * Stop following a user. Their posts are removed from the caller's feed.
+     *
+     * @param followeeId identifier of the user to unfollow
+     */
+    void unfollow(Long followeeId);
+}
@@ -0,0 +1,22 @@
+package com.example.blogmanagement.service;
+
+import com.example.blogmanagement.dto.ImportReportDto;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk importing content from other platforms.
+ */
+public interface ImportService {
+
+    /**
+     * Import posts and comments from an NDJSON stream, one
+     * {@link com.example.blogmanagement.dto.ImportRecord} per line. The stream
+     * may be gzip compressed. It is processed in fixed-size chunks, so memory
+     * use does not depend on its length.
+     *
+     * @param body the NDJSON content
+     * @return counts of imported and rejected lines
+     */
+    ImportReportDto importNdjson(InputStream body);
+}
@@ -1,9 +1,13 @@
 package com.example.blogmanagement.service;
 
 import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostDeletionDto;
+import com.example.blogmanagement.dto.PostFieldSet;
 import com.example.blogmanagement.dto.PostRequestDto;
 import com.example.blogmanagement.dto.PostResponseDto;
 
+import java.util.List;
+
 /**
  * Service interface for managing blog posts stored in MongoDB.
  */
@@ -18,13 +22,23 @@ public interface PostService {
     PostResponseDto createPost(PostRequestDto request);
 
     /**
-     * Retrieve a single post by its identifier.
+     * Retrieve a single post by its identifier and count a view of it.
      *
      * @param postId unique identifier of the post
-     * @return the corresponding response DTO
+     * @return the corresponding response DTO, carrying the version it was built from
      */
     PostResponseDto getPost(String postId);
 
+    /**
+     * Retrieve the posts with the highest trending score: the most viewed,
+     * with recent views weighing exponentially more than older ones.
+     *
+     * @param limit maximum number of posts to return
+     * @param fields response fields to populate
+     * @return trending posts, highest score first
+     */
+    List<PostResponseDto> listTrending(int limit, PostFieldSet fields);
+
     /**
      * Update an existing post.
      *
@@ -35,19 +49,67 @@ public interface PostService {
     PostResponseDto updatePost(String postId, PostRequestDto request);
 
     /**
-     * Delete a post and cascade deletion to its comments.
+     * Retrieve a page of one author's posts using keyset pagination, newest
+     * first.
+     *
+     * @param authorId identifier of the author
+     * @param cursor nextCursor of the previous page; null or empty for the first page
+     * @param size page size
+     * @param includeTotals whether to count the author's posts
+     * @param fields response fields to populate
+     * @return a page of posts with the cursor of the next page
+     */
+    PagedResponse<PostResponseDto> listPostsByAuthor(Long authorId, String cursor, int size, boolean includeTotals,
+                                                    PostFieldSet fields);
+
+    /**
+     * Retrieve a page of the authenticated user's home feed: posts of the
+     * accounts the user follows, newest first, using keyset pagination.
+     *
+     * @param cursor nextCursor of the previous page; null or empty for the first page
+     * @param size page size
+     * @param fields response fields to populate
+     * @return a page of posts with the cursor of the next page
+     */
+    PagedResponse<PostResponseDto> listFeed(String cursor, int size, PostFieldSet fields);
+
+    /**
+     * Delete a post. The post disappears from all reads immediately; its
+     * comments are removed in the background.
      *
      * @param postId unique identifier of the post to delete
      */
     void deletePost(String postId);
 
+    /**
+     * List deleted posts whose comments are still being removed, oldest first.
+     *
+     * @param limit maximum number of deletions to return
+     * @return progress of the pending deletions
+     */
+    List<PostDeletionDto> listPendingDeletions(int limit);
+
     /**
      * Retrieve a paginated list of posts, optionally filtering by a search keyword.
      *
      * @param page zero-based page index
      * @param size page size
      * @param search optional search term for title or content
+     * @param fields response fields to populate; only these are loaded from the database
      * @return a paged response containing the posts
      */
-    PagedResponse<PostResponseDto> listPosts(int page, int size, String search);
+    PagedResponse<PostResponseDto> listPosts(int page, int size, String search, PostFieldSet fields);
+
+    /**
+     * Retrieve a page of posts using keyset pagination, newest first. Unlike
+     * {@link #listPosts(int, int, String, PostFieldSet)} the cost of a page does not grow
+     * with its depth, and totals are only counted when requested.
+     *
+     * @param cursor opaque cursor returned with the previous page, or empty for the first page
+     * @param size page size
+     * @param includeTotals whether to count the total number of posts
+     * @param fields response fields to populate; only these are loaded from the database
+     * @return a paged response carrying the cursor of the next page
+     */
+    PagedResponse<PostResponseDto> listPostsByCursor(String cursor, int size, boolean includeTotals, PostFieldSet fields);
 }
\ No newline at end of file
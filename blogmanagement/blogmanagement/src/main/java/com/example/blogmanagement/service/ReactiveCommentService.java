@@ -0,0 +1,25 @@
+package com.example.blogmanagement.service;
+
+import com.example.blogmanagement.dto.CommentResponseDto;
+import com.example.blogmanagement.dto.PagedResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the read operations of {@link CommentService}.
+ * Only available with the document comment storage.
+ */
+public interface ReactiveCommentService {
+
+    /**
+     * List comments belonging to a specific post using keyset pagination,
+     * oldest first.
+     *
+     * @param postId identifier of the post whose comments should be retrieved
+     * @param cursor opaque cursor returned with the previous page, or empty for the first page
+     * @param size page size
+     * @param includeTotals whether to count the total number of comments
+     * @return paginated response carrying the cursor of the next page
+     */
+    Mono<PagedResponse<CommentResponseDto>> listCommentsByPostIdAndCursor(String postId, String cursor, int size,
+                                                                          boolean includeTotals);
+}
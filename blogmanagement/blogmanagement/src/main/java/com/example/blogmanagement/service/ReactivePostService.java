@@ -0,0 +1,33 @@
+package com.example.blogmanagement.service;
+
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostFieldSet;
+import com.example.blogmanagement.dto.PostResponseDto;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the read operations of {@link PostService}. The
+ * results are the same; no thread is held while MongoDB is queried.
+ */
+public interface ReactivePostService {
+
+    /**
+     * Retrieve a single post by its identifier.
+     *
+     * @param postId unique identifier of the post
+     * @return the corresponding response DTO, or an error if the post does not exist
+     */
+    Mono<PostResponseDto> getPost(String postId);
+
+    /**
+     * Retrieve a page of posts using keyset pagination, newest first.
+     *
+     * @param cursor opaque cursor returned with the previous page, or empty for the first page
+     * @param size page size
+     * @param includeTotals whether to count the total number of posts
+     * @param fields response fields to populate; only these are loaded from the database
+     * @return a paged response carrying the cursor of the next page
+     */
+    Mono<PagedResponse<PostResponseDto>> listPostsByCursor(String cursor, int size, boolean includeTotals,
+                                                           PostFieldSet fields);
+}
@@ -0,0 +1,141 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.dto.AuthResponse;
+import com.example.blogmanagement.entity.RefreshToken;
+import com.example.blogmanagement.entity.User;
+import com.example.blogmanagement.exception.UnauthorizedException;
+import com.example.blogmanagement.repository.RefreshTokenRepository;
+import com.example.blogmanagement.repository.UserRepository;
+import com.example.blogmanagement.security.AuthenticatedUser;
+import com.example.blogmanagement.security.JwtTokenProvider;
+import com.example.blogmanagement.security.TokenRevocationList;
+import com.example.blogmanagement.service.AuthService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link AuthService}. Access tokens are JWTs from
+ * {@link JwtTokenProvider}, revoked through the {@link TokenRevocationList};
+ * refresh tokens are random values stored as hashes in PostgreSQL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthServiceImpl implements AuthService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList revocationList;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    @Value("${jwt.refresh-expiration:P14D}")
+    private Duration refreshTokenTtl;
+
+    @Override
+    public AuthResponse issueTokens(User user) {
+        AuthenticatedUser principal = AuthenticatedUser.of(user);
+        return AuthResponse.builder()
+                .accessToken(jwtTokenProvider.generateToken(principal))
+                .tokenType("Bearer")
+                .expiresIn(jwtTokenProvider.accessTokenTtl().toSeconds())
+                .refreshToken(newRefreshToken(user.getId()))
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .roles(principal.authorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toSet()))
+                .build();
+    }
+
+    @Override
+    public AuthResponse refresh(String refreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(JwtTokenProvider.hash(refreshToken))
+                .orElseThrow(() -> new CredentialsExpiredException("Invalid refresh token"));
+        if (stored.getReplacedAt() != null) {
+            log.warn("Refresh token of user {} used again, revoking all sessions", stored.getUserId());
+            revokeAllSessions(stored.getUserId());
+            throw new CredentialsExpiredException("Refresh token has already been used");
+        }
+        // Revoked by logging out, e.g. a second tab still holding it: not a sign of theft
+        if (stored.getRevokedAt() != null) {
+            throw new CredentialsExpiredException("Refresh token has been revoked");
+        }
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw new CredentialsExpiredException("Refresh token has expired");
+        }
+        // Only one of several concurrent refreshes with the same token wins
+        if (refreshTokenRepository.replace(stored.getId(), now) == 0) {
+            throw new CredentialsExpiredException("Refresh token has already been used");
+        }
+        // Loaded again so that the new access token carries the current roles
+        User user = userRepository.findById(stored.getUserId())
+                .orElseThrow(() -> new CredentialsExpiredException("Invalid refresh token"));
+        return issueTokens(user);
+    }
+
+    @Override
+    public void logout(String refreshToken) {
+        Authentication authentication = currentAuthentication();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        if (authentication.getCredentials() instanceof Claims claims && claims.getId() != null) {
+            revocationList.revokeToken(claims.getId(), user.id(), claims.getExpiration());
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(JwtTokenProvider.hash(refreshToken))
+                    .filter(stored -> stored.getUserId().equals(user.id()))
+                    .ifPresent(stored -> refreshTokenRepository.revoke(stored.getId(), LocalDateTime.now()));
+        }
+    }
+
+    @Override
+    public void revokeAllSessions() {
+        revokeAllSessions(((AuthenticatedUser) currentAuthentication().getPrincipal()).id());
+    }
+
+    @Override
+    public void revokeAllSessions(Long userId) {
+        refreshTokenRepository.revokeAllOfUser(userId, LocalDateTime.now());
+        revocationList.revokeAll(userId);
+    }
+
+    /**
+     * Create and store a refresh token. Only its hash is stored.
+     */
+    private String newRefreshToken(Long userId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(JwtTokenProvider.hash(token))
+                .expiresAt(LocalDateTime.now().plus(refreshTokenTtl))
+                .build());
+        return token;
+    }
+
+    private static Authentication currentAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser)) {
+            throw new UnauthorizedException("You must be logged in to perform this action");
+        }
+        return authentication;
+    }
+}
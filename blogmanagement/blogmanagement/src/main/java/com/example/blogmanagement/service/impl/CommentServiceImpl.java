@@ -1,19 +1,29 @@
 package com.example.blogmanagement.service.impl;
 
+import com.example.blogmanagement.batch.CommentBatchWriter;
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.TieredCache;
 import com.example.blogmanagement.dto.CommentRequestDto;
 import com.example.blogmanagement.dto.CommentResponseDto;
 import com.example.blogmanagement.dto.PagedResponse;
 import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
 import com.example.blogmanagement.entity.Role;
-import com.example.blogmanagement.entity.User;
 import com.example.blogmanagement.exception.ResourceNotFoundException;
 import com.example.blogmanagement.exception.BadRequestException;
 import com.example.blogmanagement.exception.UnauthorizedException;
 import com.example.blogmanagement.repository.CommentRepository;
+import com.example.blogmanagement.repository.CommentRepositoryCustom.ReplyPreview;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.repository.PageCursor;
+import com.example.blogmanagement.repository.PathCursor;
 import com.example.blogmanagement.repository.PostRepository;
 import com.example.blogmanagement.repository.UserRepository;
+import com.example.blogmanagement.security.AuthenticatedUser;
 import com.example.blogmanagement.service.CommentService;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,7 +32,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -33,42 +50,131 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
+    private final CommentStorage commentStorage;
+    private final Optional<CommentBatchWriter> batchWriter;
+    private final StoreCalls storeCalls;
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final AuthorDirectory authorDirectory;
+    private final TieredCache<Comment> commentCache;
+    private final TieredCache<Post> postCache;
+
+    @Value("${blog.comments.max-depth:16}")
+    private int maxDepth;
+
+    @Value("${blog.comments.max-preview-replies:10}")
+    private int maxPreviewReplies;
 
     @Override
     public CommentResponseDto createComment(CommentRequestDto request) {
-        // Verify the referenced post exists
-        postRepository.findById(request.getPostId())
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-        // Verify the author exists
-        userRepository.findById(request.getAuthorId())
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
+        // Top-level comments can be written by the group commit, which checks
+        // the post and the author for the whole batch
+        if (request.getParentId() == null && batchWriter.isPresent()) {
+            CompletableFuture<Comment> stored = batchWriter.get().submit(newComment(request, null));
+            if (stored != null) {
+                return mapToResponse(await(stored));
+            }
+        }
+
+        if (request.getParentId() != null) {
+            requireThreads();
+        }
+        // Verify that the post, the author and the parent exist, querying
+        // MongoDB and PostgreSQL at the same time
+        Comment parent;
+        try (StoreCalls.Scope scope = storeCalls.open()) {
+            scope.fork(() -> postRepository.findLiveById(request.getPostId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Post not found")));
+            scope.fork(() -> userRepository.findById(request.getAuthorId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Author not found")));
+            Supplier<Comment> parentLookup = request.getParentId() == null
+                    ? () -> null
+                    : scope.fork(() -> commentRepository.findById(request.getParentId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Parent comment not found")));
+            scope.join();
+            parent = parentLookup.get();
+        }
+        if (parent != null) {
+            if (!parent.getPostId().equals(request.getPostId())) {
+                throw new BadRequestException("Parent comment belongs to another post");
+            }
+            if (parent.getDepth() >= maxDepth) {
+                throw new BadRequestException("Replies cannot be nested more than " + maxDepth + " levels deep");
+            }
+        }
+
+        Comment saved = commentStorage.insert(newComment(request, parent));
+        commentsChanged(saved.getPostId(), 1);
+        return mapToResponse(saved);
+    }
 
-        Comment comment = Comment.builder()
+    /**
+     * Build a new comment from a request, placed under the given parent.
+     */
+    private Comment newComment(CommentRequestDto request, Comment parent) {
+        // The identifier is assigned here because it is the last segment of the
+        // path. Auditing skips documents that have one, so the timestamps are too.
+        String id = new ObjectId().toHexString();
+        LocalDateTime now = LocalDateTime.now();
+        return Comment.builder()
+                .id(id)
                 .postId(request.getPostId())
+                .parentId(request.getParentId())
+                .path(Comment.pathOf(parent, id))
+                .depth(parent == null ? 0 : parent.getDepth() + 1)
                 .authorId(request.getAuthorId())
                 .content(request.getContent())
+                .createdAt(now)
+                .updatedAt(now)
                 .build();
-        Comment saved = commentRepository.save(comment);
-        return mapToResponse(saved);
+    }
+
+    /**
+     * Wait for a group commit, rethrowing its failure as is.
+     */
+    private static Comment await(CompletableFuture<Comment> stored) {
+        try {
+            return stored.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
     }
 
     @Override
     public CommentResponseDto getComment(String commentId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+        Comment comment = commentCache.get(commentId, id -> commentStorage.findById(id).orElse(null));
+        // Comments of a deleted post are removed in the background and may
+        // still exist or be cached; the (cached) post lookup hides them.
+        if (comment == null || findCachedPost(comment.getPostId()) == null) {
+            throw new ResourceNotFoundException("Comment not found");
+        }
         return mapToResponse(comment);
     }
 
+    @Override
+    public LocalDateTime getCommentsLastModified(String postId) {
+        Post post = postCache.getIfPresent(postId);
+        if (post == null) {
+            post = postRepository.findVersionById(postId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        }
+        // Posts whose comments have not changed since the field was introduced
+        // fall back to the post's own timestamp
+        return post.getCommentsUpdatedAt() != null ? post.getCommentsUpdatedAt() : post.getUpdatedAt();
+    }
+
     @Override
     public CommentResponseDto updateComment(String commentId, CommentRequestDto request) {
-        Comment existing = commentRepository.findById(commentId)
+        Comment existing = commentStorage.findById(commentId)
+                .filter(comment -> findCachedPost(comment.getPostId()) != null)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
         
         // Check authorization - user must own the comment or be an admin
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
         if (!canModifyComment(currentUser, existing)) {
             throw new UnauthorizedException("You are not authorized to update this comment");
         }
@@ -82,58 +188,248 @@ public class CommentServiceImpl implements CommentService {
         if (!existing.getAuthorId().equals(request.getAuthorId())) {
             throw new BadRequestException("Author of a comment cannot be changed");
         }
+        if (request.getParentId() != null && !request.getParentId().equals(existing.getParentId())) {
+            throw new BadRequestException("Parent of a comment cannot be changed");
+        }
         existing.setContent(request.getContent());
-        Comment updated = commentRepository.save(existing);
+        Comment updated = commentStorage.updateContent(existing);
+        commentCache.invalidate(commentId);
+        commentsChanged(updated.getPostId(), 0);
         return mapToResponse(updated);
     }
 
     @Override
     public void deleteComment(String commentId) {
-        Comment existing = commentRepository.findById(commentId)
+        Comment existing = commentStorage.findById(commentId)
+                .filter(comment -> findCachedPost(comment.getPostId()) != null)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
         
         // Check authorization - user must own the comment or be an admin
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
         if (!canModifyComment(currentUser, existing)) {
             throw new UnauthorizedException("You are not authorized to delete this comment");
         }
         
-        commentRepository.delete(existing);
+        CommentStorage.Removal removal = commentStorage.delete(existing);
+        removal.ids().forEach(commentCache::invalidate);
+        commentsChanged(existing.getPostId(), -removal.count());
     }
 
     @Override
     public PagedResponse<CommentResponseDto> listCommentsByPostId(String postId, int page, int size) {
-        // Ensure the post exists before listing comments to return 404 if not found
-        postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "createdAt"));
-        Page<Comment> commentPage = commentRepository.findByPostId(postId, pageable);
-        List<CommentResponseDto> content = commentPage.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // The post is checked while its comments are read; a missing post fails with 404
+        Page<Comment> commentPage;
+        try (StoreCalls.Scope scope = storeCalls.open()) {
+            scope.fork(() -> postRepository.findLiveById(postId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post not found")));
+            Supplier<Page<Comment>> comments = scope.fork(() -> commentStorage.findByPostId(postId, pageable));
+            scope.join();
+            commentPage = comments.get();
+        }
+        List<CommentResponseDto> content = mapToResponses(commentPage.getContent());
         boolean last = commentPage.getNumber() >= commentPage.getTotalPages() - 1;
-        return new PagedResponse<>(
-                content,
-                commentPage.getNumber(),
-                commentPage.getSize(),
-                commentPage.getTotalElements(),
-                commentPage.getTotalPages(),
-                last);
+        return PagedResponse.<CommentResponseDto>builder()
+                .content(content)
+                .page(commentPage.getNumber())
+                .size(commentPage.getSize())
+                .totalElements(commentPage.getTotalElements())
+                .totalPages(commentPage.getTotalPages())
+                .last(last)
+                .build();
+    }
+
+    @Override
+    public PagedResponse<CommentResponseDto> listCommentsByPostIdAndCursor(String postId, String cursor, int size,
+                                                                           boolean includeTotals) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        PageCursor after = PageCursor.decodeOrBadRequest(cursor);
+        // The post check, the page and the count run at the same time; a
+        // missing post fails with 404. One extra comment is fetched to find
+        // out whether another page follows.
+        List<Comment> comments;
+        Long total;
+        try (StoreCalls.Scope scope = storeCalls.open()) {
+            scope.fork(() -> postRepository.findLiveById(postId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post not found")));
+            Supplier<List<Comment>> page = scope.fork(() -> commentStorage.findByPostIdAfter(postId, after, size + 1));
+            Supplier<Long> count = includeTotals ? scope.fork(() -> commentStorage.countByPostId(postId)) : () -> null;
+            scope.join();
+            comments = page.get();
+            total = count.get();
+        }
+        boolean last = comments.size() <= size;
+        if (!last) {
+            comments = comments.subList(0, size);
+        }
+        PagedResponse.PagedResponseBuilder<CommentResponseDto> response = PagedResponse.<CommentResponseDto>builder()
+                .content(mapToResponses(comments))
+                .size(size)
+                .last(last);
+        if (!last) {
+            Comment tail = comments.get(comments.size() - 1);
+            response.nextCursor(new PageCursor(tail.getCreatedAt(), tail.getId()).encode());
+        }
+        if (total != null) {
+            response.totalElements(total).totalPages((int) ((total + size - 1) / size));
+        }
+        return response.build();
+    }
+
+    @Override
+    public PagedResponse<CommentResponseDto> listThreads(String postId, String cursor, int size, int replies) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        if (replies < 0 || replies > maxPreviewReplies) {
+            throw new BadRequestException("Replies per comment must be between 0 and " + maxPreviewReplies);
+        }
+        requireThreads();
+        PathCursor after = decodePathCursor(cursor);
+        postRepository.findLiveById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        List<Comment> roots = commentRepository.findTopLevelAfter(postId, after != null ? after.path() : null,
+                size + 1);
+        boolean last = roots.size() <= size;
+        if (!last) {
+            roots = roots.subList(0, size);
+        }
+        Map<String, ReplyPreview> previews = commentRepository.findReplyPreviews(postId, roots, replies);
+
+        // Resolve the authors of the comments and of their replies together
+        List<Comment> all = new ArrayList<>(roots);
+        previews.values().forEach(preview -> all.addAll(preview.replies()));
+        Map<Long, String> usernames = authorDirectory.resolveUsernames(
+                all.stream().map(Comment::getAuthorId).collect(Collectors.toList()));
+        List<CommentResponseDto> content = new ArrayList<>(roots.size());
+        for (Comment root : roots) {
+            ReplyPreview preview = previews.get(root.getId());
+            CommentResponseDto dto = mapToResponse(root, usernames.get(root.getAuthorId()));
+            dto.setReplyCount(preview != null ? preview.replyCount() : 0L);
+            dto.setReplies(preview == null ? List.of() : preview.replies().stream()
+                    .map(reply -> mapToResponse(reply, usernames.get(reply.getAuthorId())))
+                    .collect(Collectors.toList()));
+            content.add(dto);
+        }
+        PagedResponse.PagedResponseBuilder<CommentResponseDto> response = PagedResponse.<CommentResponseDto>builder()
+                .content(content)
+                .size(size)
+                .last(last);
+        if (!last) {
+            response.nextCursor(new PathCursor(roots.get(roots.size() - 1).getPath()).encode());
+        }
+        return response.build();
+    }
+
+    @Override
+    public PagedResponse<CommentResponseDto> listReplies(String commentId, String cursor, int size, Integer depth,
+                                                         boolean includeTotals) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        if (depth != null && depth < 1) {
+            throw new BadRequestException("Depth must be at least 1");
+        }
+        requireThreads();
+        PathCursor after = decodePathCursor(cursor);
+        Comment root = commentRepository.findById(commentId)
+                .filter(comment -> findCachedPost(comment.getPostId()) != null)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+        if (after != null && !after.path().startsWith(root.getPath() + Comment.PATH_SEPARATOR)) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+        List<Comment> replies = commentRepository.findRepliesAfter(root, after != null ? after.path() : null,
+                depth, size + 1);
+        boolean last = replies.size() <= size;
+        if (!last) {
+            replies = replies.subList(0, size);
+        }
+        PagedResponse.PagedResponseBuilder<CommentResponseDto> response = PagedResponse.<CommentResponseDto>builder()
+                .content(mapToResponses(replies))
+                .size(size)
+                .last(last);
+        if (!last) {
+            response.nextCursor(new PathCursor(replies.get(replies.size() - 1).getPath()).encode());
+        }
+        if (includeTotals) {
+            long total = commentRepository.countReplies(root);
+            response.totalElements(total).totalPages((int) ((total + size - 1) / size));
+        }
+        return response.build();
+    }
+
+    /**
+     * Reject thread operations when the configured comment storage does not
+     * keep the reply structure.
+     */
+    private void requireThreads() {
+        if (!commentStorage.supportsThreads()) {
+            throw new BadRequestException("Replies are not supported by the configured comment storage");
+        }
+    }
+
+    /**
+     * Record a change to the comments of a post: adjust its comment counter
+     * and bump the version seen by conditional requests for its comment pages.
+     */
+    private void commentsChanged(String postId, long delta) {
+        postRepository.recordCommentChange(postId, delta, LocalDateTime.now());
+        postCache.invalidate(postId);
+    }
+
+    /**
+     * Look up a post through the post cache.
+     *
+     * @return the post, or null if it does not exist
+     */
+    private Post findCachedPost(String postId) {
+        return postCache.get(postId, id -> postRepository.findLiveById(id).orElse(null));
+    }
+
+    /**
+     * Decode a client supplied thread cursor. An empty cursor starts from the first page.
+     */
+    private PathCursor decodePathCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return PathCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
     }
 
     /**
      * Map a Comment document to its response DTO representation.
      */
     private CommentResponseDto mapToResponse(Comment comment) {
-        // Fetch the username of the author. The author existence has been validated
-        // on creation/update. If the user cannot be found (edge case), fall back
-        // to null to avoid throwing an exception during mapping.
-        String authorUsername = userRepository.findById(comment.getAuthorId())
-                .map(u -> u.getUsername())
-                .orElse(null);
+        // The author existence has been validated on creation/update. If the user
+        // cannot be found (edge case), the directory falls back to null to avoid
+        // throwing an exception during mapping.
+        return mapToResponse(comment, authorDirectory.getUsername(comment.getAuthorId()));
+    }
+
+    /**
+     * Map a page of comments, resolving all authors with one batched lookup
+     * instead of one query per comment.
+     */
+    private List<CommentResponseDto> mapToResponses(List<Comment> comments) {
+        Map<Long, String> usernames = authorDirectory.resolveUsernames(
+                comments.stream().map(Comment::getAuthorId).collect(Collectors.toList()));
+        return comments.stream()
+                .map(comment -> mapToResponse(comment, usernames.get(comment.getAuthorId())))
+                .collect(Collectors.toList());
+    }
+
+    static CommentResponseDto mapToResponse(Comment comment, String authorUsername) {
         return CommentResponseDto.builder()
                 .id(comment.getId())
                 .postId(comment.getPostId())
+                .parentId(comment.getParentId())
+                .depth(comment.getDepth())
                 .authorUsername(authorUsername)
                 .content(comment.getContent())
                 .createdAt(comment.getCreatedAt())
@@ -145,12 +441,13 @@ public class CommentServiceImpl implements CommentService {
      *
      * @return the current user
      */
-    private User getCurrentUser() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
             throw new UnauthorizedException("You must be logged in to perform this action");
         }
-        return (User) authentication.getPrincipal();
+        return user;
     }
 
     /**
@@ -161,12 +458,12 @@ public class CommentServiceImpl implements CommentService {
      * @param comment the comment to check
      * @return true if the user can modify the comment, false otherwise
      */
-    private boolean canModifyComment(User user, Comment comment) {
+    private boolean canModifyComment(AuthenticatedUser user, Comment comment) {
         // Admin can modify any comment
-        if (user.getRoles().contains(Role.ADMIN)) {
+        if (user.hasRole(Role.ADMIN)) {
             return true;
         }
         // User can modify their own comments
-        return user.getId().equals(comment.getAuthorId());
+        return user.id().equals(comment.getAuthorId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.service.ExportService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link ExportService}.
+ *
+ * Posts are read from a single cursor in identifier order and processed in
+ * windows. For each window, author usernames are resolved in one batch and
+ * the comments of all its posts are read from one cursor sorted by post, so
+ * they can be merged into the post lines as they arrive. Comments of a post
+ * are themselves written in windows, so a post with a very large number of
+ * comments does not have to fit in memory either.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private final MongoTemplate mongoTemplate;
+    private final CommentStorage commentStorage;
+    private final ObjectMapper objectMapper;
+    private final AuthorDirectory authorDirectory;
+
+    @Value("${blog.export.window-size:500}")
+    private int windowSize;
+
+    @Override
+    public void exportNdjson(OutputStream out, boolean includeComments) throws IOException {
+        long started = System.nanoTime();
+        long exported = 0;
+        Query query = new Query(Criteria.where("deletedAt").is(null))
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(windowSize)
+                // A slow client may leave the cursor idle longer than the server's default timeout
+                .noCursorTimeout();
+        try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8);
+             Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated explicitly after each post
+            generator.setRootValueSeparator(null);
+            Iterator<Post> iterator = posts.iterator();
+            List<Post> window = new ArrayList<>(windowSize);
+            while (iterator.hasNext()) {
+                window.add(iterator.next());
+                if (window.size() == windowSize || !iterator.hasNext()) {
+                    writeWindow(generator, window, includeComments);
+                    exported += window.size();
+                    window.clear();
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Exported {} posts in {} ms", exported, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void writeWindow(JsonGenerator generator, List<Post> window, boolean includeComments) throws IOException {
+        Map<Long, String> usernames = authorDirectory.resolveUsernames(
+                window.stream().map(Post::getAuthorId).toList());
+        if (!includeComments) {
+            for (Post post : window) {
+                writePost(generator, post, usernames, null);
+            }
+            return;
+        }
+        // Same order as the posts: both sort by the hexadecimal post identifier
+        try (Stream<Comment> comments = commentStorage.streamByPostIds(
+                window.stream().map(Post::getId).toList(), windowSize)) {
+            CommentCursor cursor = new CommentCursor(comments.iterator());
+            for (Post post : window) {
+                writePost(generator, post, usernames, cursor);
+            }
+        }
+    }
+
+    private void writePost(JsonGenerator generator, Post post, Map<Long, String> usernames,
+                           CommentCursor comments) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "post");
+        generator.writeStringField("id", post.getId());
+        if (post.getSourceRef() != null) {
+            generator.writeStringField("ref", post.getSourceRef());
+        }
+        generator.writeStringField("title", post.getTitle());
+        generator.writeStringField("content", post.getContent());
+        writeAuthor(generator, post.getAuthorId(), usernames);
+        generator.writeNumberField("commentCount", post.getCommentCount());
+        generator.writeObjectField("createdAt", post.getCreatedAt());
+        generator.writeObjectField("updatedAt", post.getUpdatedAt());
+        if (comments != null) {
+            generator.writeArrayFieldStart("comments");
+            List<Comment> batch = new ArrayList<>(windowSize);
+            do {
+                batch.clear();
+                while (batch.size() < windowSize && comments.hasNextFor(post.getId())) {
+                    batch.add(comments.next());
+                }
+                writeComments(generator, batch);
+            } while (batch.size() == windowSize);
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeComments(JsonGenerator generator, List<Comment> comments) throws IOException {
+        if (comments.isEmpty()) {
+            return;
+        }
+        Map<Long, String> usernames = authorDirectory.resolveUsernames(
+                comments.stream().map(Comment::getAuthorId).toList());
+        for (Comment comment : comments) {
+            generator.writeStartObject();
+            generator.writeStringField("id", comment.getId());
+            if (comment.getParentId() != null) {
+                generator.writeStringField("parentId", comment.getParentId());
+            }
+            writeAuthor(generator, comment.getAuthorId(), usernames);
+            generator.writeStringField("content", comment.getContent());
+            generator.writeObjectField("createdAt", comment.getCreatedAt());
+            generator.writeObjectField("updatedAt", comment.getUpdatedAt());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeAuthor(JsonGenerator generator, Long authorId, Map<Long, String> usernames)
+            throws IOException {
+        if (authorId != null) {
+            generator.writeNumberField("authorId", authorId);
+        }
+        generator.writeStringField("authorUsername", usernames.get(authorId));
+    }
+
+    /**
+     * Comment iterator that can look at the next comment without consuming it,
+     * to find where the comments of one post end.
+     */
+    private static final class CommentCursor {
+
+        private final Iterator<Comment> comments;
+        private Comment head;
+
+        CommentCursor(Iterator<Comment> comments) {
+            this.comments = comments;
+        }
+
+        /**
+         * Whether the next comment belongs to the given post. Comments of
+         * posts that sort before it can no longer be written and are skipped.
+         */
+        boolean hasNextFor(String postId) {
+            while (true) {
+                if (head == null) {
+                    if (!comments.hasNext()) {
+                        return false;
+                    }
+                    head = comments.next();
+                }
+                int order = head.getPostId().compareTo(postId);
+                if (order >= 0) {
+                    return order == 0;
+                }
+                head = null;
+            }
+        }
+
+        Comment next() {
+            Comment next = head;
+            head = null;
+            return next;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.entity.Follow;
+import com.example.blogmanagement.entity.User;
+import com.example.blogmanagement.exception.BadRequestException;
+import com.example.blogmanagement.exception.ResourceAlreadyExistsException;
+import com.example.blogmanagement.exception.ResourceNotFoundException;
+import com.example.blogmanagement.exception.UnauthorizedException;
+import com.example.blogmanagement.feed.FeedFanout;
+import com.example.blogmanagement.feed.FeedStore;
+import com.example.blogmanagement.repository.FollowRepository;
+import com.example.blogmanagement.repository.UserRepository;
+import com.example.blogmanagement.security.AuthenticatedUser;
+import com.example.blogmanagement.service.FollowService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementation of {@link FollowService}. The follow rows and the follower
+ * counts of users live in PostgreSQL and are changed in one transaction; the
+ * follower's feed in MongoDB is adjusted afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+public class FollowServiceImpl implements FollowService {
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final FeedFanout feedFanout;
+    private final FeedStore feedStore;
+
+    @Override
+    @Transactional
+    public void follow(Long followeeId) {
+        AuthenticatedUser currentUser = getCurrentUser();
+        if (currentUser.id().equals(followeeId)) {
+            throw new BadRequestException("You cannot follow yourself");
+        }
+        User followee = userRepository.findById(followeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (followRepository.existsByFollowerIdAndFolloweeId(currentUser.id(), followeeId)) {
+            throw new ResourceAlreadyExistsException("You already follow this user");
+        }
+        try {
+            followRepository.saveAndFlush(Follow.builder()
+                    .followerId(currentUser.id())
+                    .followeeId(followeeId)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request created the same follow
+            throw new ResourceAlreadyExistsException("You already follow this user");
+        }
+        userRepository.adjustFollowerCount(followeeId, 1);
+        // Posts of accounts with very many followers are pulled when the feed is read
+        if (!feedFanout.isPulled(followee.getFollowerCount() + 1)) {
+            feedFanout.backfill(currentUser.id(), followeeId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void unfollow(Long followeeId) {
+        AuthenticatedUser currentUser = getCurrentUser();
+        if (followRepository.deleteFollow(currentUser.id(), followeeId) == 0) {
+            throw new ResourceNotFoundException("You do not follow this user");
+        }
+        userRepository.adjustFollowerCount(followeeId, -1);
+        feedStore.removeAuthor(currentUser.id(), followeeId);
+        // The update locks the row, so exactly one unfollow sees the count drop below the threshold
+        long followers = userRepository.findFollowerCount(followeeId);
+        if (feedFanout.isPulled(followers + 1) && !feedFanout.isPulled(followers)) {
+            // After commit, so that the removed follower no longer gets the posts
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    feedFanout.backfillFollowers(followeeId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the currently authenticated user.
+     *
+     * @return the current user
+     */
+    private AuthenticatedUser getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new UnauthorizedException("You must be logged in to perform this action");
+        }
+        return user;
+    }
+}
@@ -0,0 +1,478 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.AuthorTimelineCache;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.dto.ImportErrorDto;
+import com.example.blogmanagement.dto.ImportRecord;
+import com.example.blogmanagement.dto.ImportReportDto;
+import com.example.blogmanagement.exception.BadRequestException;
+import com.example.blogmanagement.feed.FeedFanout;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.search.PostSearchIndex;
+import com.example.blogmanagement.service.ImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Implementation of {@link ImportService}.
+ *
+ * Lines are parsed and validated one at a time and collected into chunks.
+ * A line longer than {@code blog.import.max-line-length} characters is
+ * skipped without being buffered and reported as rejected, so memory use
+ * does not depend on the input.
+ * For each chunk, authors are checked with one batched lookup, referenced
+ * posts are resolved with one query per kind of reference, and posts and
+ * comments are written with bulk writes, so a rejected document does not
+ * stop the rest of its chunk. Identifiers are assigned up front,
+ * which keeps the original creation times (auditing only stamps
+ * {@code createdAt} on documents without an identifier).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportServiceImpl implements ImportService {
+
+    private static final int TITLE_MAX_LENGTH = 255;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuthorDirectory authorDirectory;
+    private final PostSearchIndex postSearchIndex;
+    private final TieredCache<Post> postCache;
+    private final CommentStorage commentStorage;
+    private final AuthorTimelineCache authorTimelineCache;
+    private final FeedFanout feedFanout;
+
+    @Value("${blog.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${blog.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${blog.import.max-line-length:1048576}")
+    private int maxLineLength;
+
+    @Override
+    public ImportReportDto importNdjson(InputStream body) {
+        Progress progress = new Progress(maxReportedErrors);
+        long lineNumber = 0;
+        try (LineReader reader = new LineReader(
+                new InputStreamReader(decompress(body), StandardCharsets.UTF_8), maxLineLength)) {
+            List<Line> chunk = new ArrayList<>(chunkSize);
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (reader.wasTruncated()) {
+                    progress.lines++;
+                    progress.fail(lineNumber, "Line exceeds " + maxLineLength + " characters");
+                    continue;
+                }
+                if (text.isBlank()) {
+                    continue;
+                }
+                progress.lines++;
+                ImportRecord record = parse(lineNumber, text, progress);
+                if (record != null) {
+                    chunk.add(new Line(lineNumber, record));
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, progress);
+        } catch (ZipException ex) {
+            throw new BadRequestException("Request body is not valid gzip data");
+        } catch (IOException ex) {
+            log.warn("Bulk import aborted after line {}", lineNumber, ex);
+            throw new BadRequestException("Could not read the import stream after line " + lineNumber
+                    + "; earlier lines may have been imported");
+        }
+        log.info("Bulk import finished: {} posts and {} comments imported, {} lines rejected",
+                progress.posts, progress.comments, progress.failed);
+        return progress.toReport();
+    }
+
+    /**
+     * Transparently decompress gzip input, recognized by its magic number.
+     */
+    private static InputStream decompress(InputStream body) throws IOException {
+        InputStream in = new BufferedInputStream(body);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(in, 64 * 1024);
+        }
+        return in;
+    }
+
+    /**
+     * Parse and validate a line.
+     *
+     * @return the record, or null if the line was rejected
+     */
+    private ImportRecord parse(long lineNumber, String text, Progress progress) {
+        ImportRecord record;
+        try {
+            record = objectMapper.readValue(text, ImportRecord.class);
+        } catch (JsonProcessingException ex) {
+            progress.fail(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+            return null;
+        }
+        String problem = validate(record);
+        if (problem != null) {
+            progress.fail(lineNumber, problem);
+            return null;
+        }
+        return record;
+    }
+
+    private static String validate(ImportRecord record) {
+        if (record.getAuthorId() == null) {
+            return "Author ID is required";
+        }
+        if (record.getContent() == null || record.getContent().isBlank()) {
+            return "Content is required";
+        }
+        if (ImportRecord.TYPE_POST.equals(record.getType())) {
+            if (record.getTitle() == null || record.getTitle().isBlank()) {
+                return "Title is required";
+            }
+            if (record.getTitle().length() > TITLE_MAX_LENGTH) {
+                return "Title must not exceed " + TITLE_MAX_LENGTH + " characters";
+            }
+            return null;
+        }
+        if (ImportRecord.TYPE_COMMENT.equals(record.getType())) {
+            if ((record.getPostId() == null) == (record.getPostRef() == null)) {
+                return "Exactly one of postId and postRef is required";
+            }
+            return null;
+        }
+        return "Type must be 'post' or 'comment'";
+    }
+
+    private void writeChunk(List<Line> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Long> authorIds = chunk.stream().map(line -> line.record().getAuthorId()).collect(Collectors.toSet());
+        Set<Long> knownAuthors = authorDirectory.resolveUsernames(authorIds).keySet();
+
+        List<Line> posts = new ArrayList<>();
+        List<Line> comments = new ArrayList<>();
+        for (Line line : chunk) {
+            if (!knownAuthors.contains(line.record().getAuthorId())) {
+                progress.fail(line.number(), "Author not found: " + line.record().getAuthorId());
+            } else if (ImportRecord.TYPE_POST.equals(line.record().getType())) {
+                posts.add(line);
+            } else {
+                comments.add(line);
+            }
+        }
+        // Posts go first so that comments later in the chunk can reference them
+        writePosts(posts, progress);
+        writeComments(comments, progress);
+    }
+
+    private void writePosts(List<Line> lines, Progress progress) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Post> posts = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            ImportRecord record = line.record();
+            posts.add(Post.builder()
+                    .id(new ObjectId().toHexString())
+                    .title(record.getTitle())
+                    .content(record.getContent())
+                    .excerpt(Post.excerptOf(record.getContent()))
+                    .sourceRef(record.getRef())
+                    .authorId(record.getAuthorId())
+                    .createdAt(record.getCreatedAt() != null ? record.getCreatedAt() : now)
+                    .updatedAt(now)
+                    .build());
+        }
+        Set<Integer> failed = insertAll(posts, Post.class, lines, progress);
+        List<Post> imported = new ArrayList<>(posts.size());
+        for (int i = 0; i < posts.size(); i++) {
+            if (!failed.contains(i)) {
+                postSearchIndex.index(posts.get(i));
+                imported.add(posts.get(i));
+                progress.posts++;
+            }
+        }
+        imported.stream().map(Post::getAuthorId).distinct().forEach(authorTimelineCache::invalidate);
+        feedFanout.fanOutAll(imported);
+    }
+
+    private void writeComments(List<Line> lines, Progress progress) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Map<String, String> postIdsByRef = findLivePosts("sourceRef", lines, ImportRecord::getPostRef);
+        Map<String, String> postIds = findLivePosts("id", lines, ImportRecord::getPostId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Line> accepted = new ArrayList<>(lines.size());
+        List<Comment> comments = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            ImportRecord record = line.record();
+            String postId = record.getPostRef() != null
+                    ? postIdsByRef.get(record.getPostRef())
+                    : postIds.get(record.getPostId());
+            if (postId == null) {
+                progress.fail(line.number(), "Post not found: "
+                        + Objects.requireNonNullElse(record.getPostRef(), record.getPostId()));
+                continue;
+            }
+            accepted.add(line);
+            // Imported comments are top-level: their path is their own identifier
+            String id = new ObjectId().toHexString();
+            comments.add(Comment.builder()
+                    .id(id)
+                    .postId(postId)
+                    .path(Comment.pathOf(null, id))
+                    .authorId(record.getAuthorId())
+                    .content(record.getContent())
+                    .createdAt(record.getCreatedAt() != null ? record.getCreatedAt() : now)
+                    .updatedAt(now)
+                    .build());
+        }
+        if (comments.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        commentStorage.insertAll(comments).forEach((index, message) -> {
+            failed.add(index);
+            progress.fail(accepted.get(index).number(), message);
+        });
+        Map<String, Long> added = new HashMap<>();
+        for (int i = 0; i < comments.size(); i++) {
+            if (!failed.contains(i)) {
+                added.merge(comments.get(i).getPostId(), 1L, Long::sum);
+                progress.comments++;
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        BulkOperations counters = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+        added.forEach((postId, count) -> counters.updateOne(new Query(Criteria.where("id").is(postId)),
+                new Update().inc("commentCount", count).set("commentsUpdatedAt", now)));
+        counters.execute();
+        added.keySet().forEach(postCache::invalidate);
+    }
+
+    /**
+     * Resolve the posts referenced by a chunk of comments with a single query.
+     *
+     * @param field post field the references are matched against
+     * @param reference extracts the reference from a record; null if it uses the other kind
+     * @return post identifier by reference, for live posts only
+     */
+    private Map<String, String> findLivePosts(String field, List<Line> lines, Function<ImportRecord, String> reference) {
+        Set<String> references = new HashSet<>();
+        for (Line line : lines) {
+            String value = reference.apply(line.record());
+            // Ignore IDs that are not ObjectIds rather than failing the whole query
+            if (value != null && (!"id".equals(field) || ObjectId.isValid(value))) {
+                references.add(value);
+            }
+        }
+        if (references.isEmpty()) {
+            return Map.of();
+        }
+        Query query = new Query(Criteria.where(field).in(references).and("deletedAt").is(null));
+        query.fields().include("id", "sourceRef");
+        Map<String, String> postIds = new HashMap<>();
+        for (Post post : mongoTemplate.find(query, Post.class)) {
+            postIds.put("id".equals(field) ? post.getId() : post.getSourceRef(), post.getId());
+        }
+        return postIds;
+    }
+
+    /**
+     * Insert documents with an unordered bulk write.
+     *
+     * @param lines the lines the documents were built from, in the same order
+     * @return indexes of the documents that could not be written
+     */
+    private Set<Integer> insertAll(List<?> documents, Class<?> type, List<Line> lines, Progress progress) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+            return Set.of();
+        } catch (BulkOperationException ex) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : ex.getErrors()) {
+                failed.add(error.getIndex());
+                progress.fail(lines.get(error.getIndex()).number(), error.getMessage());
+            }
+            return failed;
+        }
+    }
+
+    private record Line(long number, ImportRecord record) {
+    }
+
+    /**
+     * Splits a character stream into lines like {@link java.io.BufferedReader#readLine()},
+     * but holds at most {@code maxLength} characters of a line. The rest of a
+     * longer line is read and dropped.
+     */
+    static final class LineReader implements AutoCloseable {
+
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean truncated;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Read the next line, without its terminator.
+         *
+         * @return the line, empty if it was too long, or null at the end of the stream
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(in.read(buffer), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        return read ? finish() : null;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        /**
+         * Whether the line last returned was longer than the limit.
+         */
+        boolean wasTruncated() {
+            return truncated;
+        }
+
+        private void append(int start, int end) {
+            if (truncated) {
+                return;
+            }
+            // One extra character for a carriage return before the newline
+            if (line.length() + end - start > maxLength + 1) {
+                truncated = true;
+                line.setLength(0);
+            } else {
+                line.append(buffer, start, end - start);
+            }
+        }
+
+        private String finish() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(--length);
+            }
+            if (length > maxLength) {
+                truncated = true;
+                return "";
+            }
+            return truncated ? "" : line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Running totals of an import. Only the first rejected lines are kept.
+     */
+    private static final class Progress {
+
+        private final int maxErrors;
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+        private long lines;
+        private long posts;
+        private long comments;
+        private long failed;
+
+        Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDto(line, message));
+            }
+        }
+
+        ImportReportDto toReport() {
+            return ImportReportDto.builder()
+                    .lines(lines)
+                    .postsImported(posts)
+                    .commentsImported(comments)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package com.example.blogmanagement.service.impl;
 
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.AuthorTimelineCache;
+import com.example.blogmanagement.cache.TieredCache;
 import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostDeletionDto;
+import com.example.blogmanagement.dto.PostFieldSet;
 import com.example.blogmanagement.dto.PostRequestDto;
 import com.example.blogmanagement.dto.PostResponseDto;
+import com.example.blogmanagement.document.Feed;
 import com.example.blogmanagement.document.Post;
 import com.example.blogmanagement.entity.Role;
-import com.example.blogmanagement.entity.User;
 import com.example.blogmanagement.exception.ResourceNotFoundException;
 import com.example.blogmanagement.exception.BadRequestException;
 import com.example.blogmanagement.exception.UnauthorizedException;
-import com.example.blogmanagement.repository.CommentRepository;
+import com.example.blogmanagement.feed.FeedFanout;
+import com.example.blogmanagement.feed.FeedStore;
+import com.example.blogmanagement.repository.FollowRepository;
+import com.example.blogmanagement.repository.PageCursor;
 import com.example.blogmanagement.repository.PostRepository;
 import com.example.blogmanagement.repository.UserRepository;
+import com.example.blogmanagement.search.PostSearchIndex;
+import com.example.blogmanagement.security.AuthenticatedUser;
 import com.example.blogmanagement.service.PostService;
+import com.example.blogmanagement.views.ViewCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -22,7 +34,17 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -35,8 +57,16 @@ import java.util.stream.Collectors;
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
-    private final CommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final AuthorDirectory authorDirectory;
+    private final PostSearchIndex postSearchIndex;
+    private final TieredCache<Post> postCache;
+    private final AuthorTimelineCache authorTimelineCache;
+    private final FeedStore feedStore;
+    private final FeedFanout feedFanout;
+    private final FollowRepository followRepository;
+    private final ViewCounters viewCounters;
+    private final StoreCalls storeCalls;
 
     @Override
     public PostResponseDto createPost(PostRequestDto request) {
@@ -47,26 +77,53 @@ public class PostServiceImpl implements PostService {
         Post post = Post.builder()
                 .title(request.getTitle())
                 .content(request.getContent())
+                .excerpt(Post.excerptOf(request.getContent()))
                 .authorId(request.getAuthorId())
                 .build();
         Post saved = postRepository.save(post);
+        authorTimelineCache.invalidate(saved.getAuthorId());
+        postSearchIndex.index(saved);
+        feedFanout.fanOut(saved);
         return mapToResponse(saved);
     }
 
     @Override
     public PostResponseDto getPost(String postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        Post post = postCache.get(postId, id -> postRepository.findLiveById(id).orElse(null));
+        if (post == null) {
+            throw new ResourceNotFoundException("Post not found");
+        }
+        viewCounters.record(postId);
         return mapToResponse(post);
     }
 
+    @Override
+    public List<PostResponseDto> listTrending(int limit, PostFieldSet fields) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return mapToResponses(postRepository.findTrending(limit, fields.documentFields()), fields);
+    }
+
+    /**
+     * The post's version: the representation includes the comment and view
+     * counts, so changes to either produce a new version of the post as well.
+     */
+    static LocalDateTime lastModifiedOf(Post post) {
+        return latest(latest(post.getUpdatedAt(), post.getCommentsUpdatedAt()), post.getViewsUpdatedAt());
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        return second != null && (first == null || second.isAfter(first)) ? second : first;
+    }
+
     @Override
     public PostResponseDto updatePost(String postId, PostRequestDto request) {
-        Post existing = postRepository.findById(postId)
+        Post existing = postRepository.findLiveById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         
         // Check authorization - user must own the post or be an admin
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
         if (!canModifyPost(currentUser, existing)) {
             throw new UnauthorizedException("You are not authorized to update this post");
         }
@@ -77,49 +134,261 @@ public class PostServiceImpl implements PostService {
         if (!existing.getAuthorId().equals(request.getAuthorId())) {
             throw new BadRequestException("Author of a post cannot be changed");
         }
-        existing.setTitle(request.getTitle());
-        existing.setContent(request.getContent());
-        Post updated = postRepository.save(existing);
+        Post updated = postRepository.updateContent(postId, request.getTitle(), request.getContent(),
+                        Post.excerptOf(request.getContent()), LocalDateTime.now())
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        postCache.invalidate(postId);
+        authorTimelineCache.invalidate(updated.getAuthorId());
+        postSearchIndex.index(updated);
         return mapToResponse(updated);
     }
 
     @Override
     public void deletePost(String postId) {
-        Post existing = postRepository.findById(postId)
+        Post existing = postRepository.findLiveById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         
         // Check authorization - user must own the post or be an admin
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
         if (!canModifyPost(currentUser, existing)) {
             throw new UnauthorizedException("You are not authorized to delete this post");
         }
         
-        // First delete comments associated with this post
-        commentRepository.deleteByPostId(postId);
-        // Then delete the post
-        postRepository.delete(existing);
+        // Hide the post right away; its comments and the document itself are
+        // removed in the background by the post reaper
+        if (!postRepository.markDeleted(postId, LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Post not found");
+        }
+        postCache.invalidate(postId);
+        authorTimelineCache.invalidate(existing.getAuthorId());
+        postSearchIndex.remove(postId);
     }
 
     @Override
-    public PagedResponse<PostResponseDto> listPosts(int page, int size, String search) {
+    public List<PostDeletionDto> listPendingDeletions(int limit) {
+        return postRepository.findDeleted(limit).stream()
+                .map(post -> PostDeletionDto.builder()
+                        .postId(post.getId())
+                        .title(post.getTitle())
+                        .deletedAt(post.getDeletedAt())
+                        .remainingComments(post.getCommentCount())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public PagedResponse<PostResponseDto> listPosts(int page, int size, String search, PostFieldSet fields) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Post> postsPage;
         if (search != null && !search.trim().isEmpty()) {
-            postsPage = postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(search, search, pageable);
+            if (postSearchIndex.isReady()) {
+                return searchPosts(search, pageable, fields);
+            }
+            // The index is still being rebuilt; fall back to a (slow) regex scan
+            postsPage = postRepository.findByText(search.trim(), pageable);
         } else {
-            postsPage = postRepository.findAll(pageable);
+            postsPage = new PageImpl<>(postRepository.findPage(pageable, fields.documentFields()),
+                    pageable, postRepository.countLive());
         }
-        List<PostResponseDto> content = postsPage.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<PostResponseDto> content = mapToResponses(postsPage.getContent(), fields);
         boolean last = postsPage.getNumber() >= postsPage.getTotalPages() - 1;
-        return new PagedResponse<>(
-                content,
-                postsPage.getNumber(),
-                postsPage.getSize(),
-                postsPage.getTotalElements(),
-                postsPage.getTotalPages(),
-                last);
+        return PagedResponse.<PostResponseDto>builder()
+                .content(content)
+                .page(postsPage.getNumber())
+                .size(postsPage.getSize())
+                .totalElements(postsPage.getTotalElements())
+                .totalPages(postsPage.getTotalPages())
+                .last(last)
+                .build();
+    }
+
+    /**
+     * Answer a search from the in-memory index. Only the IDs of the requested
+     * page are loaded from MongoDB, then put back into rank order.
+     */
+    private PagedResponse<PostResponseDto> searchPosts(String search, Pageable pageable, PostFieldSet fields) {
+        int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE - pageable.getPageSize());
+        PostSearchIndex.SearchHits hits = postSearchIndex.search(search, offset + pageable.getPageSize());
+        List<String> pageIds = hits.ids().subList(Math.min(offset, hits.ids().size()), hits.ids().size());
+        Map<String, Post> postsById = postRepository.findByIds(pageIds, fields.documentFields()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> posts = pageIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        int totalPages = (int) ((hits.total() + (long) pageable.getPageSize() - 1) / pageable.getPageSize());
+        return PagedResponse.<PostResponseDto>builder()
+                .content(mapToResponses(posts, fields))
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalElements((long) hits.total())
+                .totalPages(totalPages)
+                .last(pageable.getPageNumber() >= totalPages - 1)
+                .build();
+    }
+
+    @Override
+    public PagedResponse<PostResponseDto> listPostsByCursor(String cursor, int size, boolean includeTotals,
+                                                           PostFieldSet fields) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        PageCursor after = PageCursor.decodeOrBadRequest(cursor);
+        // Fetch one extra post to find out whether another page follows
+        List<Post> posts = postRepository.findPageAfter(after, size + 1, fields.documentFields());
+        return toCursorPage(posts, size, includeTotals ? postRepository::countLive : null, fields);
+    }
+
+    @Override
+    public PagedResponse<PostResponseDto> listPostsByAuthor(Long authorId, String cursor, int size,
+                                                           boolean includeTotals, PostFieldSet fields) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        PageCursor after = PageCursor.decodeOrBadRequest(cursor);
+        // The author is checked in PostgreSQL while the posts are read from MongoDB
+        List<Post> posts;
+        Long total;
+        try (StoreCalls.Scope scope = storeCalls.open()) {
+            scope.fork(() -> {
+                if (authorDirectory.getUsername(authorId) == null) {
+                    throw new ResourceNotFoundException("User not found");
+                }
+                return null;
+            });
+            Supplier<List<Post>> page = scope.fork(() -> findAuthorPage(authorId, after, size, fields));
+            Supplier<Long> count = includeTotals ? scope.fork(() -> postRepository.countLiveByAuthor(authorId)) : () -> null;
+            scope.join();
+            posts = page.get();
+            total = count.get();
+        }
+        return toCursorPage(posts, size, total != null ? () -> total : null, fields);
+    }
+
+    /**
+     * Fetch up to {@code size + 1} posts of an author following the cursor.
+     */
+    private List<Post> findAuthorPage(Long authorId, PageCursor after, int size, PostFieldSet fields) {
+        if (after == null && size <= authorTimelineCache.cachedPosts()) {
+            // First page of a profile: served from the cache of each author's newest posts
+            List<Post> posts = authorTimelineCache.getNewest(authorId,
+                    limit -> postRepository.findByAuthorAfter(authorId, null, limit, Set.of()));
+            return posts.subList(0, Math.min(posts.size(), size + 1));
+        }
+        return postRepository.findByAuthorAfter(authorId, after, size + 1, fields.documentFields());
+    }
+
+    @Override
+    public PagedResponse<PostResponseDto> listFeed(String cursor, int size, PostFieldSet fields) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        PageCursor after = PageCursor.decodeOrBadRequest(cursor);
+        Long userId = getCurrentUser().id();
+
+        // Posts pushed into the feed, plus those of followed accounts too large
+        // for fan-out, pulled through the author index. The feed is read from
+        // MongoDB while the pulled accounts are looked up in PostgreSQL.
+        List<Feed.Entry> pushed;
+        List<Post> pulled;
+        try (StoreCalls.Scope scope = storeCalls.open()) {
+            Supplier<List<Feed.Entry>> feed = scope.fork(() -> feedStore.read(userId, after, size + 1));
+            Supplier<List<Post>> pulledPosts = scope.fork(() -> {
+                List<Long> pulledAuthors = followRepository.findFolloweeIdsWithFollowersAtLeast(userId,
+                        feedFanout.celebrityThreshold());
+                return pulledAuthors.isEmpty()
+                        ? List.<Post>of()
+                        : postRepository.findByAuthorsAfter(pulledAuthors, after, size + 1, Set.of("authorId"));
+            });
+            scope.join();
+            pushed = feed.get();
+            pulled = pulledPosts.get();
+        }
+        List<Feed.Entry> merged = mergeFeed(pushed, pulled.stream().map(FeedFanout::entryOf).toList(), size);
+        boolean last = merged.size() <= size && pushed.size() <= size && pulled.size() <= size;
+        if (merged.size() > size) {
+            merged = merged.subList(0, size);
+        }
+        // Posts deleted since they were added to the feed are left out
+        Map<String, Post> postsById = postRepository.findByIds(merged.stream().map(Feed.Entry::getPostId).toList(),
+                        fields.documentFields()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> posts = merged.stream()
+                .map(entry -> postsById.get(entry.getPostId()))
+                .filter(Objects::nonNull)
+                .toList();
+        PagedResponse.PagedResponseBuilder<PostResponseDto> response = PagedResponse.<PostResponseDto>builder()
+                .content(mapToResponses(posts, fields))
+                .size(size)
+                .last(last);
+        if (!last) {
+            Feed.Entry tail = merged.get(merged.size() - 1);
+            response.nextCursor(new PageCursor(tail.getCreatedAt(), tail.getPostId()).encode());
+        }
+        return response.build();
+    }
+
+    /**
+     * Merge the pushed and pulled entries of a feed page, each read with a
+     * limit of {@code size + 1}, into one list in feed order without
+     * duplicates. A source that filled its limit may hold more entries older
+     * than the last one it returned, so the merged list stops there: an older
+     * entry of the other source could otherwise be paged past them.
+     *
+     * @return up to {@code size + 1} entries; fewer than that even if more follow,
+     *         when one source repeated entries
+     */
+    static List<Feed.Entry> mergeFeed(List<Feed.Entry> pushed, List<Feed.Entry> pulled, int size) {
+        Comparator<Feed.Entry> feedOrder = Comparator.comparing(Feed.Entry::getCreatedAt)
+                .thenComparing(Feed.Entry::getPostId)
+                .reversed();
+        Feed.Entry horizon = null;
+        for (List<Feed.Entry> source : List.of(pushed, pulled)) {
+            if (source.size() > size) {
+                Feed.Entry tail = source.get(source.size() - 1);
+                if (horizon == null || feedOrder.compare(tail, horizon) < 0) {
+                    horizon = tail;
+                }
+            }
+        }
+        // A backfill may have pushed a post more than once, and a pulled post
+        // may also have been pushed before its author crossed the threshold
+        Map<String, Feed.Entry> entries = new HashMap<>();
+        pushed.forEach(entry -> entries.putIfAbsent(entry.getPostId(), entry));
+        pulled.forEach(entry -> entries.putIfAbsent(entry.getPostId(), entry));
+        Feed.Entry limit = horizon;
+        return entries.values().stream()
+                .filter(entry -> limit == null || feedOrder.compare(entry, limit) <= 0)
+                .sorted(feedOrder)
+                .limit(size + 1)
+                .toList();
+    }
+
+    /**
+     * Build a cursor page from up to {@code size + 1} posts; the extra post
+     * only signals that another page follows.
+     *
+     * @param counter counts all matching posts, or null to omit totals
+     */
+    private PagedResponse<PostResponseDto> toCursorPage(List<Post> posts, int size, LongSupplier counter,
+                                                        PostFieldSet fields) {
+        boolean last = posts.size() <= size;
+        if (!last) {
+            posts = posts.subList(0, size);
+        }
+        PagedResponse.PagedResponseBuilder<PostResponseDto> response = PagedResponse.<PostResponseDto>builder()
+                .content(mapToResponses(posts, fields))
+                .size(size)
+                .last(last);
+        if (!last) {
+            Post tail = posts.get(posts.size() - 1);
+            response.nextCursor(new PageCursor(tail.getCreatedAt(), tail.getId()).encode());
+        }
+        if (counter != null) {
+            long total = counter.getAsLong();
+            response.totalElements(total).totalPages((int) ((total + size - 1) / size));
+        }
+        return response.build();
     }
 
     /**
@@ -127,20 +396,52 @@ public class PostServiceImpl implements PostService {
      * transformation logic and hides database-specific fields.
      */
     private PostResponseDto mapToResponse(Post post) {
-        // Fetch the username of the author. Since the author is validated on
-        // creation/update, we can assume the user exists. If for some reason the
-        // user is not found, fall back to null (or an empty string) to avoid
-        // throwing an exception during mapping.
-        String authorUsername = userRepository.findById(post.getAuthorId())
-                .map(u -> u.getUsername())
-                .orElse(null);
-        return PostResponseDto.builder()
+        // Since the author is validated on creation/update, we can assume the
+        // user exists. If for some reason the user is not found, the directory
+        // yields null to avoid throwing an exception during mapping.
+        return mapToResponse(post, authorDirectory.getUsername(post.getAuthorId()), PostFieldSet.FULL);
+    }
+
+    /**
+     * Map a page of Post documents, resolving all authors with one batched
+     * lookup instead of one query per post.
+     */
+    private List<PostResponseDto> mapToResponses(List<Post> posts, PostFieldSet fields) {
+        Map<Long, String> usernames = fields.includes("authorUsername")
+                ? authorDirectory.resolveUsernames(posts.stream().map(Post::getAuthorId).collect(Collectors.toList()))
+                : Collections.emptyMap();
+        return posts.stream()
+                .map(post -> mapToResponse(post, usernames.get(post.getAuthorId()), fields))
+                .collect(Collectors.toList());
+    }
+
+    static PostResponseDto mapToResponse(Post post, String authorUsername, PostFieldSet fields) {
+        PostResponseDto.PostResponseDtoBuilder response = PostResponseDto.builder()
                 .id(post.getId())
-                .title(post.getTitle())
-                .content(post.getContent())
-                .authorUsername(authorUsername)
-                .createdAt(post.getCreatedAt())
-                .build();
+                .lastModified(lastModifiedOf(post));
+        if (fields.includes("title")) {
+            response.title(post.getTitle());
+        }
+        if (fields.includes("content")) {
+            response.content(post.getContent());
+        }
+        if (fields.includes("excerpt")) {
+            // Posts written before excerpts existed are backfilled at startup
+            response.excerpt(post.getExcerpt() != null ? post.getExcerpt() : Post.excerptOf(post.getContent()));
+        }
+        if (fields.includes("authorUsername")) {
+            response.authorUsername(authorUsername);
+        }
+        if (fields.includes("commentCount")) {
+            response.commentCount(post.getCommentCount());
+        }
+        if (fields.includes("viewCount")) {
+            response.viewCount(post.getViewCount());
+        }
+        if (fields.includes("createdAt")) {
+            response.createdAt(post.getCreatedAt());
+        }
+        return response.build();
     }
 
     /**
@@ -148,12 +449,13 @@ public class PostServiceImpl implements PostService {
      *
      * @return the current user
      */
-    private User getCurrentUser() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
             throw new UnauthorizedException("You must be logged in to perform this action");
         }
-        return (User) authentication.getPrincipal();
+        return user;
     }
 
     /**
@@ -164,12 +466,12 @@ public class PostServiceImpl implements PostService {
      * @param post the post to check
      * @return true if the user can modify the post, false otherwise
      */
-    private boolean canModifyPost(User user, Post post) {
+    private boolean canModifyPost(AuthenticatedUser user, Post post) {
         // Admin can modify any post
-        if (user.getRoles().contains(Role.ADMIN)) {
+        if (user.hasRole(Role.ADMIN)) {
             return true;
         }
         // User can modify their own posts
-        return user.getId().equals(post.getAuthorId());
+        return user.id().equals(post.getAuthorId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.dto.CommentResponseDto;
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.exception.BadRequestException;
+import com.example.blogmanagement.exception.ResourceNotFoundException;
+import com.example.blogmanagement.repository.PageCursor;
+import com.example.blogmanagement.repository.ReactiveCommentRepository;
+import com.example.blogmanagement.repository.ReactivePostRepository;
+import com.example.blogmanagement.service.ReactiveCommentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link ReactiveCommentService} on the reactive MongoDB
+ * driver. Reads the {@code comments} collection directly, so it only exists
+ * with the document comment storage.
+ */
+@Service
+@ConditionalOnProperty(name = "blog.comments.storage", havingValue = "document", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveCommentServiceImpl implements ReactiveCommentService {
+
+    private final ReactiveCommentRepository reactiveCommentRepository;
+    private final ReactivePostRepository reactivePostRepository;
+    private final AuthorDirectory authorDirectory;
+    private final TieredCache<Post> postCache;
+    private final Scheduler jpaScheduler;
+
+    @Override
+    public Mono<PagedResponse<CommentResponseDto>> listCommentsByPostIdAndCursor(String postId, String cursor,
+                                                                                 int size, boolean includeTotals) {
+        return Mono.defer(() -> {
+            if (size < 1) {
+                throw new BadRequestException("Page size must be at least 1");
+            }
+            PageCursor after = PageCursor.decodeOrBadRequest(cursor);
+            // The post check, the page and the count are independent, so all
+            // queries are in flight together
+            Mono<Boolean> postExists = postCache.getIfPresent(postId) != null
+                    ? Mono.just(true)
+                    : reactivePostRepository.findLiveById(postId).hasElement();
+            Mono<List<Comment>> comments = reactiveCommentRepository.findByPostIdAfter(postId, after, size + 1)
+                    .collectList();
+            Mono<Optional<Long>> total = includeTotals
+                    ? reactiveCommentRepository.countByPostId(postId).map(Optional::of)
+                    : Mono.just(Optional.empty());
+            return Mono.zip(postExists, comments, total).flatMap(page -> {
+                if (!page.getT1()) {
+                    return Mono.error(new ResourceNotFoundException("Post not found"));
+                }
+                return toCursorPage(page.getT2(), size, page.getT3());
+            });
+        });
+    }
+
+    /**
+     * Build a cursor page from up to {@code size + 1} comments; the extra
+     * comment only signals that another page follows.
+     */
+    private Mono<PagedResponse<CommentResponseDto>> toCursorPage(List<Comment> comments, int size,
+                                                                 Optional<Long> total) {
+        boolean last = comments.size() <= size;
+        List<Comment> page = last ? comments : comments.subList(0, size);
+        return Mono.fromCallable(() -> authorDirectory.resolveUsernames(
+                        page.stream().map(Comment::getAuthorId).toList()))
+                .subscribeOn(jpaScheduler)
+                .map(usernames -> {
+                    PagedResponse.PagedResponseBuilder<CommentResponseDto> response =
+                            PagedResponse.<CommentResponseDto>builder()
+                                    .content(page.stream()
+                                            .map(comment -> CommentServiceImpl.mapToResponse(comment,
+                                                    usernames.get(comment.getAuthorId())))
+                                            .toList())
+                                    .size(size)
+                                    .last(last);
+                    if (!last) {
+                        Comment tail = page.get(page.size() - 1);
+                        response.nextCursor(new PageCursor(tail.getCreatedAt(), tail.getId()).encode());
+                    }
+                    total.ifPresent(count -> response.totalElements(count)
+                            .totalPages((int) ((count + size - 1) / size)));
+                    return response.build();
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostFieldSet;
+import com.example.blogmanagement.dto.PostResponseDto;
+import com.example.blogmanagement.exception.BadRequestException;
+import com.example.blogmanagement.exception.ResourceNotFoundException;
+import com.example.blogmanagement.repository.PageCursor;
+import com.example.blogmanagement.repository.ReactivePostRepository;
+import com.example.blogmanagement.service.ReactivePostService;
+import com.example.blogmanagement.views.ViewCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link ReactivePostService} on the reactive MongoDB
+ * driver. Author usernames come from the same {@link AuthorDirectory} as the
+ * blocking service; its JPA lookups run on the bounded {@code jpaScheduler}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactivePostServiceImpl implements ReactivePostService {
+
+    private final ReactivePostRepository reactivePostRepository;
+    private final AuthorDirectory authorDirectory;
+    private final TieredCache<Post> postCache;
+    private final ViewCounters viewCounters;
+    private final Scheduler jpaScheduler;
+
+    @Override
+    public Mono<PostResponseDto> getPost(String postId) {
+        // Only the heap tier is consulted: loading through the cache would block
+        Post cached = postCache.getIfPresent(postId);
+        Mono<Post> post = cached != null ? Mono.just(cached) : reactivePostRepository.findLiveById(postId);
+        return post
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Post not found")))
+                .doOnNext(found -> viewCounters.record(postId))
+                .flatMap(found -> resolveUsernames(List.of(found.getAuthorId()))
+                        .map(usernames -> PostServiceImpl.mapToResponse(found, usernames.get(found.getAuthorId()),
+                                PostFieldSet.FULL)));
+    }
+
+    @Override
+    public Mono<PagedResponse<PostResponseDto>> listPostsByCursor(String cursor, int size, boolean includeTotals,
+                                                                  PostFieldSet fields) {
+        return Mono.defer(() -> {
+            if (size < 1) {
+                throw new BadRequestException("Page size must be at least 1");
+            }
+            PageCursor after = PageCursor.decodeOrBadRequest(cursor);
+            // The page and the count are independent, so both queries are in flight together.
+            // One extra post is fetched to find out whether another page follows.
+            Mono<List<Post>> posts = reactivePostRepository.findPageAfter(after, size + 1, fields.documentFields())
+                    .collectList();
+            Mono<Optional<Long>> total = includeTotals
+                    ? reactivePostRepository.countLive().map(Optional::of)
+                    : Mono.just(Optional.empty());
+            return Mono.zip(posts, total)
+                    .flatMap(page -> toCursorPage(page.getT1(), size, page.getT2(), fields));
+        });
+    }
+
+    /**
+     * Build a cursor page from up to {@code size + 1} posts; the extra post
+     * only signals that another page follows.
+     */
+    private Mono<PagedResponse<PostResponseDto>> toCursorPage(List<Post> posts, int size, Optional<Long> total,
+                                                              PostFieldSet fields) {
+        boolean last = posts.size() <= size;
+        List<Post> page = last ? posts : posts.subList(0, size);
+        Mono<Map<Long, String>> usernames = fields.includes("authorUsername")
+                ? resolveUsernames(page.stream().map(Post::getAuthorId).toList())
+                : Mono.just(Collections.emptyMap());
+        return usernames.map(resolved -> {
+            PagedResponse.PagedResponseBuilder<PostResponseDto> response = PagedResponse.<PostResponseDto>builder()
+                    .content(page.stream()
+                            .map(post -> PostServiceImpl.mapToResponse(post, resolved.get(post.getAuthorId()), fields))
+                            .toList())
+                    .size(size)
+                    .last(last);
+            if (!last) {
+                Post tail = page.get(page.size() - 1);
+                response.nextCursor(new PageCursor(tail.getCreatedAt(), tail.getId()).encode());
+            }
+            total.ifPresent(count -> response.totalElements(count).totalPages((int) ((count + size - 1) / size)));
+            return response.build();
+        });
+    }
+
+    /**
+     * Resolve author usernames off the calling thread; cache misses query
+     * PostgreSQL through JPA.
+     */
+    private Mono<Map<Long, String>> resolveUsernames(Collection<Long> authorIds) {
+        return Mono.fromCallable(() -> authorDirectory.resolveUsernames(authorIds)).subscribeOn(jpaScheduler);
+    }
+}
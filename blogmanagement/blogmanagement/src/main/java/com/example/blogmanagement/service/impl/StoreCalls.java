@@ -0,0 +1,130 @@
+package com.example.blogmanagement.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent MongoDB and PostgreSQL calls of one request concurrently,
+ * so the request waits for the slowest store rather than the sum of all.
+ *
+ * Calls are forked into a {@link Scope} and joined together. The first call
+ * to fail cancels the others, and its exception is rethrown as is, so a
+ * {@code ResourceNotFoundException} from a lookup still becomes a 404. This
+ * is the shape of {@code StructuredTaskScope.ShutdownOnFailure}, which is
+ * still a preview API in Java 21.
+ *
+ * Cancelling skips calls that have not started but does not interrupt running
+ * ones: an interrupt during socket I/O closes the connection, and the JDBC or
+ * MongoDB pool then has to replace it. Running calls finish in the background
+ * and their results are dropped.
+ *
+ * Forked calls run on virtual threads and do not inherit the security
+ * context; resolve the current user before forking.
+ */
+@Component
+class StoreCalls {
+
+    // One virtual thread per call. Not bounded here: concurrency towards
+    // PostgreSQL is bounded by the JDBC pool and towards MongoDB by the
+    // driver's pool. Deliberately not a bean, which would replace Spring
+    // Boot's application task executor.
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Open a scope for the calls of one request. Must be closed, which
+     * cancels calls that have not started.
+     */
+    Scope open() {
+        return new Scope(executor);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    static final class Scope implements AutoCloseable {
+
+        private final ExecutorCompletionService<Object> completion;
+        private final List<Future<Object>> forks = new ArrayList<>();
+        private boolean joined;
+
+        private Scope(ExecutorService executor) {
+            this.completion = new ExecutorCompletionService<>(executor);
+        }
+
+        /**
+         * Start a call.
+         *
+         * @return the result of the call, available after {@link #join()}
+         */
+        @SuppressWarnings("unchecked")
+        <T> Supplier<T> fork(Callable<T> call) {
+            Future<Object> future = completion.submit((Callable<Object>) call);
+            forks.add(future);
+            return () -> {
+                if (!joined) {
+                    throw new IllegalStateException("Result read before join");
+                }
+                return (T) future.resultNow();
+            };
+        }
+
+        /**
+         * Wait for all calls. On the first failure the other calls are
+         * cancelled and the failure is rethrown.
+         */
+        void join() {
+            try {
+                for (int i = 0; i < forks.size(); i++) {
+                    Future<Object> done = completion.take();
+                    try {
+                        done.get();
+                    } catch (ExecutionException ex) {
+                        cancelAll();
+                        throw rethrow(ex.getCause());
+                    } catch (CancellationException ex) {
+                        cancelAll();
+                        throw ex;
+                    }
+                }
+                joined = true;
+            } catch (InterruptedException ex) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for store calls", ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            // Not interrupting, which would close the pooled connection of a call in progress
+            forks.forEach(future -> future.cancel(false));
+        }
+
+        private static RuntimeException rethrow(Throwable failure) {
+            if (failure instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            return new IllegalStateException(failure);
+        }
+    }
+}
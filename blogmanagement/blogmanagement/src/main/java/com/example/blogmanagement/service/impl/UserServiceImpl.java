@@ -1,5 +1,6 @@
 package com.example.blogmanagement.service.impl;
 
+import com.example.blogmanagement.cache.AuthorDirectory;
 import com.example.blogmanagement.dto.UserRegistrationRequest;
 import com.example.blogmanagement.dto.UserResponseDto;
 import com.example.blogmanagement.entity.Role;
@@ -7,6 +8,7 @@ import com.example.blogmanagement.entity.User;
 import com.example.blogmanagement.exception.ResourceAlreadyExistsException;
 import com.example.blogmanagement.exception.ResourceNotFoundException;
 import com.example.blogmanagement.repository.UserRepository;
+import com.example.blogmanagement.service.AuthService;
 import com.example.blogmanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +27,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorDirectory authorDirectory;
+    private final AuthService authService;
 
     @Override
     public UserResponseDto registerUser(UserRegistrationRequest request) {
@@ -77,5 +81,8 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         userRepository.delete(user);
+        authorDirectory.evict(userId);
+        // Tokens carry the user's identity, so they would stay usable until they expire
+        authService.revokeAllSessions(userId);
     }
 }
\ No newline at end of file
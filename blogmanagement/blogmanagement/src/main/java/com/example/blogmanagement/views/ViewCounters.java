@@ -0,0 +1,128 @@
+package com.example.blogmanagement.views;
+
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts post views in memory and writes them to MongoDB in periodic batches
+ * (write-behind), so reading a post never turns into a database write.
+ *
+ * Each post has a {@link LongAdder}, whose striped cells let concurrent
+ * readers of a popular post increment without contending on one counter.
+ * A flush swaps in a fresh set of counters and writes the set retired by the
+ * previous flush: readers that picked up a counter just before the swap
+ * have a whole interval to finish incrementing it, so no view is lost.
+ * Views therefore reach the database one to two intervals late. The written
+ * posts are then evicted from the post cache, so cached copies, and the
+ * validators derived from them, are no staler than the database.
+ */
+@Component
+@Slf4j
+public class ViewCounters {
+
+    /**
+     * Reference time of the forward-decay weights. Scores are only
+     * comparable while the epoch and half-life stay unchanged.
+     */
+    private static final Instant DECAY_EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final PostRepository postRepository;
+    private final TieredCache<Post> postCache;
+    private final double decayRate;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile ConcurrentHashMap<String, LongAdder> current = new ConcurrentHashMap<>();
+    // Guarded by flushLock
+    private ConcurrentHashMap<String, LongAdder> retired;
+
+    public ViewCounters(PostRepository postRepository,
+                        TieredCache<Post> postCache,
+                        @Value("${blog.trending.half-life:PT6H}") Duration halfLife) {
+        this.postRepository = postRepository;
+        this.postCache = postCache;
+        this.decayRate = Math.log(2) / halfLife.toMillis();
+    }
+
+    /**
+     * Count one view of a post. Performs no I/O.
+     *
+     * @param postId identifier of the viewed post
+     */
+    public void record(String postId) {
+        ConcurrentHashMap<String, LongAdder> counters = current;
+        LongAdder counter = counters.get(postId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(postId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval:PT10S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            ConcurrentHashMap<String, LongAdder> toWrite = retired;
+            retired = current;
+            current = new ConcurrentHashMap<>();
+            write(toWrite);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write all pending views on shutdown, including those counted since the
+     * last flush.
+     */
+    @PreDestroy
+    public void flushAll() {
+        flushLock.lock();
+        try {
+            write(retired);
+            retired = null;
+            ConcurrentHashMap<String, LongAdder> last = current;
+            current = new ConcurrentHashMap<>();
+            write(last);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(Map<String, LongAdder> counters) {
+        if (counters == null || counters.isEmpty()) {
+            return;
+        }
+        Map<String, Long> views = new HashMap<>(counters.size());
+        counters.forEach((postId, counter) -> {
+            long count = counter.sum();
+            if (count > 0) {
+                views.put(postId, count);
+            }
+        });
+        // All views of the batch are weighted as if they happened now; the
+        // error is at most the flush interval, far below the half-life
+        double logWeight = decayRate * (System.currentTimeMillis() - DECAY_EPOCH.toEpochMilli());
+        try {
+            postRepository.addViews(views, logWeight, LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.warn("Could not write {} post view counts, dropping them", views.size(), ex);
+            return;
+        }
+        views.keySet().forEach(postCache::invalidate);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.blogmanagement;
+
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class of the MongoDB slice tests. Each test class gets a fresh MongoDB
+ * container, which Spring Boot connects to; without Docker the tests are
+ * skipped. Subclasses import the beans under test.
+ */
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MongoContainerTest {
+
+    @Container
+    @ServiceConnection
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+}
@@ -0,0 +1,103 @@
+package com.example.blogmanagement.batch;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.exception.ResourceNotFoundException;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommentBatchWriterTest {
+
+    @Mock
+    private CommentStorage commentStorage;
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private AuthorDirectory authorDirectory;
+    @Mock
+    private TieredCache<Post> postCache;
+
+    private CommentBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new CommentBatchWriter(commentStorage, postRepository, authorDirectory, postCache,
+                new SimpleMeterRegistry(), 500, Duration.ofMillis(2), 100);
+        writer.start();
+        when(postRepository.findByIds(anyCollection(), anyCollection()))
+                .thenReturn(List.of(Post.builder().id("p1").build()));
+        when(authorDirectory.resolveUsernames(anyCollection())).thenReturn(Map.of(7L, "alice"));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void completesStoredCommentsWhenTheCounterUpdateFails() throws Exception {
+        when(commentStorage.insertAll(anyList())).thenReturn(Map.of());
+        doThrow(new DataAccessResourceFailureException("primary stepped down"))
+                .when(postRepository).recordCommentChange(eq("p1"), anyLong(), any(LocalDateTime.class));
+        Comment comment = comment("p1");
+
+        CompletableFuture<Comment> stored = writer.submit(comment);
+
+        assertThat(stored.get(5, TimeUnit.SECONDS)).isSameAs(comment);
+        verify(postCache, never()).invalidate("p1");
+    }
+
+    @Test
+    void countsTheStoredCommentsOfEachPost() throws Exception {
+        when(commentStorage.insertAll(anyList())).thenReturn(Map.of());
+
+        writer.submit(comment("p1")).get(5, TimeUnit.SECONDS);
+
+        verify(postRepository).recordCommentChange(eq("p1"), eq(1L), any(LocalDateTime.class));
+        verify(postCache).invalidate("p1");
+    }
+
+    @Test
+    void rejectsCommentsOnMissingPosts() {
+        CompletableFuture<Comment> stored = writer.submit(comment("gone"));
+
+        assertThatThrownBy(() -> stored.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static Comment comment(String postId) {
+        return Comment.builder().postId(postId).authorId(7L).content("hi").build();
+    }
+}
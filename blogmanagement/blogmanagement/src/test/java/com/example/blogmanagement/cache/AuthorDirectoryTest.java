@@ -0,0 +1,75 @@
+package com.example.blogmanagement.cache;
+
+import com.example.blogmanagement.entity.User;
+import com.example.blogmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthorDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new AuthorDirectory(userRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void resolvesAWholePageOfAuthorsWithOneQuery() {
+        when(userRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(user(1L, "ada"), user(2L, "bob")));
+
+        Map<Long, String> usernames = directory.resolveUsernames(Arrays.asList(1L, 2L, 1L, null, 3L, 2L));
+
+        assertThat(usernames).containsExactlyInAnyOrderEntriesOf(Map.of(1L, "ada", 2L, "bob"));
+        verify(userRepository, times(1)).findAllById(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void fetchesOnlyAuthorsThatAreNotCached() {
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user(1L, "ada")));
+        when(userRepository.findAllById(Set.of(2L))).thenReturn(List.of(user(2L, "bob")));
+        directory.getUsername(1L);
+
+        Map<Long, String> usernames = directory.resolveUsernames(List.of(1L, 2L));
+
+        assertThat(usernames).containsExactlyInAnyOrderEntriesOf(Map.of(1L, "ada", 2L, "bob"));
+        assertThat(directory.getUsername(1L)).isEqualTo("ada");
+        verify(userRepository).findAllById(Set.of(1L));
+        verify(userRepository).findAllById(Set.of(2L));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void evictedAuthorsAreFetchedAgain() {
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user(1L, "ada")));
+        directory.getUsername(1L);
+
+        directory.evict(1L);
+        directory.getUsername(1L);
+
+        verify(userRepository, times(2)).findAllById(Set.of(1L));
+    }
+
+    private static User user(Long id, String username) {
+        return User.builder().id(id).username(username).build();
+    }
+}
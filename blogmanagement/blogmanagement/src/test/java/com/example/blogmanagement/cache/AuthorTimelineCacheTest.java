@@ -0,0 +1,68 @@
+package com.example.blogmanagement.cache;
+
+import com.example.blogmanagement.document.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthorTimelineCacheTest {
+
+    private final AuthorTimelineCache cache = new AuthorTimelineCache(new SimpleMeterRegistry(), 2,
+            DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
+    @Test
+    void loadsOneMorePostThanItServesPerPage() {
+        List<Integer> limits = new ArrayList<>();
+
+        List<Post> newest = cache.getNewest(1L, limit -> {
+            limits.add(limit);
+            return posts(limit);
+        });
+
+        assertThat(limits).containsExactly(3);
+        assertThat(newest).hasSize(3);
+    }
+
+    @Test
+    void servesRepeatedReadsFromTheCacheUntilInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Integer, List<Post>> loader = limit -> {
+            loads.incrementAndGet();
+            return posts(limit);
+        };
+
+        cache.getNewest(1L, loader);
+        cache.getNewest(1L, loader);
+        cache.getNewest(2L, loader);
+        cache.invalidate(1L);
+        cache.getNewest(1L, loader);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void doesNotCacheFailedLoads() {
+        assertThatThrownBy(() -> cache.getNewest(1L, limit -> {
+            throw new IllegalStateException("MongoDB unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.getNewest(1L, this::posts)).hasSize(3);
+    }
+
+    private List<Post> posts(int count) {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            posts.add(Post.builder().id("p" + i).title("Title").content("Body").build());
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.blogmanagement.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapStoreTest {
+
+    private static final int BLOCK = OffHeapStore.BLOCK_SIZE;
+
+    @Test
+    void returnsValuesSpanningSeveralBlocks() {
+        OffHeapStore store = new OffHeapStore(64 * BLOCK);
+        byte[] large = bytes(3 * BLOCK + 17, 1);
+        byte[] small = bytes(5, 2);
+
+        store.put("large", large);
+        store.put("small", small);
+        store.put("empty", new byte[0]);
+
+        assertThat(store.take("large")).isEqualTo(large);
+        assertThat(store.take("small")).isEqualTo(small);
+        assertThat(store.take("empty")).isEmpty();
+        assertThat(store.take("large")).isNull();
+        assertThat(store.usedBytes()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedToStayWithinBudget() {
+        OffHeapStore store = new OffHeapStore(4 * BLOCK);
+        store.put("a", bytes(2 * BLOCK, 1));
+        store.put("b", bytes(BLOCK, 2));
+        store.put("c", bytes(BLOCK, 3));
+
+        store.put("d", bytes(2 * BLOCK, 4));
+
+        assertThat(store.take("a")).isNull();
+        assertThat(store.take("b")).isEqualTo(bytes(BLOCK, 2));
+        assertThat(store.take("d")).isEqualTo(bytes(2 * BLOCK, 4));
+        assertThat(store.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void replacingAValueFreesItsBlocks() {
+        OffHeapStore store = new OffHeapStore(4 * BLOCK);
+        store.put("a", bytes(3 * BLOCK, 1));
+        store.put("a", bytes(3 * BLOCK, 2));
+        store.put("b", bytes(BLOCK, 3));
+
+        assertThat(store.take("a")).isEqualTo(bytes(3 * BLOCK, 2));
+        assertThat(store.take("b")).isEqualTo(bytes(BLOCK, 3));
+        assertThat(store.evictions()).isZero();
+    }
+
+    @Test
+    void doesNotStoreValuesLargerThanTheBudget() {
+        OffHeapStore store = new OffHeapStore(2 * BLOCK);
+        store.put("a", bytes(10, 1));
+
+        store.put("a", bytes(2 * BLOCK + 1, 2));
+
+        assertThat(store.take("a")).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void reusesReservedMemoryInsteadOfAllocatingPerEntry() {
+        long budget = 8L * 1024 * 1024;
+        OffHeapStore store = new OffHeapStore(budget);
+        for (int i = 0; i < 20_000; i++) {
+            store.put("k" + i, bytes(700 + i % 1500, i));
+        }
+
+        assertThat(store.reservedBytes()).isEqualTo(budget);
+        assertThat(store.usedBytes()).isLessThanOrEqualTo(budget);
+        assertThat(store.take("k19999")).isEqualTo(bytes(700 + 19999 % 1500, 19999));
+    }
+
+    @Test
+    void reservesMemoryOnlyAsNeeded() {
+        OffHeapStore store = new OffHeapStore(64L * 1024 * 1024);
+        store.put("a", bytes(10, 1));
+
+        assertThat(store.reservedBytes()).isLessThan(64L * 1024 * 1024);
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] value = new byte[length];
+        Arrays.fill(value, (byte) seed);
+        if (length > 0) {
+            value[length - 1] = (byte) (seed * 31 + 7);
+        }
+        return value;
+    }
+}
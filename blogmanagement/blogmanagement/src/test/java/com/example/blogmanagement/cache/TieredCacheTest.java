@@ -0,0 +1,87 @@
+package com.example.blogmanagement.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TieredCacheTest {
+
+    private final TieredCache<String> cache = new TieredCache<>("test", String.class, 100, 64 * 1024,
+            new ObjectMapper(), new SimpleMeterRegistry());
+
+    @Test
+    void concurrentMissesOnVirtualThreadsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(16);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    // All callers miss at once instead of trickling in
+                    start.await(5, TimeUnit.SECONDS);
+                    return cache.get("k", key -> {
+                        loads.incrementAndGet();
+                        loading.countDown();
+                        await(release);
+                        return "value";
+                    });
+                }));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void doesNotCacheALoadThatRacedWithAnInvalidation() {
+        String stale = cache.get("k", key -> {
+            // A write lands while the old value is being read
+            cache.invalidate("k");
+            return "old";
+        });
+
+        assertThat(stale).isEqualTo("old");
+        assertThat(cache.getIfPresent("k")).isNull();
+        assertThat(cache.get("k", key -> "new")).isEqualTo("new");
+        assertThat(cache.getIfPresent("k")).isEqualTo("new");
+    }
+
+    @Test
+    void doesNotCacheFailedOrEmptyLoads() {
+        assertThatThrownBy(() -> cache.get("k", key -> {
+            throw new IllegalStateException("MongoDB unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("k", key -> null)).isNull();
+
+        assertThat(cache.get("k", key -> "value")).isEqualTo("value");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
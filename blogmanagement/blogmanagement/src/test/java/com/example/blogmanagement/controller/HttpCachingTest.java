@@ -0,0 +1,76 @@
+package com.example.blogmanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpCachingTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final HttpCaching httpCaching = new HttpCaching(Duration.ZERO, Duration.ofSeconds(5));
+
+    @Test
+    void setsValidatorsOnAFullResponse() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean notModified = httpCaching.checkNotModified(webRequest(new MockHttpServletRequest(), response),
+                VERSION, false);
+
+        assertThat(notModified).isFalse();
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + Long.toHexString(epochMilli(VERSION)) + "\"");
+        assertThat(response.getDateHeader("Last-Modified")).isEqualTo(epochMilli(VERSION));
+    }
+
+    @Test
+    void matchingEntityTagIsNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", "W/\"" + Long.toHexString(epochMilli(VERSION)) + "\"");
+
+        assertThat(httpCaching.checkNotModified(webRequest(request, new MockHttpServletResponse()), VERSION, true))
+                .isTrue();
+    }
+
+    @Test
+    void newerVersionIsModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", "\"" + Long.toHexString(epochMilli(VERSION)) + "\"");
+
+        assertThat(httpCaching.checkNotModified(webRequest(request, new MockHttpServletResponse()),
+                VERSION.plusSeconds(1), false)).isFalse();
+    }
+
+    @Test
+    void unchangedSinceLastModifiedIsNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-Modified-Since", epochMilli(VERSION));
+
+        assertThat(httpCaching.checkNotModified(webRequest(request, new MockHttpServletResponse()), VERSION, false))
+                .isTrue();
+    }
+
+    @Test
+    void unknownVersionIsNeverNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", "*");
+
+        assertThat(httpCaching.checkNotModified(webRequest(request, new MockHttpServletResponse()), null, false))
+                .isFalse();
+    }
+
+    private static ServletWebRequest webRequest(MockHttpServletRequest request, MockHttpServletResponse response) {
+        request.setMethod("GET");
+        return new ServletWebRequest(request, response);
+    }
+
+    private static long epochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.blogmanagement.controller;
+
+import com.example.blogmanagement.dto.PostResponseDto;
+import com.example.blogmanagement.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostControllerTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Mock
+    private PostService postService;
+
+    private PostController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new PostController(postService, new HttpCaching(Duration.ZERO, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void answersNotModifiedForTheCurrentVersion() {
+        when(postService.getPost("p1")).thenReturn(post(VERSION));
+        String etag = etagOf(new MockHttpServletResponse());
+
+        ResponseEntity<PostResponseDto> response = fetch(etag);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        // Each request, the revalidated one included, is one read and one view
+        verify(postService, times(2)).getPost("p1");
+    }
+
+    @Test
+    void servesTheNewVersionOnceViewsWereAdded() {
+        PostResponseDto updated = post(VERSION.plusSeconds(10));
+        when(postService.getPost("p1")).thenReturn(post(VERSION), updated);
+        String etag = etagOf(new MockHttpServletResponse());
+
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ResponseEntity<PostResponseDto> response = controller.getPost("p1",
+                new ServletWebRequest(conditional(etag), servletResponse));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(updated);
+        // The validators describe the body that was sent
+        assertThat(servletResponse.getHeader("ETag")).isNotEqualTo(etag);
+        assertThat(servletResponse.getDateHeader("Last-Modified"))
+                .isEqualTo(VERSION.plusSeconds(10).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static PostResponseDto post(LocalDateTime version) {
+        return PostResponseDto.builder().id("p1").title("Title").lastModified(version).build();
+    }
+
+    private String etagOf(MockHttpServletResponse response) {
+        controller.getPost("p1", new ServletWebRequest(new MockHttpServletRequest("GET", "/api/posts/p1"), response));
+        return response.getHeader("ETag");
+    }
+
+    private ResponseEntity<PostResponseDto> fetch(String ifNoneMatch) {
+        return controller.getPost("p1", new ServletWebRequest(conditional(ifNoneMatch), new MockHttpServletResponse()));
+    }
+
+    private static MockHttpServletRequest conditional(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/p1");
+        request.addHeader("If-None-Match", ifNoneMatch);
+        return request;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.blogmanagement.dto;
+
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostFieldSetTest {
+
+    @Test
+    void fullViewLoadsWholeDocuments() {
+        assertThat(PostFieldSet.of(null, null)).isSameAs(PostFieldSet.FULL);
+        assertThat(PostFieldSet.FULL.documentFields()).isEmpty();
+    }
+
+    @Test
+    void summaryViewProjectsTheExcerptInsteadOfTheContent() {
+        PostFieldSet summary = PostFieldSet.of("summary", null);
+
+        assertThat(summary.documentFields())
+                .contains("excerpt", "authorId")
+                .doesNotContain("content");
+    }
+
+    @Test
+    void explicitFieldsTakePrecedenceAndAlwaysIncludeTheId() {
+        PostFieldSet fields = PostFieldSet.of("full", "title, authorUsername");
+
+        assertThat(fields.documentFields()).containsExactlyInAnyOrder("id", "title", "authorId");
+        assertThat(fields.includes("content")).isFalse();
+    }
+
+    @Test
+    void unknownFieldsAndViewsAreBadRequests() {
+        assertThatThrownBy(() -> PostFieldSet.of(null, "title,password"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("password");
+        assertThatThrownBy(() -> PostFieldSet.of("compact", null)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void excerptKeepsWholeCodePoints() {
+        String content = "a".repeat(Post.EXCERPT_LENGTH - 1) + "😀" + "tail";
+
+        String excerpt = Post.excerptOf(content);
+
+        assertThat(excerpt.codePointCount(0, excerpt.length())).isEqualTo(Post.EXCERPT_LENGTH);
+        assertThat(excerpt).endsWith("😀");
+        assertThat(Post.excerptOf("short")).isEqualTo("short");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.blogmanagement.feed;
+
+import com.example.blogmanagement.MongoContainerTest;
+import com.example.blogmanagement.document.Feed;
+import com.example.blogmanagement.repository.PageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(FeedStore.class)
+@TestPropertySource(properties = "blog.feed.max-entries=4")
+class FeedStoreTest extends MongoContainerTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private FeedStore feedStore;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Feed.class);
+    }
+
+    @Test
+    void keepsTheNewestEntriesInFeedOrder() {
+        feedStore.push(List.of(1L), List.of(entry("a", 0), entry("b", 1), entry("c", 2)));
+        feedStore.push(List.of(1L), List.of(entry("d", 3), entry("e", 4)));
+
+        assertThat(postIds(feedStore.read(1L, null, 10))).containsExactly("e", "d", "c", "b");
+    }
+
+    @Test
+    void readsThePagePastTheCursorOnly() {
+        feedStore.push(List.of(1L), List.of(entry("a", 0), entry("b", 1), entry("c", 1), entry("d", 2)));
+
+        List<Feed.Entry> first = feedStore.read(1L, null, 2);
+        Feed.Entry last = first.get(first.size() - 1);
+        List<Feed.Entry> second = feedStore.read(1L, new PageCursor(last.getCreatedAt(), last.getPostId()), 2);
+
+        assertThat(postIds(first)).containsExactly("d", "c");
+        assertThat(postIds(second)).containsExactly("b", "a");
+    }
+
+    @Test
+    void replacesEntriesAFeedAlreadyHolds() {
+        feedStore.push(List.of(1L), List.of(entry("a", 0), entry("b", 1)));
+
+        feedStore.pushReplacing(List.of(1L, 2L), List.of(entry("b", 1), entry("c", 2)));
+
+        assertThat(postIds(feedStore.read(1L, null, 10))).containsExactly("c", "b", "a");
+        assertThat(postIds(feedStore.read(2L, null, 10))).containsExactly("c", "b");
+    }
+
+    @Test
+    void readsAnEmptyPageForAUserWithoutAFeed() {
+        assertThat(feedStore.read(2L, null, 10)).isEmpty();
+    }
+
+    @Test
+    void removesTheEntriesOfOneAuthor() {
+        feedStore.push(List.of(1L), List.of(entry("a", 0),
+                Feed.Entry.builder().postId("x").authorId(9L).createdAt(NOON.plusMinutes(5)).build()));
+
+        feedStore.removeAuthor(1L, 9L);
+
+        assertThat(postIds(feedStore.read(1L, null, 10))).containsExactly("a");
+    }
+
+    private static Feed.Entry entry(String postId, int minutes) {
+        return Feed.Entry.builder().postId(postId).authorId(7L).createdAt(NOON.plusMinutes(minutes)).build();
+    }
+
+    private static List<String> postIds(List<Feed.Entry> entries) {
+        return entries.stream().map(Feed.Entry::getPostId).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.MongoContainerTest;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.CommentStorage;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Import(CommentCountReconciler.class)
+@TestPropertySource(properties = {
+        "blog.comment-count.reconcile-batch-size=2",
+        "blog.comment-count.reconcile-settle=PT0S"
+})
+class CommentCountReconcilerTest extends MongoContainerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private CommentCountReconciler reconciler;
+
+    @MockitoBean
+    private CommentStorage commentStorage;
+    @MockitoBean
+    private TieredCache<Post> postCache;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Post.class);
+    }
+
+    @Test
+    void repairsDriftedCountersAcrossBatches() {
+        mongoTemplate.insert(Post.builder().id("a").commentCount(2).build());
+        mongoTemplate.insert(Post.builder().id("b").commentCount(4).build());
+        mongoTemplate.insert(Post.builder().id("c").commentCount(5).build());
+        when(commentStorage.countByPostIds(anyCollection())).thenReturn(Map.of("a", 3L, "b", 4L));
+
+        reconciler.reconcile();
+
+        assertThat(commentCount("a")).isEqualTo(3);
+        assertThat(commentCount("b")).isEqualTo(4);
+        assertThat(commentCount("c")).isZero();
+        verify(postCache).invalidate("a");
+        verify(postCache).invalidate("c");
+        verify(postCache, never()).invalidate("b");
+    }
+
+    @Test
+    void setsTheCounterOnPostsWrittenBeforeItExisted() {
+        mongoTemplate.getCollection("posts").insertOne(new Document("_id", "old").append("title", "Old"));
+        when(commentStorage.countByPostIds(anyCollection())).thenReturn(Map.of("old", 7L));
+
+        reconciler.reconcile();
+
+        assertThat(commentCount("old")).isEqualTo(7);
+    }
+
+    @Test
+    void leavesPostsAloneWhoseIncrementLandsWhileSettling() {
+        mongoTemplate.insert(Post.builder().id("a").commentCount(2).commentsUpdatedAt(T0).build());
+        // The third comment is stored, its increment lands after the first count
+        when(commentStorage.countByPostIds(anyCollection())).thenReturn(Map.of("a", 3L)).thenAnswer(invocation -> {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("id").is("a")),
+                    new Update().inc("commentCount", 1).set("commentsUpdatedAt", T0.plusMinutes(1)), Post.class);
+            return Map.of("a", 3L);
+        });
+
+        reconciler.reconcile();
+
+        assertThat(commentCount("a")).isEqualTo(3);
+        verify(postCache, never()).invalidate("a");
+    }
+
+    @Test
+    void leavesPostsAloneWhoseCountChangedWhileSettling() {
+        mongoTemplate.insert(Post.builder().id("a").commentCount(2).commentsUpdatedAt(T0).build());
+        when(commentStorage.countByPostIds(anyCollection())).thenReturn(Map.of("a", 3L), Map.of("a", 4L));
+
+        reconciler.reconcile();
+
+        assertThat(commentCount("a")).isEqualTo(2);
+    }
+
+    private long commentCount(String postId) {
+        return mongoTemplate.findById(postId, Post.class).getCommentCount();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.MongoContainerTest;
+import com.example.blogmanagement.document.Comment;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(CommentPathBackfill.class)
+class CommentPathBackfillTest extends MongoContainerTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private CommentPathBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Comment.class);
+    }
+
+    @Test
+    void givesOldCommentsTheirOwnIdentifierAsPath() {
+        ObjectId id = new ObjectId();
+        mongoTemplate.getCollection("comments").insertOne(new Document("_id", id).append("postId", "p1"));
+
+        backfill.backfillMissingPaths();
+
+        Comment comment = mongoTemplate.findById(id.toHexString(), Comment.class);
+        assertThat(comment.getPath()).isEqualTo(id.toHexString());
+        assertThat(comment.getDepth()).isZero();
+    }
+
+    @Test
+    void recoversCreationTimesFromTheIdentifier() {
+        ObjectId id = new ObjectId();
+        mongoTemplate.getCollection("comments").insertOne(new Document("_id", id).append("postId", "p1"));
+
+        backfill.backfillMissingTimestamps();
+
+        Comment comment = mongoTemplate.findById(id.toHexString(), Comment.class);
+        LocalDateTime created = LocalDateTime.ofInstant(id.getDate().toInstant(), ZoneId.systemDefault());
+        assertThat(comment.getCreatedAt()).isEqualTo(created);
+        assertThat(comment.getUpdatedAt()).isEqualTo(created);
+    }
+}
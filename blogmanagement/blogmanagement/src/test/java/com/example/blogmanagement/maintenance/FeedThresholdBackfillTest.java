@@ -0,0 +1,79 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.feed.FeedFanout;
+import com.example.blogmanagement.repository.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FeedThresholdBackfillTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private FeedFanout feedFanout;
+
+    @InjectMocks
+    private FeedThresholdBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        when(feedFanout.celebrityThreshold()).thenReturn(500L);
+    }
+
+    @Test
+    void backfillsAuthorsNoLongerPulledAfterThresholdWasRaised() {
+        storedThreshold(new Document("_id", "celebrity-threshold").append("value", 100L));
+        when(userRepository.findIdsWithFollowerCountBetween(100, 500)).thenReturn(List.of(7L, 9L));
+
+        backfill.backfillAfterThresholdChange();
+
+        verify(feedFanout).backfillFollowers(7L);
+        verify(feedFanout).backfillFollowers(9L);
+    }
+
+    @Test
+    void doesNothingWhenThresholdWasLowered() {
+        storedThreshold(new Document("_id", "celebrity-threshold").append("value", 1000));
+
+        backfill.backfillAfterThresholdChange();
+
+        verifyNoInteractions(userRepository);
+        verify(feedFanout, never()).backfillFollowers(anyLong());
+    }
+
+    @Test
+    void onlyRecordsTheThresholdOnFirstStart() {
+        storedThreshold(null);
+
+        backfill.backfillAfterThresholdChange();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    private void storedThreshold(Document previous) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq("feed_settings"))).thenReturn(previous);
+    }
+}
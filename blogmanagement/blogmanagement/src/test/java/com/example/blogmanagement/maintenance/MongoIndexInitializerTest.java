@@ -0,0 +1,59 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.MongoContainerTest;
+import com.example.blogmanagement.document.CommentBucket;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import(MongoIndexInitializer.class)
+class MongoIndexInitializerTest extends MongoContainerTest {
+
+    private static final String OPEN_INDEX = "post_open_idx";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoIndexInitializer initializer;
+
+    @Test
+    void createsDeclaredIndexesWithTheirPartialFilters() {
+        assertThat(openIndex().getPartialFilterExpression()).contains("\"open\": true");
+    }
+
+    @Test
+    void indexWithoutItsPartialFilterFailsUnlessReplacingIsEnabled() {
+        IndexOperations indexOps = mongoTemplate.indexOps(CommentBucket.class);
+        indexOps.dropIndex(OPEN_INDEX);
+        indexOps.ensureIndex(new Index().on("postId", Sort.Direction.ASC).named(OPEN_INDEX));
+
+        assertThatThrownBy(initializer::afterSingletonsInstantiated)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(OPEN_INDEX);
+
+        ReflectionTestUtils.setField(initializer, "replaceConflicting", true);
+        try {
+            initializer.afterSingletonsInstantiated();
+        } finally {
+            ReflectionTestUtils.setField(initializer, "replaceConflicting", false);
+        }
+        assertThat(openIndex().isUnique()).isTrue();
+        assertThat(openIndex().getPartialFilterExpression()).contains("\"open\": true");
+    }
+
+    private IndexInfo openIndex() {
+        return mongoTemplate.indexOps(CommentBucket.class).getIndexInfo().stream()
+                .filter(index -> OPEN_INDEX.equals(index.getName()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
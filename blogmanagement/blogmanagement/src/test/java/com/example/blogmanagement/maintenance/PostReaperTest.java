@@ -0,0 +1,75 @@
+package com.example.blogmanagement.maintenance;
+
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostReaperTest {
+
+    @Mock
+    private CommentStorage commentStorage;
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private TieredCache<Comment> commentCache;
+
+    @InjectMocks
+    private PostReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reaper, "batchSize", 2);
+        ReflectionTestUtils.setField(reaper, "batchPause", Duration.ZERO);
+        ReflectionTestUtils.setField(reaper, "maxBatchesPerRun", 10);
+    }
+
+    @Test
+    void deletesCommentsInBatchesThenThePost() {
+        when(postRepository.findDeleted(16)).thenReturn(List.of(Post.builder().id("p1").build()), List.of());
+        when(commentStorage.deleteBatch("p1", 2)).thenReturn(
+                new CommentStorage.Removal(List.of("c1", "c2"), 2),
+                new CommentStorage.Removal(List.of("c3"), 1),
+                new CommentStorage.Removal(List.of(), 0));
+
+        reaper.reap();
+
+        verify(postRepository).recordCommentChange(eq("p1"), eq(-2L), any(LocalDateTime.class));
+        verify(postRepository).recordCommentChange(eq("p1"), eq(-1L), any(LocalDateTime.class));
+        verify(commentCache).invalidate("c1");
+        verify(commentCache).invalidate("c3");
+        verify(postRepository).purgeDeleted("p1");
+    }
+
+    @Test
+    void stopsAfterTheBatchLimitAndResumesOnTheNextRun() {
+        ReflectionTestUtils.setField(reaper, "maxBatchesPerRun", 1);
+        when(postRepository.findDeleted(16)).thenReturn(List.of(Post.builder().id("p1").build()));
+        when(commentStorage.deleteBatch("p1", 2)).thenReturn(new CommentStorage.Removal(List.of("c1", "c2"), 2));
+
+        reaper.reap();
+
+        verify(postRepository).recordCommentChange(eq("p1"), eq(-2L), any(LocalDateTime.class));
+        verify(postRepository, never()).purgeDeleted(anyString());
+    }
+}
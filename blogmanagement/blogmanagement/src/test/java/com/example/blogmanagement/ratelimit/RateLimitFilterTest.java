@@ -0,0 +1,79 @@
+package com.example.blogmanagement.ratelimit;
+
+import com.example.blogmanagement.entity.Role;
+import com.example.blogmanagement.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new RateLimiter(new RateLimitProperties(true, 100, List.of(
+                    new RateLimitProperties.Rule("search", "GET", "/api/posts/search", null,
+                            2, Duration.ofMinutes(1), null))),
+                    new SimpleMeterRegistry()),
+            JsonMapper.builder().findAndAddModules().build());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void refusesRequestsOverTheLimitWith429() throws Exception {
+        assertThat(search().getStatus()).isEqualTo(200);
+        MockHttpServletResponse second = search();
+        assertThat(second.getHeader("RateLimit-Policy")).isEqualTo("2;w=60");
+        assertThat(second.getHeader("RateLimit-Remaining")).isEqualTo("0");
+
+        MockHttpServletResponse refused = search();
+
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(refused.getHeader("Retry-After"))).isBetween(1L, 30L);
+        assertThat(refused.getContentAsString()).contains("Too many requests");
+    }
+
+    @Test
+    void limitsAuthenticatedUsersSeparatelyFromTheirAddress() throws Exception {
+        search();
+        search();
+        assertThat(search().getStatus()).isEqualTo(429);
+
+        AuthenticatedUser user = new AuthenticatedUser(1L, "ada", Set.of(Role.USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        assertThat(search().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void passesRequestsNoRuleMatches() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/posts/p1"), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader("RateLimit-Policy")).isNull();
+        }
+    }
+
+    private MockHttpServletResponse search() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/search");
+        request.setParameter("q", "java");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
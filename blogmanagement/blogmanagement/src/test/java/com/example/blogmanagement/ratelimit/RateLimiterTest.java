@@ -0,0 +1,91 @@
+package com.example.blogmanagement.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void allowsTheBurstThenRefuses() {
+        RateLimiter limiter = limiter(new RateLimitProperties.Rule("login", "POST", "/api/auth/login", null,
+                3, Duration.ofHours(1), null));
+        RateLimiter.Limit limit = limiter.limits().get(0);
+
+        assertThat(limiter.acquire(limit, "10.0.0.1").remaining()).isEqualTo(2);
+        assertThat(limiter.acquire(limit, "10.0.0.1").remaining()).isEqualTo(1);
+        assertThat(limiter.acquire(limit, "10.0.0.1").remaining()).isEqualTo(0);
+
+        RateLimiter.Decision refused = limiter.acquire(limit, "10.0.0.1");
+        assertThat(refused.allowed()).isFalse();
+        assertThat(refused.retryAfterNanos()).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(20).toNanos());
+        assertThat(meterRegistry.get("blog.rate_limit.rejected").tag("rule", "login").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void keepsASeparateBucketPerClient() {
+        RateLimiter limiter = limiter(new RateLimitProperties.Rule("login", "POST", "/api/auth/login", null,
+                1, Duration.ofHours(1), null));
+        RateLimiter.Limit limit = limiter.limits().get(0);
+
+        assertThat(limiter.acquire(limit, "10.0.0.1").allowed()).isTrue();
+        assertThat(limiter.acquire(limit, "10.0.0.1").allowed()).isFalse();
+        assertThat(limiter.acquire(limit, "10.0.0.2").allowed()).isTrue();
+        // A user id never shares the bucket of an address
+        assertThat(limiter.acquire(limit, 1L).allowed()).isTrue();
+    }
+
+    @Test
+    void allowsExactlyTheBurstToConcurrentRequests() throws Exception {
+        RateLimiter limiter = limiter(new RateLimitProperties.Rule("search", "GET", "/api/posts/search", null,
+                50, Duration.ofHours(1), null));
+        RateLimiter.Limit limit = limiter.limits().get(0);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> limiter.acquire(limit, "10.0.0.1").allowed()));
+            }
+        }
+
+        long allowed = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(5, TimeUnit.SECONDS)) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(50);
+    }
+
+    @Test
+    void disabledLimiterHasNoLimits() {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties(false, 100, List.of(
+                new RateLimitProperties.Rule("login", null, "/api/auth/login", null, 1, Duration.ofMinutes(1), null))),
+                meterRegistry);
+
+        assertThat(limiter.limits()).isEmpty();
+    }
+
+    @Test
+    void rejectsRulesWithoutALimit() {
+        assertThatThrownBy(() -> limiter(new RateLimitProperties.Rule("login", null, "/api/auth/login", null,
+                0, Duration.ofMinutes(1), null))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RateLimiter limiter(RateLimitProperties.Rule rule) {
+        return new RateLimiter(new RateLimitProperties(true, 100, List.of(rule)), meterRegistry);
+    }
+}
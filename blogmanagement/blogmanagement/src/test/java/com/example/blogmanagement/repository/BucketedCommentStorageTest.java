@@ -0,0 +1,102 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.MongoContainerTest;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.CommentBucket;
+import com.example.blogmanagement.maintenance.MongoIndexInitializer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(MongoIndexInitializer.class)
+class BucketedCommentStorageTest extends MongoContainerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private BucketedCommentStorage storage;
+    private List<Comment> comments;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new Query(), CommentBucket.class);
+        storage = new BucketedCommentStorage(mongoTemplate, 2);
+        comments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            comments.add(Comment.builder()
+                    .id(new ObjectId().toHexString())
+                    .postId("p1")
+                    .authorId(7L)
+                    .content("Comment " + i)
+                    .createdAt(T0.plusMinutes(i))
+                    .updatedAt(T0.plusMinutes(i))
+                    .build());
+        }
+        storage.insert(comments.get(0));
+        assertThat(storage.insertAll(comments.subList(1, 5))).isEmpty();
+    }
+
+    @Test
+    void fillsBucketsUpToTheBucketSize() {
+        assertThat(mongoTemplate.count(new Query(), CommentBucket.class)).isEqualTo(3);
+        assertThat(storage.countByPostId("p1")).isEqualTo(5);
+        assertThat(storage.countByPostIds(List.of("p1", "p2"))).isEqualTo(Map.of("p1", 5L));
+    }
+
+    @Test
+    void readsPagesThatSpanBuckets() {
+        assertThat(contents(storage.findByPostId("p1", PageRequest.of(0, 3)).getContent()))
+                .containsExactly("Comment 0", "Comment 1", "Comment 2");
+        assertThat(contents(storage.findByPostId("p1", PageRequest.of(1, 3)).getContent()))
+                .containsExactly("Comment 3", "Comment 4");
+    }
+
+    @Test
+    void readsThePageAfterACursor() {
+        Comment last = comments.get(1);
+
+        List<Comment> page = storage.findByPostIdAfter("p1", new PageCursor(last.getCreatedAt(), last.getId()), 2);
+
+        assertThat(contents(page)).containsExactly("Comment 2", "Comment 3");
+    }
+
+    @Test
+    void findsUpdatesAndDeletesSingleComments() {
+        Comment third = storage.findById(comments.get(2).getId()).orElseThrow();
+        third.setContent("Edited");
+        storage.updateContent(third);
+        assertThat(storage.findById(third.getId()).orElseThrow().getContent()).isEqualTo("Edited");
+
+        assertThat(storage.delete(third).count()).isEqualTo(1);
+
+        assertThat(storage.findById(third.getId())).isEmpty();
+        assertThat(storage.countByPostId("p1")).isEqualTo(4);
+    }
+
+    @Test
+    void deletesWholeBucketsPerBatch() {
+        CommentStorage.Removal removal = storage.deleteBatch("p1", 4);
+
+        assertThat(removal.ids()).containsExactly(comments.get(0).getId(), comments.get(1).getId(),
+                comments.get(2).getId(), comments.get(3).getId());
+        assertThat(storage.countByPostId("p1")).isEqualTo(1);
+    }
+
+    private static List<String> contents(List<Comment> comments) {
+        return comments.stream().map(Comment::getContent).toList();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2026, 3, 1, 12, 0, 0, 123_000_000), "65f1c0de");
+
+        assertThat(PageCursor.decodeOrBadRequest(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void emptyCursorStartsFromTheFirstPage() {
+        assertThat(PageCursor.decodeOrBadRequest(null)).isNull();
+        assertThat(PageCursor.decodeOrBadRequest(" ")).isNull();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        assertThatThrownBy(() -> PageCursor.decodeOrBadRequest("not a cursor"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decodeOrBadRequest("bm8tc2VwYXJhdG9y"))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
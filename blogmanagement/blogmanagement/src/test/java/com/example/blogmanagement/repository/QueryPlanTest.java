@@ -0,0 +1,144 @@
+package com.example.blogmanagement.repository;
+
+import com.example.blogmanagement.MongoContainerTest;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.CommentBucket;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.maintenance.MongoIndexInitializer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Runs {@code explain} on every query shape the post and comment repositories
+ * and the bucketed comment storage issue, against the indexes the
+ * {@link MongoIndexInitializer} creates, and fails if a winning plan scans a
+ * whole collection or sorts in memory.
+ *
+ * Not covered: the text search fallback, which is a regular expression scan by
+ * design, and the full walks of the comment count reconciler and the export.
+ */
+@Import(MongoIndexInitializer.class)
+class QueryPlanTest extends MongoContainerTest {
+
+    private static final Set<String> FORBIDDEN_STAGES = Set.of("COLLSCAN", "SORT");
+    private static final int LIMIT = 21;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    static Stream<Arguments> queries() {
+        String postId = new ObjectId().toHexString();
+        PageCursor cursor = new PageCursor(LocalDateTime.now(), postId);
+        List<String> summary = List.of("id", "title", "excerpt");
+        Comment root = Comment.builder().postId(postId).path(postId).depth(0).build();
+        String replyPath = Comment.pathOf(root, new ObjectId().toHexString());
+
+        return Stream.of(
+                arguments("posts.findLiveById", Post.class, PostRepositoryCustomImpl.liveByIdQuery(postId)),
+                arguments("posts.countLive", Post.class, PostRepositoryCustomImpl.liveQuery()),
+                arguments("posts.findPage", Post.class, PostRepositoryCustomImpl.pageQuery(
+                        PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "createdAt")), List.of())),
+                arguments("posts.findPageAfter (first page)", Post.class,
+                        PostRepositoryCustomImpl.pageAfterQuery(null, LIMIT, summary)),
+                arguments("posts.findPageAfter", Post.class,
+                        PostRepositoryCustomImpl.pageAfterQuery(cursor, LIMIT, summary)),
+                arguments("posts.findByAuthorAfter", Post.class, PostRepositoryCustomImpl.authorPageAfterQuery(
+                        List.of(1L), cursor, LIMIT, List.of())),
+                arguments("posts.findByAuthorsAfter", Post.class, PostRepositoryCustomImpl.authorPageAfterQuery(
+                        List.of(1L, 2L, 3L), cursor, LIMIT, summary)),
+                arguments("posts.countLiveByAuthor", Post.class, PostRepositoryCustomImpl.authorQuery(1L)),
+                arguments("posts.findTrending", Post.class, PostRepositoryCustomImpl.trendingQuery(10, summary)),
+                arguments("posts.findByIds", Post.class, PostRepositoryCustomImpl.idsQuery(
+                        List.of(postId, new ObjectId().toHexString()), summary)),
+                arguments("posts.findDeleted", Post.class, PostRepositoryCustomImpl.deletedQuery(50)),
+
+                arguments("comments.findByPostId", Comment.class, new Query(Criteria.where("postId").is(postId))
+                        .with(PageRequest.of(2, 10, Sort.by(Sort.Direction.ASC, "createdAt")))),
+                arguments("comments.countByPostId", Comment.class, new Query(Criteria.where("postId").is(postId))),
+                arguments("comments.findByPostIdAfter (first page)", Comment.class,
+                        CommentRepositoryCustomImpl.postPageAfterQuery(postId, null, LIMIT)),
+                arguments("comments.findByPostIdAfter", Comment.class,
+                        CommentRepositoryCustomImpl.postPageAfterQuery(postId, cursor, LIMIT)),
+                arguments("comments.findRepliesAfter", Comment.class,
+                        CommentRepositoryCustomImpl.repliesAfterQuery(root, replyPath, 2, LIMIT)),
+                arguments("comments.countReplies", Comment.class,
+                        CommentRepositoryCustomImpl.repliesAfterQuery(root, null, null, 0)),
+                arguments("comments.findTopLevelAfter", Comment.class,
+                        CommentRepositoryCustomImpl.topLevelAfterQuery(postId, postId, LIMIT)),
+                arguments("comments.findReplyPreviews ($match)", Comment.class,
+                        new Query(CommentRepositoryCustomImpl.previewCriteria(postId,
+                                List.of(root, Comment.builder().path(new ObjectId().toHexString()).build())))
+                                .with(Sort.by(Sort.Direction.ASC, "path"))),
+
+                arguments("comment_buckets.openBucket", CommentBucket.class,
+                        BucketedCommentStorage.openBucketQuery(postId)),
+                arguments("comment_buckets.summaries", CommentBucket.class,
+                        BucketedCommentStorage.summaryQuery(postId)),
+                arguments("comment_buckets.holder", CommentBucket.class,
+                        BucketedCommentStorage.holderQuery(postId, new ObjectId().toHexString())));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryIsServedByAnIndex(String name, Class<?> type, Query query) {
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(type);
+        Document filter = mapper.getMappedObject(query.getQueryObject(), entity);
+        Document sort = mapper.getMappedSort(query.getSortObject(), entity);
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(type))
+                .find(filter)
+                .sort(sort)
+                .skip((int) query.getSkip())
+                .limit(query.getLimit())
+                .explain();
+
+        Document plan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        // Plans run by the slot-based engine nest the classic plan one level down
+        if (plan.containsKey("queryPlan")) {
+            plan = plan.get("queryPlan", Document.class);
+        }
+        List<String> stages = new ArrayList<>();
+        collectForbiddenStages(plan, stages);
+
+        assertThat(stages).as("%s plan for %s", name, filter.toJson()).isEmpty();
+    }
+
+    private static void collectForbiddenStages(Document stage, List<String> found) {
+        String name = stage.getString("stage");
+        if (name != null && FORBIDDEN_STAGES.contains(name)) {
+            found.add(name);
+        }
+        if (stage.get("inputStage") instanceof Document input) {
+            collectForbiddenStages(input, found);
+        }
+        if (stage.get("inputStages") instanceof List<?> inputs) {
+            for (Object input : inputs) {
+                if (input instanceof Document document) {
+                    collectForbiddenStages(document, found);
+                }
+            }
+        }
+    }
+}
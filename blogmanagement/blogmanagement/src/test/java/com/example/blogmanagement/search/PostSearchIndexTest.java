@@ -0,0 +1,157 @@
+package com.example.blogmanagement.search;
+
+import com.example.blogmanagement.document.Post;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final PostSearchIndex index = new PostSearchIndex(null, true, 2.0f, 1.2, 0.75);
+
+    @Test
+    void ranksTitleMatchesAboveContentMatches() {
+        index.index(post("content", "Gardening", "Notes about kotlin coroutines", T0));
+        index.index(post("title", "Kotlin coroutines", "Notes about gardening", T0));
+        index.index(post("other", "Gardening", "Tomatoes", T0));
+
+        PostSearchIndex.SearchHits hits = index.search("kotlin", 10);
+
+        assertThat(hits.ids()).containsExactly("title", "content");
+        assertThat(hits.total()).isEqualTo(2);
+    }
+
+    @Test
+    void limitsHitsButCountsAllMatches() {
+        for (int i = 0; i < 20; i++) {
+            index.index(post("p" + i, "Java streams", "part " + i, T0));
+        }
+
+        PostSearchIndex.SearchHits hits = index.search("java", 5);
+
+        assertThat(hits.ids()).hasSize(5);
+        assertThat(hits.total()).isEqualTo(20);
+    }
+
+    @Test
+    void scoresPostsMatchingSeveralTermsHigher() {
+        index.index(post("one", "Spring", "spring data", T0));
+        index.index(post("both", "Spring", "spring data mongodb", T0));
+        index.index(post("mongo", "Databases", "mongodb only", T0));
+
+        assertThat(index.search("spring mongodb", 10).ids()).first().isEqualTo("both");
+    }
+
+    @Test
+    void updateReplacesIndexedContent() {
+        index.index(post("p", "Old title", "cobol", T0));
+        index.index(post("p", "New title", "rust", T0.plusMinutes(1)));
+
+        assertThat(index.search("cobol", 10).ids()).isEmpty();
+        assertThat(index.search("rust", 10).ids()).containsExactly("p");
+    }
+
+    @Test
+    void ignoresOlderVersions() {
+        index.index(post("p", "Title", "rust", T0.plusMinutes(1)));
+        index.index(post("p", "Title", "cobol", T0));
+
+        assertThat(index.search("cobol", 10).ids()).isEmpty();
+        assertThat(index.search("rust", 10).ids()).containsExactly("p");
+    }
+
+    @Test
+    void removedPostsDoNotMatch() {
+        index.index(post("a", "Haskell", "monads", T0));
+        index.index(post("b", "Haskell", "functors", T0));
+        index.remove("a");
+
+        PostSearchIndex.SearchHits hits = index.search("haskell", 10);
+
+        assertThat(hits.ids()).containsExactly("b");
+        assertThat(hits.total()).isEqualTo(1);
+    }
+
+    @Test
+    void compactionKeepsResults() {
+        List<String> kept = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            index.index(post("p" + i, "Topic " + (i % 7), "common word" + (i % 13), T0));
+            if (i % 3 == 0) {
+                kept.add("p" + i);
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            if (i % 3 != 0) {
+                index.remove("p" + i);
+            }
+        }
+        PostSearchIndex.SearchHits before = index.search("common topic word5", 50);
+
+        index.compact();
+
+        PostSearchIndex.SearchHits after = index.search("common topic word5", 50);
+        assertThat(after.total()).isEqualTo(kept.size());
+        assertThat(after.ids()).containsExactlyElementsOf(before.ids());
+    }
+
+    @Test
+    void indexStaysUsableAfterCompaction() {
+        for (int i = 0; i < 100; i++) {
+            index.index(post("p" + i, "Scala", "implicits", T0));
+        }
+        for (int i = 0; i < 90; i++) {
+            index.remove("p" + i);
+        }
+
+        index.compact();
+        index.index(post("p95", "Scala", "givens", T0.plusMinutes(1)));
+        index.index(post("new", "Scala", "implicits", T0));
+        index.remove("p99");
+
+        assertThat(index.search("scala", 100).total()).isEqualTo(10);
+        assertThat(index.search("implicits", 100).ids())
+                .containsExactlyInAnyOrder("p90", "p91", "p92", "p93", "p94", "p96", "p97", "p98", "new");
+        assertThat(index.search("givens", 100).ids()).containsExactly("p95");
+    }
+
+    @Test
+    void writesDuringCompactionAreKept() throws InterruptedException {
+        for (int i = 0; i < 20_000; i++) {
+            index.index(post("p" + i, "Erlang", "actors", T0));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            index.remove("p" + i);
+        }
+
+        Thread compaction = Thread.ofPlatform().start(index::compact);
+        for (int i = 10_000; i < 12_000; i++) {
+            index.index(post("p" + i, "Erlang", "supervisors", T0.plusMinutes(1)));
+        }
+        for (int i = 12_000; i < 13_000; i++) {
+            index.remove("p" + i);
+        }
+        for (int i = 0; i < 500; i++) {
+            index.index(post("n" + i, "Elixir", "actors", T0));
+        }
+        compaction.join();
+
+        assertThat(index.search("erlang", 10).total()).isEqualTo(9_000);
+        assertThat(index.search("supervisors", 10).total()).isEqualTo(2_000);
+        assertThat(index.search("actors", 10).total()).isEqualTo(7_500);
+        index.remove("n0");
+        index.remove("p10000");
+        assertThat(index.search("actors", 10).total()).isEqualTo(7_499);
+        assertThat(index.search("supervisors", 10).total()).isEqualTo(1_999);
+    }
+
+    private static Post post(String id, String title, String content, LocalDateTime updatedAt) {
+        return Post.builder().id(id).title(title).content(content).updatedAt(updatedAt).build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.blogmanagement.security;
+
+import com.example.blogmanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void hashesAndMatchesOnThePool() {
+        encoder = new BoundedPasswordEncoder(5, 2, 4, Duration.ofSeconds(5), meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("other", hash)).isFalse();
+    }
+
+    @Test
+    void failsFastWhenAHashWaitsTooLong() {
+        // A cost 12 hash takes far longer than the one millisecond allowed
+        encoder = new BoundedPasswordEncoder(12, 1, 1, Duration.ofMillis(1), meterRegistry);
+
+        assertThatThrownBy(() -> encoder.encode("secret")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("blog.password_hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void upgradesHashesBelowTheCurrentCost() {
+        encoder = new BoundedPasswordEncoder(6, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void calibratesWithinTheGivenCosts() {
+        assertThat(BoundedPasswordEncoder.calibrate(Duration.ZERO, 4, 12)).isEqualTo(4);
+        assertThat(BoundedPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6)).isEqualTo(6);
+    }
+}
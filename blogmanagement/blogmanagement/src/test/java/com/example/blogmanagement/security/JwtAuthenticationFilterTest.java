@@ -0,0 +1,88 @@
+package com.example.blogmanagement.security;
+
+import com.example.blogmanagement.entity.Role;
+import com.example.blogmanagement.entity.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider(new SimpleMeterRegistry(),
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970", 900_000, 100, Duration.ofMinutes(5));
+
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private TokenRevocationList revocationList;
+
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, revocationList);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromTheTokenClaimsWithoutLoadingTheUser() throws Exception {
+        String token = tokenProvider.generateToken(new AuthenticatedUser(1L, "ada", Set.of(Role.USER, Role.ADMIN)));
+
+        Authentication authentication = authenticate(token);
+
+        assertThat(authentication.getPrincipal()).isEqualTo(new AuthenticatedUser(1L, "ada",
+                Set.of(Role.USER, Role.ADMIN)));
+        assertThat(authentication.getAuthorities()).extracting(Object::toString)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void loadsTheUserForTokensWithoutClaims() throws Exception {
+        User user = User.builder().id(2L).username("bob").roles(Set.of(Role.USER)).build();
+        when(userDetailsService.loadUserByUsername("bob")).thenReturn(user);
+
+        Authentication authentication = authenticate(tokenProvider.generateTokenFromUsername("bob"));
+
+        assertThat(authentication.getPrincipal()).isEqualTo(AuthenticatedUser.of(user));
+    }
+
+    @Test
+    void leavesRevokedTokensUnauthenticated() throws Exception {
+        when(revocationList.isRevoked(any(Claims.class))).thenReturn(true);
+        String token = tokenProvider.generateToken(new AuthenticatedUser(1L, "ada", Set.of(Role.USER)));
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
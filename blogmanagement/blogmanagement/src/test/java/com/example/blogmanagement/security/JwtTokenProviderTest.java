@@ -0,0 +1,71 @@
+package com.example.blogmanagement.security;
+
+import com.example.blogmanagement.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtTokenProvider provider = provider(900_000);
+
+    @Test
+    void verifiesItsOwnTokens() {
+        String token = provider.generateToken(new AuthenticatedUser(1L, "ada", Set.of(Role.USER)));
+
+        Claims claims = provider.parseClaims(token).orElseThrow();
+
+        assertThat(claims.getSubject()).isEqualTo("ada");
+        assertThat(claims.getId()).isNotBlank();
+    }
+
+    @Test
+    void servesRepeatedVerificationsFromTheClaimsCache() {
+        String token = provider.generateToken(new AuthenticatedUser(1L, "ada", Set.of(Role.USER)));
+
+        Claims first = provider.parseClaims(token).orElseThrow();
+        Claims second = provider.parseClaims(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwtClaims").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = provider.generateToken(new AuthenticatedUser(1L, "ada", Set.of(Role.USER)));
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        assertThat(provider.parseClaims(forged)).isEmpty();
+        assertThat(provider.parseClaims("")).isEmpty();
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        JwtTokenProvider other = new JwtTokenProvider(new SimpleMeterRegistry(), SECRET.toLowerCase(), 900_000,
+                100, Duration.ofMinutes(5));
+        String token = other.generateToken(new AuthenticatedUser(1L, "ada", Set.of(Role.USER)));
+
+        assertThat(provider.parseClaims(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        String token = provider(-1_000).generateToken(new AuthenticatedUser(1L, "ada", Set.of(Role.USER)));
+
+        assertThat(provider.parseClaims(token)).isEmpty();
+    }
+
+    private JwtTokenProvider provider(long expirationMs) {
+        return new JwtTokenProvider(meterRegistry, SECRET, expirationMs, 100, Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.blogmanagement.security;
+
+import com.example.blogmanagement.entity.TokenRevocation;
+import com.example.blogmanagement.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private TokenRevocationRepository revocationRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revocationRepository, 900_000);
+    }
+
+    @Test
+    void revokingAllTokensSparesTokensIssuedLaterInTheSameSecond() {
+        savesRevocations();
+        revocationList.revokeAll(1L);
+        long cutoff = savedRevocationTime();
+
+        // The iat claim of both tokens is the same truncated second
+        assertThat(revocationList.isRevoked(claims(1L, cutoff - 1, null))).isTrue();
+        assertThat(revocationList.isRevoked(claims(1L, cutoff + 1, null))).isFalse();
+        assertThat(revocationList.isRevoked(claims(2L, cutoff - 1, null))).isFalse();
+    }
+
+    @Test
+    void revokesSingleTokens() {
+        savesRevocations();
+        long now = System.currentTimeMillis();
+        revocationList.revokeToken("jti-1", 1L, new Date(now + 60_000));
+
+        assertThat(revocationList.isRevoked(claims(1L, now, "jti-1"))).isTrue();
+        assertThat(revocationList.isRevoked(claims(1L, now, "jti-2"))).isFalse();
+    }
+
+    @Test
+    void appliesRevocationsMadeByOtherInstances() {
+        LocalDateTime now = LocalDateTime.now();
+        when(revocationRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(TokenRevocation.builder().tokenId("jti-3").userId(1L)
+                        .revokedAt(now).expiresAt(now.plusMinutes(15)).build()));
+
+        revocationList.poll();
+
+        assertThat(revocationList.isRevoked(claims(1L, System.currentTimeMillis(), "jti-3"))).isTrue();
+    }
+
+    private void savesRevocations() {
+        when(revocationRepository.save(any(TokenRevocation.class))).then(returnsFirstArg());
+    }
+
+    private long savedRevocationTime() {
+        ArgumentCaptor<TokenRevocation> saved = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(revocationRepository).save(saved.capture());
+        return saved.getValue().getRevokedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Claims claims(Long userId, long issuedAtMillis, String tokenId) {
+        return Jwts.claims()
+                .id(tokenId)
+                .add(AuthenticatedUser.ID_CLAIM, userId)
+                .add(AuthenticatedUser.ISSUED_AT_MS_CLAIM, issuedAtMillis)
+                .issuedAt(new Date(issuedAtMillis / 1000 * 1000))
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.dto.AuthResponse;
+import com.example.blogmanagement.entity.RefreshToken;
+import com.example.blogmanagement.entity.Role;
+import com.example.blogmanagement.entity.User;
+import com.example.blogmanagement.repository.RefreshTokenRepository;
+import com.example.blogmanagement.repository.UserRepository;
+import com.example.blogmanagement.security.JwtTokenProvider;
+import com.example.blogmanagement.security.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    private static final String TOKEN = "refresh-token";
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider(new SimpleMeterRegistry(),
+            "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970", 900_000, 100, Duration.ofMinutes(5));
+
+    @Mock
+    private TokenRevocationList revocationList;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthServiceImpl(tokenProvider, revocationList, refreshTokenRepository, userRepository);
+        ReflectionTestUtils.setField(authService, "refreshTokenTtl", Duration.ofDays(14));
+    }
+
+    @Test
+    void refreshReplacesTheToken() {
+        stored(RefreshToken.builder().id(1L).userId(7L).expiresAt(LocalDateTime.now().plusDays(1)).build());
+        when(refreshTokenRepository.replace(eq(1L), any())).thenReturn(1);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(User.builder().id(7L).username("ada")
+                .roles(Set.of(Role.USER)).build()));
+
+        AuthResponse response = authService.refresh(TOKEN);
+
+        assertThat(response.getRefreshToken()).isNotEqualTo(TOKEN);
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void reusingAReplacedTokenRevokesAllSessions() {
+        stored(RefreshToken.builder().id(1L).userId(7L).expiresAt(LocalDateTime.now().plusDays(1))
+                .revokedAt(T0).replacedAt(T0).build());
+
+        assertThatThrownBy(() -> authService.refresh(TOKEN)).isInstanceOf(CredentialsExpiredException.class);
+
+        verify(refreshTokenRepository).revokeAllOfUser(eq(7L), any());
+        verify(revocationList).revokeAll(7L);
+    }
+
+    @Test
+    void usingATokenRevokedByLogoutIsRefusedWithoutRevokingOtherSessions() {
+        stored(RefreshToken.builder().id(1L).userId(7L).expiresAt(LocalDateTime.now().plusDays(1))
+                .revokedAt(T0).build());
+
+        assertThatThrownBy(() -> authService.refresh(TOKEN)).isInstanceOf(CredentialsExpiredException.class);
+
+        verify(refreshTokenRepository, never()).revokeAllOfUser(anyLong(), any());
+        verify(revocationList, never()).revokeAll(anyLong());
+    }
+
+    private void stored(RefreshToken token) {
+        when(refreshTokenRepository.findByTokenHash(JwtTokenProvider.hash(TOKEN))).thenReturn(Optional.of(token));
+    }
+}
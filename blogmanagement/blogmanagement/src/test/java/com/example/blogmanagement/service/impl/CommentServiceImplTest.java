@@ -0,0 +1,116 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.dto.CommentRequestDto;
+import com.example.blogmanagement.entity.User;
+import com.example.blogmanagement.exception.BadRequestException;
+import com.example.blogmanagement.repository.CommentRepository;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.repository.PostRepository;
+import com.example.blogmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceImplTest {
+
+    @Mock
+    private CommentStorage commentStorage;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AuthorDirectory authorDirectory;
+    @Mock
+    private TieredCache<Comment> commentCache;
+    @Mock
+    private TieredCache<Post> postCache;
+
+    private final StoreCalls storeCalls = new StoreCalls();
+    private CommentServiceImpl commentService;
+
+    @BeforeEach
+    void setUp() {
+        commentService = new CommentServiceImpl(commentStorage, Optional.empty(), storeCalls, commentRepository,
+                postRepository, userRepository, authorDirectory, commentCache, postCache);
+        ReflectionTestUtils.setField(commentService, "maxDepth", 2);
+        when(commentStorage.supportsThreads()).thenReturn(true);
+        when(postRepository.findLiveById(anyString()))
+                .then(invocation -> Optional.of(Post.builder().id(invocation.getArgument(0)).build()));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(User.builder().id(7L).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        storeCalls.stop();
+    }
+
+    @Test
+    void replyExtendsTheParentPathAndCountsTowardsThePost() {
+        Comment parent = Comment.builder().id("c1").postId("p1").path("c1").depth(0).build();
+        when(commentRepository.findById("c1")).thenReturn(Optional.of(parent));
+        when(commentStorage.insert(any(Comment.class))).then(invocation -> invocation.getArgument(0));
+
+        commentService.createComment(reply("p1", "c1"));
+
+        ArgumentCaptor<Comment> stored = ArgumentCaptor.forClass(Comment.class);
+        verify(commentStorage).insert(stored.capture());
+        Comment comment = stored.getValue();
+        assertThat(comment.getPath()).isEqualTo("c1/" + comment.getId());
+        assertThat(comment.getDepth()).isEqualTo(1);
+        assertThat(comment.getParentId()).isEqualTo("c1");
+        // Auditing skips documents that already have an identifier
+        assertThat(comment.getCreatedAt()).isNotNull().isEqualTo(comment.getUpdatedAt());
+        verify(postRepository).recordCommentChange(eq("p1"), eq(1L), any(LocalDateTime.class));
+        verify(postCache).invalidate("p1");
+    }
+
+    @Test
+    void rejectsRepliesBeyondTheMaximumDepth() {
+        when(commentRepository.findById("c3")).thenReturn(Optional.of(
+                Comment.builder().id("c3").postId("p1").path("c1/c2/c3").depth(2).build()));
+
+        assertThatThrownBy(() -> commentService.createComment(reply("p1", "c3")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("2 levels");
+        verify(commentStorage, never()).insert(any());
+    }
+
+    @Test
+    void rejectsRepliesToCommentsOfAnotherPost() {
+        when(commentRepository.findById("c1")).thenReturn(Optional.of(
+                Comment.builder().id("c1").postId("p1").path("c1").depth(0).build()));
+
+        assertThatThrownBy(() -> commentService.createComment(reply("p2", "c1")))
+                .isInstanceOf(BadRequestException.class);
+        verify(commentStorage, never()).insert(any());
+    }
+
+    private static CommentRequestDto reply(String postId, String parentId) {
+        return CommentRequestDto.builder().postId(postId).authorId(7L).parentId(parentId).content("Agreed").build();
+    }
+}
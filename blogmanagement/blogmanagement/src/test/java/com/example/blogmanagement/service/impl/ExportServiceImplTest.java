@@ -0,0 +1,103 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.document.Comment;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private CommentStorage commentStorage;
+    @Mock
+    private AuthorDirectory authorDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportServiceImpl(mongoTemplate, commentStorage, objectMapper, authorDirectory);
+        ReflectionTestUtils.setField(exportService, "windowSize", 2);
+        when(mongoTemplate.stream(any(Query.class), eq(Post.class)))
+                .thenReturn(Stream.of(post("a"), post("b"), post("c")));
+        when(authorDirectory.resolveUsernames(anyCollection())).thenReturn(Map.of(7L, "ada"));
+    }
+
+    @Test
+    void writesOnePostPerLine() throws Exception {
+        List<JsonNode> lines = export(false);
+
+        assertThat(lines).extracting(line -> line.get("id").asText()).containsExactly("a", "b", "c");
+        assertThat(lines.get(0).get("authorUsername").asText()).isEqualTo("ada");
+        assertThat(lines.get(0).has("comments")).isFalse();
+    }
+
+    @Test
+    void mergesTheCommentsOfEachWindowIntoTheirPosts() throws Exception {
+        when(commentStorage.streamByPostIds(List.of("a", "b"), 2)).thenReturn(Stream.of(
+                comment("a1", "a"), comment("a2", "a"), comment("a3", "a"), comment("b1", "b")));
+        when(commentStorage.streamByPostIds(List.of("c"), 2)).thenReturn(Stream.of(comment("c1", "c")));
+
+        List<JsonNode> lines = export(true);
+
+        assertThat(commentIds(lines.get(0))).containsExactly("a1", "a2", "a3");
+        assertThat(commentIds(lines.get(1))).containsExactly("b1");
+        assertThat(commentIds(lines.get(2))).containsExactly("c1");
+        verify(commentStorage).streamByPostIds(List.of("c"), 2);
+    }
+
+    private List<JsonNode> export(boolean includeComments) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportNdjson(out, includeComments);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static List<String> commentIds(JsonNode post) {
+        List<String> ids = new ArrayList<>();
+        post.get("comments").forEach(comment -> ids.add(comment.get("id").asText()));
+        return ids;
+    }
+
+    private static Post post(String id) {
+        return Post.builder().id(id).title("Title " + id).content("Body").authorId(7L).createdAt(T0).build();
+    }
+
+    private static Comment comment(String id, String postId) {
+        return Comment.builder().id(id).postId(postId).authorId(7L).content("hi").createdAt(T0).build();
+    }
+}
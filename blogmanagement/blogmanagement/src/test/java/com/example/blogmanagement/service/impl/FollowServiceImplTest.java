@@ -0,0 +1,91 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.entity.Role;
+import com.example.blogmanagement.feed.FeedFanout;
+import com.example.blogmanagement.feed.FeedStore;
+import com.example.blogmanagement.repository.FollowRepository;
+import com.example.blogmanagement.repository.UserRepository;
+import com.example.blogmanagement.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FollowServiceImplTest {
+
+    private static final long THRESHOLD = 100;
+
+    @Mock
+    private FollowRepository followRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private FeedFanout feedFanout;
+    @Mock
+    private FeedStore feedStore;
+
+    @InjectMocks
+    private FollowServiceImpl followService;
+
+    @BeforeEach
+    void setUp() {
+        AuthenticatedUser user = new AuthenticatedUser(1L, "alice", Set.of(Role.USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.authorities()));
+        lenient().when(feedFanout.isPulled(anyLong())).thenAnswer(call -> (long) call.getArgument(0) >= THRESHOLD);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void backfillsFollowersAfterCommitWhenAuthorDropsBelowThreshold() {
+        when(followRepository.deleteFollow(1L, 2L)).thenReturn(1);
+        when(userRepository.findFollowerCount(2L)).thenReturn(THRESHOLD - 1);
+
+        followService.unfollow(2L);
+
+        verify(feedStore).removeAuthor(1L, 2L);
+        verify(feedFanout, never()).backfillFollowers(2L);
+        commit();
+        verify(feedFanout).backfillFollowers(2L);
+    }
+
+    @Test
+    void doesNotBackfillWhenAuthorStaysOnOneSide() {
+        when(followRepository.deleteFollow(1L, 2L)).thenReturn(1);
+        when(userRepository.findFollowerCount(2L)).thenReturn(THRESHOLD, THRESHOLD - 2);
+
+        followService.unfollow(2L);
+        followService.unfollow(2L);
+        commit();
+
+        verify(feedFanout, never()).backfillFollowers(anyLong());
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.AuthorTimelineCache;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.dto.ImportReportDto;
+import com.example.blogmanagement.feed.FeedFanout;
+import com.example.blogmanagement.repository.CommentStorage;
+import com.example.blogmanagement.search.PostSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private BulkOperations bulkOperations;
+    @Mock
+    private AuthorDirectory authorDirectory;
+    @Mock
+    private PostSearchIndex postSearchIndex;
+    @Mock
+    private TieredCache<Post> postCache;
+    @Mock
+    private CommentStorage commentStorage;
+    @Mock
+    private AuthorTimelineCache authorTimelineCache;
+    @Mock
+    private FeedFanout feedFanout;
+
+    private ImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ImportServiceImpl(mongoTemplate, Jackson2ObjectMapperBuilder.json().build(),
+                authorDirectory, postSearchIndex, postCache, commentStorage, authorTimelineCache, feedFanout);
+        ReflectionTestUtils.setField(importService, "chunkSize", 100);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 10);
+        ReflectionTestUtils.setField(importService, "maxLineLength", 200);
+    }
+
+    @Test
+    void rejectsOverlongLinesAndImportsTheRest() {
+        stubPostWrites();
+        String longContent = "x".repeat(10_000);
+        String body = post(1, "First") + "\n"
+                + "{\"type\":\"post\",\"authorId\":1,\"title\":\"Long\",\"content\":\"" + longContent + "\"}\n"
+                + "\n"
+                + post(2, "Second") + "\r\n";
+
+        ImportReportDto report = importService.importNdjson(stream(body));
+
+        assertThat(report.getLines()).isEqualTo(3);
+        assertThat(report.getPostsImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2);
+            assertThat(error.getMessage()).contains("200 characters");
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshesTimelinesAndFeedsOfImportedPosts() {
+        stubPostWrites();
+
+        importService.importNdjson(stream(post(1, "A") + "\n" + post(2, "B") + "\n" + post(1, "C") + "\n"));
+
+        verify(authorTimelineCache).invalidate(1L);
+        verify(authorTimelineCache).invalidate(2L);
+        ArgumentCaptor<List<Post>> fannedOut = ArgumentCaptor.forClass(List.class);
+        verify(feedFanout).fanOutAll(fannedOut.capture());
+        assertThat(fannedOut.getValue()).extracting(Post::getTitle).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    void lineReaderBoundsLineLength() throws IOException {
+        ImportServiceImpl.LineReader reader = new ImportServiceImpl.LineReader(
+                new StringReader("short\r\n" + "y".repeat(20_000) + "\nlast"), 10);
+
+        List<String> lines = new ArrayList<>();
+        List<Boolean> truncated = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+            truncated.add(reader.wasTruncated());
+        }
+
+        assertThat(lines).containsExactly("short", "", "last");
+        assertThat(truncated).containsExactly(false, true, false);
+    }
+
+    @Test
+    void lineReaderAcceptsLinesOfExactlyTheLimit() throws IOException {
+        ImportServiceImpl.LineReader reader = new ImportServiceImpl.LineReader(
+                new StringReader("0123456789\r\n01234567890\n"), 10);
+
+        assertThat(reader.readLine()).isEqualTo("0123456789");
+        assertThat(reader.wasTruncated()).isFalse();
+        assertThat(reader.readLine()).isEmpty();
+        assertThat(reader.wasTruncated()).isTrue();
+        assertThat(reader.readLine()).isNull();
+    }
+
+    private void stubPostWrites() {
+        when(authorDirectory.resolveUsernames(any())).thenReturn(Map.of(1L, "alice", 2L, "bob"));
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Post.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    private static String post(long authorId, String title) {
+        return "{\"type\":\"post\",\"authorId\":" + authorId + ",\"title\":\"" + title + "\",\"content\":\"Body\"}";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Feed;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostFieldSet;
+import com.example.blogmanagement.dto.PostResponseDto;
+import com.example.blogmanagement.exception.BadRequestException;
+import com.example.blogmanagement.repository.PageCursor;
+import com.example.blogmanagement.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private TieredCache<Post> postCache;
+
+    @InjectMocks
+    private PostServiceImpl postService;
+
+    @Test
+    void versionFollowsTheLatestOfContentCommentAndViewChanges() {
+        Post post = Post.builder()
+                .updatedAt(T0)
+                .commentsUpdatedAt(T0.plusMinutes(1))
+                .viewsUpdatedAt(T0.plusMinutes(2))
+                .build();
+
+        assertThat(PostServiceImpl.lastModifiedOf(post)).isEqualTo(T0.plusMinutes(2));
+    }
+
+    @Test
+    void versionOfAPostNeverViewedOrCommented() {
+        assertThat(PostServiceImpl.lastModifiedOf(Post.builder().updatedAt(T0).build())).isEqualTo(T0);
+    }
+
+    @Test
+    void responseCarriesTheVersionOfThePostItWasBuiltFrom() {
+        Post post = Post.builder().id("p1").updatedAt(T0).viewsUpdatedAt(T0.plusSeconds(30)).build();
+
+        PostResponseDto response = PostServiceImpl.mapToResponse(post, "ada", PostFieldSet.of(null, "title"));
+
+        assertThat(response.getLastModified()).isEqualTo(T0.plusSeconds(30));
+    }
+
+    @Test
+    void cursorPageFetchesOneExtraPostInsteadOfCounting() {
+        PostFieldSet titles = PostFieldSet.of(null, "title");
+        when(postRepository.findPageAfter(null, 3, Set.of("id", "title"))).thenReturn(List.of(
+                post("p3", T0.plusMinutes(3)), post("p2", T0.plusMinutes(2)), post("p1", T0.plusMinutes(1))));
+
+        PagedResponse<PostResponseDto> page = postService.listPostsByCursor(null, 2, false, titles);
+
+        assertThat(page.getContent()).extracting(PostResponseDto::getId).containsExactly("p3", "p2");
+        assertThat(page.isLast()).isFalse();
+        assertThat(PageCursor.decode(page.getNextCursor())).isEqualTo(new PageCursor(T0.plusMinutes(2), "p2"));
+        assertThat(page.getTotalElements()).isNull();
+        verify(postRepository, never()).countLive();
+    }
+
+    @Test
+    void lastCursorPageHasNoNextCursor() {
+        PageCursor after = new PageCursor(T0.plusMinutes(2), "p2");
+        when(postRepository.findPageAfter(after, 3, Set.of("id", "title")))
+                .thenReturn(List.of(post("p1", T0.plusMinutes(1))));
+
+        PagedResponse<PostResponseDto> page = postService.listPostsByCursor(after.encode(), 2, false,
+                PostFieldSet.of(null, "title"));
+
+        assertThat(page.getContent()).extracting(PostResponseDto::getId).containsExactly("p1");
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        assertThatThrownBy(() -> postService.listPostsByCursor("not-a-cursor", 2, false, PostFieldSet.SUMMARY))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void feedPageIgnoresDuplicateEntries() {
+        List<Feed.Entry> pushed = List.of(entry("p5", 5), entry("p4", 4), entry("p4", 4));
+
+        List<Feed.Entry> merged = PostServiceImpl.mergeFeed(pushed, List.of(), 2);
+
+        // Only two distinct entries, but the feed filled the limit, so more may follow
+        assertThat(merged).extracting(Feed.Entry::getPostId).containsExactly("p5", "p4");
+    }
+
+    @Test
+    void feedPageStopsWhereASourceMayHaveMore() {
+        List<Feed.Entry> pushed = List.of(entry("p9", 9), entry("p8", 8), entry("p8", 8));
+        List<Feed.Entry> pulled = List.of(entry("p7", 7), entry("p1", 1));
+
+        List<Feed.Entry> merged = PostServiceImpl.mergeFeed(pushed, pulled, 2);
+
+        // Pushed entries between p8 and p1 were not read, so p1 must not be paged past them
+        assertThat(merged).extracting(Feed.Entry::getPostId).containsExactly("p9", "p8");
+    }
+
+    @Test
+    void feedPageMergesBothSourcesInFeedOrder() {
+        List<Feed.Entry> pushed = List.of(entry("p6", 6), entry("p2", 2));
+        List<Feed.Entry> pulled = List.of(entry("p4", 4), entry("p2", 2));
+
+        List<Feed.Entry> merged = PostServiceImpl.mergeFeed(pushed, pulled, 5);
+
+        assertThat(merged).extracting(Feed.Entry::getPostId).containsExactly("p6", "p4", "p2");
+    }
+
+    private static Feed.Entry entry(String postId, int minutes) {
+        return Feed.Entry.builder().postId(postId).authorId(7L).createdAt(T0.plusMinutes(minutes)).build();
+    }
+
+    private static Post post(String id, LocalDateTime createdAt) {
+        return Post.builder().id(id).title("Title " + id).createdAt(createdAt).build();
+    }
+}
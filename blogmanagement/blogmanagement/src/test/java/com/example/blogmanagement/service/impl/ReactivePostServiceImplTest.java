@@ -0,0 +1,92 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.cache.AuthorDirectory;
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.dto.PagedResponse;
+import com.example.blogmanagement.dto.PostFieldSet;
+import com.example.blogmanagement.dto.PostResponseDto;
+import com.example.blogmanagement.exception.ResourceNotFoundException;
+import com.example.blogmanagement.repository.ReactivePostRepository;
+import com.example.blogmanagement.views.ViewCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePostServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Mock
+    private ReactivePostRepository reactivePostRepository;
+    @Mock
+    private AuthorDirectory authorDirectory;
+    @Mock
+    private TieredCache<Post> postCache;
+    @Mock
+    private ViewCounters viewCounters;
+
+    private ReactivePostServiceImpl postService;
+
+    @BeforeEach
+    void setUp() {
+        postService = new ReactivePostServiceImpl(reactivePostRepository, authorDirectory, postCache, viewCounters,
+                Schedulers.immediate());
+    }
+
+    @Test
+    void readsAPostAndCountsTheView() {
+        when(reactivePostRepository.findLiveById("p1")).thenReturn(Mono.just(post("p1", T0)));
+        when(authorDirectory.resolveUsernames(List.of(7L))).thenReturn(Map.of(7L, "ada"));
+
+        PostResponseDto post = postService.getPost("p1").block();
+
+        assertThat(post.getAuthorUsername()).isEqualTo("ada");
+        verify(viewCounters).record("p1");
+    }
+
+    @Test
+    void missingPostIsNotFoundAndNotCounted() {
+        when(reactivePostRepository.findLiveById("p1")).thenReturn(Mono.empty());
+
+        assertThatThrownBy(() -> postService.getPost("p1").block()).isInstanceOf(ResourceNotFoundException.class);
+        verify(viewCounters, never()).record("p1");
+    }
+
+    @Test
+    void cursorPageCarriesTotalsWhenRequested() {
+        when(reactivePostRepository.findPageAfter(null, 2, Set.of("id", "title"))).thenReturn(Flux.just(
+                post("p3", T0.plusMinutes(3)), post("p2", T0.plusMinutes(2))));
+        when(reactivePostRepository.countLive()).thenReturn(Mono.just(2L));
+
+        PagedResponse<PostResponseDto> page = postService.listPostsByCursor(null, 1, true,
+                PostFieldSet.of(null, "title")).block();
+
+        assertThat(page.getContent()).extracting(PostResponseDto::getId).containsExactly("p3");
+        assertThat(page.isLast()).isFalse();
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    private static Post post(String id, LocalDateTime createdAt) {
+        return Post.builder().id(id).title("Title " + id).authorId(7L).createdAt(createdAt).build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.blogmanagement.service.impl;
+
+import com.example.blogmanagement.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StoreCallsTest {
+
+    private final StoreCalls storeCalls = new StoreCalls();
+
+    @AfterEach
+    void tearDown() {
+        storeCalls.stop();
+    }
+
+    @Test
+    void returnsTheResultsOfAllCallsAfterJoin() {
+        try (StoreCalls.Scope scope = storeCalls.open()) {
+            Supplier<String> post = scope.fork(() -> "post");
+            Supplier<Long> count = scope.fork(() -> 3L);
+            scope.join();
+
+            assertThat(post.get()).isEqualTo("post");
+            assertThat(count.get()).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    void rethrowsTheFirstFailureWithoutInterruptingRunningCalls() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+
+        try (StoreCalls.Scope scope = storeCalls.open()) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                    interrupted.complete(false);
+                } catch (InterruptedException ex) {
+                    interrupted.complete(true);
+                }
+                return "slow";
+            });
+            scope.fork(() -> {
+                started.await();
+                throw new ResourceNotFoundException("Post not found");
+            });
+
+            assertThatThrownBy(scope::join).isInstanceOf(ResourceNotFoundException.class);
+        }
+        release.countDown();
+
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    void rejectsReadingAResultBeforeJoin() {
+        try (StoreCalls.Scope scope = storeCalls.open()) {
+            Supplier<String> post = scope.fork(() -> "post");
+
+            assertThatThrownBy(post::get).isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.blogmanagement.views;
+
+import com.example.blogmanagement.cache.TieredCache;
+import com.example.blogmanagement.document.Post;
+import com.example.blogmanagement.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountersTest {
+
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private TieredCache<Post> postCache;
+
+    private ViewCounters viewCounters;
+
+    @BeforeEach
+    void setUp() {
+        viewCounters = new ViewCounters(postRepository, postCache, Duration.ofHours(6));
+    }
+
+    @Test
+    void writesViewsOneFlushLate() {
+        viewCounters.record("a");
+        viewCounters.record("a");
+        viewCounters.record("b");
+
+        viewCounters.flush();
+        verify(postRepository, never()).addViews(anyMap(), anyDouble(), any());
+
+        viewCounters.flush();
+        verify(postRepository).addViews(eq(Map.of("a", 2L, "b", 1L)), anyDouble(), any());
+    }
+
+    @Test
+    void evictsWrittenPostsFromTheCache() {
+        viewCounters.record("a");
+        viewCounters.flush();
+        verify(postCache, never()).invalidate("a");
+
+        viewCounters.flush();
+
+        verify(postCache).invalidate("a");
+    }
+
+    @Test
+    void keepsCachedPostsWhenTheWriteFails() {
+        doThrow(new IllegalStateException("MongoDB unavailable"))
+                .when(postRepository).addViews(anyMap(), anyDouble(), any());
+        viewCounters.record("a");
+        viewCounters.flush();
+
+        viewCounters.flush();
+
+        verifyNoInteractions(postCache);
+    }
+
+    @Test
+    void writesEverythingPendingOnShutdown() {
+        viewCounters.record("a");
+        viewCounters.flush();
+        viewCounters.record("a");
+        viewCounters.record("c");
+
+        viewCounters.flushAll();
+
+        verify(postRepository).addViews(eq(Map.of("a", 1L)), anyDouble(), any());
+        verify(postRepository).addViews(eq(Map.of("a", 1L, "c", 1L)), anyDouble(), any());
+    }
+}